@@ -34,12 +34,13 @@ public abstract class BaseContext<K> implements Context {
 
     @Override
     public <T> T get(final Contextual<T> component, final CreationalContext<T> creationalContext) {
-        checkActive();
+        final K[] keys = currentKeys();
+        checkActive(keys);
 
-        final ConcurrentMap<Contextual<?>, Instance<?>> storage = getOrCreateCurrentStorage();
+        final ConcurrentMap<Contextual<?>, Instance<?>> storage = getOrCreateStorage(keys[keys.length - 1]);
         Instance<T> instance = (Instance<T>) storage.get(component);
         if (instance == null) {
-            synchronized (this) {
+            synchronized (storage) { // only creations of the same job/step wait
                 instance = (Instance<T>)  storage.get(component);
                 if (instance == null) {
                     final T value = component.create(creationalContext);
@@ -54,9 +55,10 @@ public abstract class BaseContext<K> implements Context {
 
     @Override
     public <T> T get(final Contextual<T> component) {
-        checkActive();
+        final K[] keys = currentKeys();
+        checkActive(keys);
 
-        for (final K key : currentKeys()) {
+        for (final K key : keys) {
             final ConcurrentMap<Contextual<?>, Instance<?>> storage = storages.get(key);
             if (storage != null) {
                 final Instance<?> instance = storage.get(component);
@@ -71,8 +73,11 @@ public abstract class BaseContext<K> implements Context {
 
     @Override
     public boolean isActive() {
-        final K[] ks = currentKeys();
-        return ks != null && ks.length != 0;
+        return isActive(currentKeys());
+    }
+
+    private static boolean isActive(final Object[] keys) {
+        return keys != null && keys.length != 0;
     }
 
     public void endContext() {
@@ -96,15 +101,13 @@ public abstract class BaseContext<K> implements Context {
         return keys[keys.length - 1];
     }
 
-    private void checkActive() {
-        if (!isActive()) {
+    private void checkActive(final K[] keys) {
+        if (!isActive(keys)) {
             throw new ContextNotActiveException("CDI context with scope annotation @" + getScope().getName() + " is not active with respect to the current thread");
         }
     }
 
-    private ConcurrentMap<Contextual<?>, Instance<?>> getOrCreateCurrentStorage() {
-        final K key = lastKey();
-
+    private ConcurrentMap<Contextual<?>, Instance<?>> getOrCreateStorage(final K key) {
         ConcurrentMap<Contextual<?>, Instance<?>> storage = storages.get(key);
         if (storage == null) {
             storage = new ConcurrentHashMap<Contextual<?>, Instance<?>>();
@@ -18,9 +18,11 @@ package org.apache.batchee.cdi.impl;
 
 import org.apache.batchee.cdi.scope.JobScoped;
 
+import javax.batch.runtime.context.JobContext;
 import java.lang.annotation.Annotation;
 
 import static org.apache.batchee.cdi.impl.LocationHolder.currentJob;
+import static org.apache.batchee.cdi.impl.LocationHolder.currentJobStash;
 
 public class JobContextImpl extends BaseContext<JobContextImpl.JobKey> {
     public static final BaseContext<?> INSTANCE = new JobContextImpl();
@@ -36,7 +38,15 @@ public class JobContextImpl extends BaseContext<JobContextImpl.JobKey> {
 
     @Override
     protected JobKey[] currentKeys() {
-        return new JobKey[] { new JobKey(currentJob().getExecutionId()) };
+        final LocationHolder.Stash<JobContext> jobContexts = currentJobStash();
+        final Object[] cached = jobContexts.getKeys();
+        if (cached != null) {
+            return JobKey[].class.cast(cached);
+        }
+
+        final JobKey[] keys = new JobKey[] { new JobKey(currentJob().getExecutionId()) };
+        jobContexts.setKeys(keys);
+        return keys;
     }
 
     public static class JobKey {
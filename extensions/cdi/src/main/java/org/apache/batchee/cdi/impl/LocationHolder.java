@@ -18,7 +18,10 @@ package org.apache.batchee.cdi.impl;
 
 import javax.batch.runtime.context.JobContext;
 import javax.batch.runtime.context.StepContext;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.LinkedList;
+import java.util.List;
 
 public abstract class LocationHolder {
     private static final StashThreadLocal<JobContext> JOB = new StashThreadLocal<JobContext>();
@@ -40,6 +43,30 @@ public abstract class LocationHolder {
         cleanUp(context, JOB);
     }
 
+    /**
+     * @return the job and step contexts of the current thread to make them visible in another thread of the step.
+     */
+    protected static Contexts currentContexts() {
+        return new Contexts(copy(JOB), copy(STEP));
+    }
+
+    protected static void attach(final Contexts contexts) {
+        final Stash<JobContext> jobs = JOB.get();
+        for (final JobContext jc : contexts.jobs) {
+            jobs.add(jc);
+        }
+        final Stash<StepContext> steps = STEP.get();
+        for (final StepContext sc : contexts.steps) {
+            steps.add(sc);
+        }
+    }
+
+    // unlike exit*() contexts are not ended, the step thread still owns them
+    protected static void detach(final Contexts contexts) {
+        leave(JOB, contexts.jobs.size());
+        leave(STEP, contexts.steps.size());
+    }
+
     public static JobContext currentJob() {
         final LinkedList<JobContext> jobContexts = JOB.get();
         if (jobContexts.isEmpty()) {
@@ -52,6 +79,14 @@ public abstract class LocationHolder {
         return STEP.get();
     }
 
+    static Stash<StepContext> currentStepStash() {
+        return STEP.get();
+    }
+
+    static Stash<JobContext> currentJobStash() {
+        return JOB.get();
+    }
+
     private static <T, K> void cleanUp(final BaseContext<K> context, final StashThreadLocal<T> stash) {
         context.endContext();
 
@@ -62,10 +97,70 @@ public abstract class LocationHolder {
         }
     }
 
-    private static class StashThreadLocal<T> extends ThreadLocal<LinkedList<T>> {
+    private static <T> List<T> copy(final StashThreadLocal<T> stash) {
+        final LinkedList<T> contexts = stash.get();
+        if (contexts.isEmpty()) {
+            stash.remove();
+            return Collections.emptyList();
+        }
+        return new ArrayList<T>(contexts);
+    }
+
+    private static <T> void leave(final StashThreadLocal<T> stash, final int count) {
+        final LinkedList<T> contexts = stash.get();
+        for (int i = 0; i < count; i++) {
+            contexts.removeLast();
+        }
+        if (contexts.isEmpty()) {
+            stash.remove();
+        }
+    }
+
+    protected static class Contexts {
+        private final List<JobContext> jobs;
+        private final List<StepContext> steps;
+
+        private Contexts(final List<JobContext> jobs, final List<StepContext> steps) {
+            this.jobs = jobs;
+            this.steps = steps;
+        }
+    }
+
+    private static class StashThreadLocal<T> extends ThreadLocal<Stash<T>> {
+        @Override
+        public Stash<T> initialValue() {
+            return new Stash<T>();
+        }
+    }
+
+    // keeps the scope keys computed from the contexts until the stash changes
+    static class Stash<T> extends LinkedList<T> {
+        private Object[] keys;
+
+        Object[] getKeys() {
+            return keys;
+        }
+
+        void setKeys(final Object[] keys) {
+            this.keys = keys;
+        }
+
+        @Override
+        public boolean add(final T t) {
+            keys = null;
+            return super.add(t);
+        }
+
+        @Override
+        public T removeLast() {
+            keys = null;
+            return super.removeLast();
+        }
+
         @Override
-        public LinkedList<T> initialValue() {
-            return new LinkedList<T>();
+        public void clear() {
+            keys = null;
+            super.clear();
         }
     }
 }
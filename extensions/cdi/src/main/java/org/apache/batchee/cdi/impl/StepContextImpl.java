@@ -20,9 +20,8 @@ import org.apache.batchee.cdi.scope.StepScoped;
 
 import javax.batch.runtime.context.StepContext;
 import java.lang.annotation.Annotation;
-import java.util.List;
 
-import static org.apache.batchee.cdi.impl.LocationHolder.currentSteps;
+import static org.apache.batchee.cdi.impl.LocationHolder.currentStepStash;
 
 public class StepContextImpl extends BaseContext<StepContextImpl.StepKey> {
     public static final BaseContext<?> INSTANCE = new StepContextImpl();
@@ -38,13 +37,19 @@ public class StepContextImpl extends BaseContext<StepContextImpl.StepKey> {
 
     @Override
     protected StepKey[] currentKeys() {
-        final List<StepContext> stepContexts = currentSteps();
+        final LocationHolder.Stash<StepContext> stepContexts = currentStepStash();
+        final Object[] cached = stepContexts.getKeys();
+        if (cached != null) {
+            return StepKey[].class.cast(cached);
+        }
+
         final StepKey[] keys = new StepKey[stepContexts.size()];
 
         int i = 0;
         for (final StepContext stepContext : stepContexts) {
             keys[i++] = new StepKey(stepContext.getStepExecutionId());
         }
+        stepContexts.setKeys(keys);
         return keys;
     }
 
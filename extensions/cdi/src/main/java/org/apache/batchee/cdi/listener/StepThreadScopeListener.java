@@ -0,0 +1,52 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.batchee.cdi.listener;
+
+import org.apache.batchee.cdi.impl.LocationHolder;
+import org.apache.batchee.spi.StepThreadListener;
+
+import javax.batch.api.listener.StepListener;
+import javax.inject.Named;
+
+/**
+ * BatchEE only: makes the job and step scopes of the step thread available in the threads of a chunk step
+ * (org.apache.batchee.chunk.processor.threads). It needs to be called after BeforeStepScopeListener.
+ */
+@Named
+public class StepThreadScopeListener extends LocationHolder implements StepListener, StepThreadListener {
+    private volatile Contexts contexts;
+
+    @Override
+    public void beforeStep() throws Exception {
+        contexts = currentContexts();
+    }
+
+    @Override
+    public void afterStep() throws Exception {
+        contexts = null;
+    }
+
+    @Override
+    public void enterThread() {
+        attach(contexts);
+    }
+
+    @Override
+    public void exitThread() {
+        detach(contexts);
+    }
+}
@@ -26,7 +26,10 @@ import org.testng.annotations.Test;
 
 import javax.batch.operations.JobOperator;
 import javax.batch.runtime.BatchRuntime;
+import javax.batch.runtime.BatchStatus;
+import java.util.HashSet;
 
+import static java.util.Collections.singleton;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertNotSame;
 import static org.testng.Assert.assertTrue;
@@ -47,4 +50,21 @@ public class BatchScopesTest {
         assertTrue(JobScopedBean.isDestroyed());
         assertTrue(StepScopedBean.isDestroyed());
     }
+
+    @Test
+    public void processorThreads() {
+        final JobOperator jobOperator = BatchRuntime.getJobOperator();
+        final long id = jobOperator.start("cdi-threads", null);
+        Batches.waitForEnd(jobOperator, id);
+
+        assertEquals(jobOperator.getJobExecution(id).getBatchStatus(), BatchStatus.COMPLETED);
+        assertEquals(1, Holder.READER_JOB_SCOPED_IDS.size());
+        assertEquals(1, Holder.READER_STEP_SCOPED_IDS.size());
+        assertEquals(10, Holder.PROCESSOR_JOB_SCOPED_IDS.size());
+        assertEquals(10, Holder.PROCESSOR_STEP_SCOPED_IDS.size());
+
+        // processor threads see the beans of the step thread
+        assertEquals(singleton(Holder.READER_JOB_SCOPED_IDS.get(0)), new HashSet<Long>(Holder.PROCESSOR_JOB_SCOPED_IDS));
+        assertEquals(singleton(Holder.READER_STEP_SCOPED_IDS.get(0)), new HashSet<Long>(Holder.PROCESSOR_STEP_SCOPED_IDS));
+    }
 }
@@ -18,11 +18,18 @@ package org.apache.batchee.cdi.component;
 
 import java.util.LinkedList;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 public final class Holder {
     public static final List<Long> JOB_SCOPED_IDS = new LinkedList<Long>();
     public static final List<Long> STEP_SCOPED_IDS = new LinkedList<Long>();
 
+    // chunk step with processor threads
+    public static final List<Long> READER_JOB_SCOPED_IDS = new CopyOnWriteArrayList<Long>();
+    public static final List<Long> READER_STEP_SCOPED_IDS = new CopyOnWriteArrayList<Long>();
+    public static final List<Long> PROCESSOR_JOB_SCOPED_IDS = new CopyOnWriteArrayList<Long>();
+    public static final List<Long> PROCESSOR_STEP_SCOPED_IDS = new CopyOnWriteArrayList<Long>();
+
     private Holder() {
         // no-op
     }
@@ -25,8 +25,10 @@ import javax.batch.operations.BatchRuntimeException;
 import javax.inject.Inject;
 import java.io.BufferedReader;
 import java.io.File;
-import java.io.FileReader;
+import java.io.FileInputStream;
+import java.io.InputStreamReader;
 import java.io.Serializable;
+import java.nio.charset.Charset;
 
 public class FlatFileItemReader extends CountedReader implements ItemReader {
     @Inject
@@ -45,9 +47,33 @@ public class FlatFileItemReader extends CountedReader implements ItemReader {
     @BatchProperty(name = "comments")
     private String commentStr;
 
+    @Inject
+    @BatchProperty
+    private String encoding;
+
+    @Inject
+    @BatchProperty
+    private String memoryMapped;
+
+    @Inject
+    @BatchProperty
+    private String bufferSize;
+
+    @Inject
+    @BatchProperty
+    private String rangeStart;
+
+    @Inject
+    @BatchProperty
+    private String rangeEnd;
+
     private BufferedReader reader = null;
+    private PositionedLineReader positionedReader = null;
+    private long line = 0;
     private String[] comments = new String[0];
+    private byte[][] encodedComments = null;
     private BeanLocator.LocatorInstance<LineMapper> mapper;
+    private CharSequenceLineMapper viewMapper = null;
 
     @Override
     public void open(final Serializable checkpoint) throws Exception {
@@ -69,7 +95,37 @@ public class FlatFileItemReader extends CountedReader implements ItemReader {
         }
         comments = commentStr.split(",");
 
-        reader = new BufferedReader(new FileReader(file));
+        final Charset charset = encoding != null ? Charset.forName(encoding) : Charset.defaultCharset();
+        if (PositionedLineReader.supports(charset)) { // offsets are tracked so restarts can seek
+            positionedReader = new PositionedLineReader(
+                file, charset, "true".equalsIgnoreCase(memoryMapped), bufferSize != null ? Integer.parseInt(bufferSize) : -1);
+
+            if (commentsOnBytes()) {
+                encodedComments = new byte[comments.length][];
+                for (int i = 0; i < comments.length; i++) {
+                    encodedComments[i] = comments[i].getBytes(charset);
+                }
+            } else {
+                encodedComments = null;
+            }
+            if (mapper != null && CharSequenceLineMapper.class.isInstance(mapper.getValue()) && lineViews()) {
+                viewMapper = CharSequenceLineMapper.class.cast(mapper.getValue());
+            } else {
+                viewMapper = null;
+            }
+
+            if (rangeStart != null) {
+                positionedReader.seek(Long.parseLong(rangeStart));
+            }
+            if (rangeEnd != null) {
+                positionedReader.limit(Long.parseLong(rangeEnd));
+            }
+        } else if (rangeStart != null || rangeEnd != null) {
+            throw new BatchRuntimeException("Ranges are not supported with encoding " + charset.name());
+        } else {
+            reader = new BufferedReader(new InputStreamReader(new FileInputStream(file), charset));
+        }
+        line = 0;
         super.open(checkpoint);
     }
 
@@ -78,6 +134,9 @@ public class FlatFileItemReader extends CountedReader implements ItemReader {
         if (reader != null) {
             reader.close();
         }
+        if (positionedReader != null) {
+            positionedReader.close();
+        }
         if (mapper != null) {
             mapper.release();
         }
@@ -85,15 +144,63 @@ public class FlatFileItemReader extends CountedReader implements ItemReader {
 
     @Override
     protected Object doRead() throws Exception {
-        String line;
-        do {
-            line = reader.readLine();
-            if (line == null) {
-                return null;
+        if (positionedReader == null) {
+            String rawLine;
+            do {
+                rawLine = reader.readLine();
+                if (rawLine == null) {
+                    return null;
+                }
+                line++;
+            } while (isComment(rawLine));
+            return preReturn(rawLine, line);
+        }
+
+        while (positionedReader.next()) {
+            line++;
+            if (encodedComments != null) {
+                if (isEncodedComment()) {
+                    continue;
+                }
+                if (viewMapper != null) {
+                    return viewMapper.map(positionedReader.lineView(), line);
+                }
+                return preReturn(positionedReader.line(), line);
             }
-            incrementReaderCount();
-        } while (isComment(line));
-        return preReturn(line, items);
+
+            final String rawLine = positionedReader.line();
+            if (!isComment(rawLine)) {
+                return preReturn(rawLine, line);
+            }
+        }
+        return null;
+    }
+
+    private boolean isEncodedComment() {
+        for (final byte[] prefix : encodedComments) {
+            if (positionedReader.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    protected Position position() throws Exception {
+        if (positionedReader == null) {
+            return null;
+        }
+        return new LinePosition(items, positionedReader.position(), line);
+    }
+
+    @Override
+    protected boolean seek(final Position position) throws Exception {
+        if (positionedReader == null || !LinePosition.class.isInstance(position)) {
+            return false;
+        }
+        positionedReader.seek(position.getOffset());
+        line = LinePosition.class.cast(position).getLine();
+        return true;
     }
 
     protected boolean isComment(final String line) {
@@ -111,4 +218,33 @@ public class FlatFileItemReader extends CountedReader implements ItemReader {
         }
         return rawLine;
     }
+
+    /**
+     * @return true to test the comment prefixes on the raw bytes of the lines instead of calling isComment(String).
+     * Only this class opts in by default, subclasses not overriding isComment(String) can return true too.
+     */
+    protected boolean commentsOnBytes() {
+        return getClass() == FlatFileItemReader.class;
+    }
+
+    /**
+     * @return true to give a CharSequenceLineMapper a reused view of the line instead of calling preReturn(String, long).
+     * Only this class opts in by default, subclasses not overriding preReturn(String, long) can return true too.
+     */
+    protected boolean lineViews() {
+        return getClass() == FlatFileItemReader.class;
+    }
+
+    public static class LinePosition extends Position {
+        private final long line;
+
+        public LinePosition(final long items, final long offset, final long line) {
+            super(items, offset);
+            this.line = line;
+        }
+
+        public long getLine() {
+            return line;
+        }
+    }
 }
@@ -25,6 +25,7 @@ import javax.inject.Inject;
 import java.io.File;
 import java.io.Serializable;
 import java.util.List;
+import java.util.Locale;
 
 public class FlatFileItemWriter implements ItemWriter {
     @Inject
@@ -39,6 +40,14 @@ public class FlatFileItemWriter implements ItemWriter {
     @BatchProperty(name = "line.separator")
     private String lineSeparator;
 
+    @Inject
+    @BatchProperty
+    private String bufferSize;
+
+    @Inject
+    @BatchProperty
+    private String force;
+
     private TransactionalWriter writer = null;
 
     @Override
@@ -54,7 +63,9 @@ public class FlatFileItemWriter implements ItemWriter {
             lineSeparator = System.getProperty("line.separator", "\n");
         }
 
-        writer = new TransactionalWriter(file, encoding, checkpoint);
+        writer = new TransactionalWriter(file, encoding, checkpoint,
+            bufferSize != null ? Integer.parseInt(bufferSize) : TransactionalWriter.DEFAULT_BUFFER_SIZE,
+            force != null ? TransactionalWriter.ForcePolicy.valueOf(force.toUpperCase(Locale.ENGLISH)) : TransactionalWriter.ForcePolicy.COMMIT);
     }
 
     @Override
@@ -69,8 +80,8 @@ public class FlatFileItemWriter implements ItemWriter {
         for (final Object item : items) {
             final String string = preWrite(item);
             if (string != null) {
-                final String toWrite = string + lineSeparator;
-                writer.write(toWrite);
+                writer.write(string);
+                writer.write(lineSeparator);
             }
         }
         writer.flush();
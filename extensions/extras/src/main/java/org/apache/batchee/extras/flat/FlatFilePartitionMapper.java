@@ -0,0 +1,124 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.batchee.extras.flat;
+
+import javax.batch.api.BatchProperty;
+import javax.batch.api.partition.PartitionMapper;
+import javax.batch.api.partition.PartitionPlan;
+import javax.batch.api.partition.PartitionPlanImpl;
+import javax.batch.operations.BatchRuntimeException;
+import javax.inject.Inject;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.Properties;
+
+/**
+ * Splits a file in line aligned byte ranges, one per partition.
+ * Each partition gets "rangeStart" and "rangeEnd" properties to pass to the reader.
+ */
+public class FlatFilePartitionMapper implements PartitionMapper {
+    public static final String RANGE_START = "rangeStart";
+    public static final String RANGE_END = "rangeEnd";
+
+    @Inject
+    @BatchProperty
+    private String input;
+
+    @Inject
+    @BatchProperty
+    private String partitions;
+
+    @Inject
+    @BatchProperty
+    private String threads;
+
+    @Override
+    public PartitionPlan mapPartitions() throws Exception {
+        if (input == null) {
+            throw new BatchRuntimeException("Can't find any input");
+        }
+        final File file = new File(input);
+        if (!file.exists()) {
+            throw new BatchRuntimeException("'" + input + "' doesn't exist");
+        }
+
+        final int count = partitions != null ? Integer.parseInt(partitions) : Runtime.getRuntime().availableProcessors();
+        final long[] bounds = split(file, count);
+
+        final Properties[] properties = new Properties[count];
+        for (int i = 0; i < count; i++) {
+            properties[i] = new Properties();
+            properties[i].setProperty(RANGE_START, Long.toString(bounds[i]));
+            properties[i].setProperty(RANGE_END, Long.toString(bounds[i + 1]));
+        }
+
+        final PartitionPlanImpl plan = new PartitionPlanImpl();
+        plan.setPartitions(count);
+        plan.setThreads(threads != null ? Integer.parseInt(threads) : count);
+        plan.setPartitionProperties(properties);
+        return plan;
+    }
+
+    /**
+     * @return count + 1 offsets, range i is [offsets[i], offsets[i + 1]) and always starts at the beginning of a line.
+     */
+    public static long[] split(final File file, final int count) throws IOException {
+        if (count <= 0) {
+            throw new BatchRuntimeException("Invalid partition count: " + count);
+        }
+
+        final long size = file.length();
+        final long[] bounds = new long[count + 1];
+        bounds[count] = size;
+
+        final RandomAccessFile raf = new RandomAccessFile(file, "r");
+        try {
+            for (int i = 1; i < count; i++) {
+                bounds[i] = Math.max(bounds[i - 1], nextLineStart(raf, size, size * i / count));
+            }
+        } finally {
+            raf.close();
+        }
+        return bounds;
+    }
+
+    // first offset >= from starting a line (previous byte is \n or a \r not followed by \n)
+    private static long nextLineStart(final RandomAccessFile raf, final long size, final long from) throws IOException {
+        if (from <= 0) {
+            return 0;
+        }
+
+        final byte[] buffer = new byte[8192];
+        long offset = from - 1;
+        raf.seek(offset);
+
+        int previous = -1;
+        int read;
+        while ((read = raf.read(buffer)) > 0) {
+            for (int i = 0; i < read; i++) {
+                final int current = buffer[i];
+                if (previous == '\n' || (previous == '\r' && current != '\n')) {
+                    return offset + i;
+                }
+                previous = current;
+            }
+            offset += read;
+        }
+        return size;
+    }
+}
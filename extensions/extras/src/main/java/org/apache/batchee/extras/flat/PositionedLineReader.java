@@ -0,0 +1,246 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.batchee.extras.flat;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.util.Arrays;
+
+/**
+ * Line reader splitting lines on bytes (\n, \r or \r\n) to know the byte offset of the next line.
+ * Only valid for charsets encoding these characters on a single byte (ASCII, ISO-8859-*, UTF-8...).
+ *
+ * The file is either read through a reused heap buffer or memory mapped window by window.
+ * A line is only decoded when requested, either as a String or in a reused CharSequence.
+ *
+ * A seek inside the current window reuses it. Windows are never exposed so the previous one is unmapped
+ * when the next one is mapped and on close(). This relies on the cleaner of the JVM direct buffers, when not available
+ * (non HotSpot JVM, Java 9+ without opened java.nio and jdk.internal.ref) windows are only released by the GC: use a bufferSize
+ * leaving enough address space and file handles for the windows not yet collected.
+ */
+public class PositionedLineReader implements Closeable {
+    public static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+    public static final int DEFAULT_MAPPED_SIZE = 64 * 1024 * 1024;
+
+    private final FileInputStream stream;
+    private final FileChannel channel;
+    private final Charset charset;
+    private final boolean mapped;
+    private final int bufferSize;
+    private ByteBuffer buffer;
+    private long windowStart = 0; // file offset of the mapped window
+    private byte[] line = new byte[256];
+    private int length = 0;
+    private long position = 0;
+    private long limit = Long.MAX_VALUE;
+
+    private CharsetDecoder decoder;
+    private CharBuffer chars;
+
+    public PositionedLineReader(final File file, final Charset charset) throws IOException {
+        this(file, charset, false, DEFAULT_BUFFER_SIZE);
+    }
+
+    public PositionedLineReader(final File file, final Charset charset, final boolean mapped, final int bufferSize) throws IOException {
+        this.stream = new FileInputStream(file);
+        this.channel = stream.getChannel();
+        this.charset = charset;
+        this.mapped = mapped;
+        this.bufferSize = bufferSize > 0 ? bufferSize : (mapped ? DEFAULT_MAPPED_SIZE : DEFAULT_BUFFER_SIZE);
+        this.buffer = mapped ? ByteBuffer.allocate(0) : ByteBuffer.allocate(this.bufferSize);
+        this.buffer.flip(); // empty
+    }
+
+    public static boolean supports(final Charset charset) {
+        return Arrays.equals(new byte[] { '\n' }, "\n".getBytes(charset)) && Arrays.equals(new byte[] { '\r' }, "\r".getBytes(charset));
+    }
+
+    /**
+     * @return the byte offset of the next line.
+     */
+    public long position() {
+        return position;
+    }
+
+    public void seek(final long offset) throws IOException {
+        if (!mapped) {
+            channel.position(offset);
+            buffer.clear();
+            buffer.limit(0);
+        } else if (buffer.isDirect() && offset >= windowStart && offset < windowStart + buffer.capacity()) {
+            buffer.limit(buffer.capacity());
+            buffer.position((int) (offset - windowStart));
+        } else {
+            buffer.limit(0);
+        }
+        position = offset;
+    }
+
+    /**
+     * @param limit offset where the reader stops, it must be the start of a line.
+     */
+    public void limit(final long limit) {
+        this.limit = limit;
+    }
+
+    /**
+     * Reads the next line without decoding it.
+     *
+     * @return false if the end of the file is reached.
+     */
+    public boolean next() throws IOException {
+        length = 0;
+        if (position >= limit) {
+            return false;
+        }
+        boolean read = false;
+        while (buffer.hasRemaining() || fill()) {
+            final byte b = buffer.get();
+            position++;
+            read = true;
+
+            if (b == '\n') {
+                return true;
+            }
+            if (b == '\r') {
+                if ((buffer.hasRemaining() || fill()) && buffer.get(buffer.position()) == '\n') {
+                    buffer.get();
+                    position++;
+                }
+                return true;
+            }
+
+            if (length == line.length) {
+                line = Arrays.copyOf(line, length * 2);
+            }
+            line[length++] = b;
+        }
+        return read;
+    }
+
+    public boolean startsWith(final byte[] prefix) {
+        if (prefix.length > length) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length; i++) {
+            if (line[i] != prefix[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return the current line as a new String.
+     */
+    public String line() {
+        return new String(line, 0, length, charset);
+    }
+
+    /**
+     * @return the current line decoded in a buffer reused for the next lines.
+     */
+    public CharSequence lineView() throws CharacterCodingException {
+        if (decoder == null) {
+            decoder = charset.newDecoder().onMalformedInput(CodingErrorAction.REPLACE).onUnmappableCharacter(CodingErrorAction.REPLACE);
+            chars = CharBuffer.allocate(Math.max(line.length, 256));
+        }
+        final int max = (int) Math.ceil(length * (double) decoder.maxCharsPerByte());
+        if (chars.capacity() < max) {
+            chars = CharBuffer.allocate(max);
+        }
+
+        chars.clear();
+        decoder.reset();
+        final ByteBuffer in = ByteBuffer.wrap(line, 0, length);
+        CoderResult result = decoder.decode(in, chars, true);
+        if (!result.isError()) {
+            result = decoder.flush(chars);
+        }
+        if (result.isError()) {
+            result.throwException();
+        }
+        chars.flip();
+        return chars;
+    }
+
+    public String readLine() throws IOException {
+        return next() ? line() : null;
+    }
+
+    private boolean fill() throws IOException {
+        if (mapped) {
+            final long remaining = channel.size() - position;
+            if (remaining <= 0) {
+                return false;
+            }
+            unmap(buffer);
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(remaining, bufferSize));
+            windowStart = position;
+            return buffer.hasRemaining();
+        }
+
+        buffer.clear();
+        int read;
+        do {
+            read = channel.read(buffer);
+        } while (read == 0);
+        buffer.flip();
+        return read > 0;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (mapped) {
+            unmap(buffer);
+        }
+        buffer = null;
+        stream.close();
+    }
+
+    // best effort, if the cleaner is not accessible the GC releases the window
+    private static void unmap(final ByteBuffer window) {
+        if (window == null || !window.isDirect()) {
+            return;
+        }
+        try {
+            final Method cleanerMethod = window.getClass().getMethod("cleaner");
+            cleanerMethod.setAccessible(true);
+            final Object cleaner = cleanerMethod.invoke(window);
+            if (cleaner != null) {
+                final Method clean = cleaner.getClass().getMethod("clean");
+                clean.setAccessible(true);
+                clean.invoke(cleaner);
+            }
+        } catch (final Exception e) {
+            // no-op
+        } catch (final LinkageError e) {
+            // no-op
+        }
+    }
+}
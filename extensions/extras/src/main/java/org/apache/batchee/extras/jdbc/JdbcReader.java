@@ -20,11 +20,13 @@ import org.apache.batchee.extras.locator.BeanLocator;
 
 import javax.batch.api.BatchProperty;
 import javax.batch.api.chunk.ItemReader;
+import javax.batch.operations.BatchRuntimeException;
 import javax.inject.Inject;
 import java.io.Serializable;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
+import java.sql.SQLException;
 import java.util.LinkedList;
 
 public class JdbcReader extends JdbcConnectionConfiguration implements ItemReader {
@@ -40,24 +42,70 @@ public class JdbcReader extends JdbcConnectionConfiguration implements ItemReade
     @BatchProperty
     private String query;
 
+    @Inject
+    @BatchProperty
+    private String streaming;
+
+    @Inject
+    @BatchProperty
+    private String fetchSize;
+
+    @Inject
+    @BatchProperty
+    private String keyColumn;
+
+    @Inject
+    @BatchProperty
+    private String restartQuery;
+
     private LinkedList<Object> items;
     private BeanLocator.LocatorInstance<RecordMapper> mapper;
 
+    // streaming mode
+    private Connection connection;
+    private PreparedStatement statement;
+    private ResultSet cursor;
+    private Serializable lastKey;
+    private boolean resetAutoCommit;
+
     @Override
     public void open(final Serializable checkpoint) throws Exception {
+        if (mapper != null) { // reopened on a rollback
+            mapper.release();
+        }
         mapper = BeanLocator.Finder.get(locator).newInstance(RecordMapper.class, mapperStr);
         items = new LinkedList<Object>();
+
+        if (Boolean.parseBoolean(streaming)) {
+            if (keyColumn == null) { // else a restart would silently read again from the first row
+                throw new BatchRuntimeException("keyColumn is required in streaming mode");
+            }
+            openCursor(checkpoint);
+        }
     }
 
     @Override
     public void close() throws Exception {
-        if (mapper != null) {
-            mapper.release();
+        try {
+            closeCursor();
+        } finally {
+            if (mapper != null) {
+                mapper.release();
+                mapper = null;
+            }
         }
     }
 
     @Override
     public Object readItem() throws Exception {
+        if (connection != null) {
+            if (!cursor.next()) {
+                return null;
+            }
+            lastKey = Serializable.class.cast(cursor.getObject(keyColumn)); // before mapping since the mapper can move the cursor
+            return mapper.getValue().map(cursor);
+        }
+
         if (items.isEmpty()) {
             final Connection conn = connection();
             try {
@@ -90,6 +138,80 @@ public class JdbcReader extends JdbcConnectionConfiguration implements ItemReade
 
     @Override
     public Serializable checkpointInfo() throws Exception {
+        if (connection != null) {
+            return lastKey;
+        }
         return null; // datasource can be JtaManaged in a container supporting it
     }
+
+    private void openCursor(final Serializable checkpoint) throws Exception {
+        closeCursor(); // reopened on a rollback
+
+        connection = connection();
+        try {
+            if (connection.getAutoCommit()) { // else some drivers (PostgreSQL) ignore the fetch size and load all rows
+                connection.setAutoCommit(false);
+                resetAutoCommit = true;
+            }
+            if (checkpoint != null) {
+                final String sql;
+                if (restartQuery != null) {
+                    sql = restartQuery;
+                } else { // query is expected to be sorted by the key column which is unique
+                    sql = "SELECT * FROM (" + query + ") BATCHEE_KEYSET WHERE " + keyColumn + " > ? ORDER BY " + keyColumn;
+                }
+                statement = prepareReadOnly(sql);
+                statement.setObject(1, checkpoint);
+                lastKey = checkpoint;
+            } else {
+                statement = prepareReadOnly(query);
+            }
+            if (fetchSize != null) {
+                statement.setFetchSize(Integer.parseInt(fetchSize));
+            }
+            cursor = statement.executeQuery();
+        } catch (final Exception e) {
+            closeCursor();
+            throw e;
+        }
+    }
+
+    private PreparedStatement prepareReadOnly(final String sql) throws SQLException {
+        return connection.prepareStatement(sql,
+            ResultSet.TYPE_FORWARD_ONLY,
+            ResultSet.CONCUR_READ_ONLY,
+            ResultSet.HOLD_CURSORS_OVER_COMMIT);
+    }
+
+    private void closeCursor() throws SQLException {
+        try {
+            if (cursor != null) {
+                cursor.close();
+            }
+        } finally {
+            try {
+                if (statement != null) {
+                    statement.close();
+                }
+            } finally {
+                try {
+                    if (connection != null && resetAutoCommit) { // ends the read only transaction
+                        try {
+                            connection.commit();
+                        } finally {
+                            connection.setAutoCommit(true);
+                        }
+                    }
+                } finally {
+                    if (connection != null) {
+                        connection.close();
+                    }
+                    cursor = null;
+                    statement = null;
+                    connection = null;
+                    resetAutoCommit = false;
+                }
+            }
+        }
+    }
 }
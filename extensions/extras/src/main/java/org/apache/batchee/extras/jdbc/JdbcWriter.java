@@ -21,13 +21,24 @@ import org.apache.batchee.extras.transaction.integration.Synchronizations;
 
 import javax.batch.api.BatchProperty;
 import javax.batch.api.chunk.ItemWriter;
+import javax.batch.operations.BatchRuntimeException;
 import javax.inject.Inject;
 import java.io.Serializable;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
+import java.sql.SQLException;
 import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
 
 public class JdbcWriter extends JdbcConnectionConfiguration implements ItemWriter {
+    private static final Logger LOGGER = Logger.getLogger(JdbcWriter.class.getName());
+
     @Inject
     @BatchProperty
     private String locator;
@@ -40,44 +51,222 @@ public class JdbcWriter extends JdbcConnectionConfiguration implements ItemWrite
     @BatchProperty
     private String sql;
 
+    @Inject
+    @BatchProperty
+    private String batchSize;
+
+    @Inject
+    @BatchProperty
+    private String multiRowSize;
+
+    @Inject
+    @BatchProperty
+    private String reuseStatement;
+
+    @Inject
+    @BatchProperty
+    private String statistics;
+
     private BeanLocator.LocatorInstance<ObjectMapper> mapper;
+    private int maxBatchSize;
+    private int rowsPerStatement;
+    private String multiRowSql;
+    private int parametersPerRow;
+
+    // kept between chunks when there is no JTA transaction
+    private Connection connection;
+    private PreparedStatement statement;
+    private PreparedStatement multiRowStatement;
+
+    private long rows;
+    private long duration;
 
     @Override
     public void open(final Serializable checkpoint) throws Exception {
         mapper = BeanLocator.Finder.get(locator).newInstance(ObjectMapper.class, mapperStr);
+        maxBatchSize = batchSize != null ? Integer.parseInt(batchSize) : 0;
+        rowsPerStatement = multiRowSize != null ? Integer.parseInt(multiRowSize) : 1;
+        if (rowsPerStatement > 1) {
+            initMultiRowSql();
+        }
+        rows = 0;
+        duration = 0;
     }
 
     @Override
     public void close() throws Exception {
-        if (mapper != null) {
-            mapper.release();
+        try {
+            release();
+        } finally {
+            if (mapper != null) {
+                mapper.release();
+            }
+        }
+
+        if ("true".equalsIgnoreCase(statistics) && rows > 0) {
+            final long ms = Math.max(1, TimeUnit.NANOSECONDS.toMillis(duration));
+            LOGGER.info("Wrote " + rows + " rows in " + ms + "ms (" + (rows * 1000 / ms) + " rows/s)");
         }
     }
 
     @Override
     public void writeItems(final List<Object> items) throws Exception {
-        final Connection c = connection();
-        PreparedStatement preparedStatement = null;
-        try {
-            preparedStatement = connection().prepareStatement(sql);
-            for (final Object item : items) {
-                mapper.getValue().map(item, preparedStatement);
-                preparedStatement.addBatch();
+        final long start = System.nanoTime();
+        if (!Synchronizations.hasTransaction() && !"false".equalsIgnoreCase(reuseStatement)) {
+            if (connection == null) {
+                connection = connection();
             }
-            preparedStatement.executeBatch();
-            if (!Synchronizations.hasTransaction()) {
-                c.commit();
+            try {
+                write(connection, items);
+                connection.commit();
+            } catch (final Exception e) {
+                release(); // don't reuse a connection in an unknown state
+                throw e;
             }
-        } finally {
-            if (preparedStatement != null) {
-                preparedStatement.close();
+        } else {
+            final Connection c = connection();
+            try {
+                write(c, items);
+                if (!Synchronizations.hasTransaction()) {
+                    c.commit();
+                }
+            } finally {
+                closeStatements(c, statement, multiRowStatement);
+                statement = null;
+                multiRowStatement = null;
             }
-            c.close();
         }
+        rows += items.size();
+        duration += System.nanoTime() - start;
     }
 
     @Override
     public Serializable checkpointInfo() throws Exception {
         return null; // datasource can be JtaManaged in a container supporting it
     }
+
+    private void release() throws SQLException {
+        try {
+            closeStatements(connection, statement, multiRowStatement);
+        } finally {
+            connection = null;
+            statement = null;
+            multiRowStatement = null;
+        }
+    }
+
+    private void write(final Connection c, final List<Object> items) throws SQLException {
+        final ObjectMapper objectMapper = mapper.getValue();
+        final int size = items.size();
+
+        int i = 0;
+        if (rowsPerStatement > 1 && size >= rowsPerStatement) {
+            if (multiRowStatement == null) {
+                multiRowStatement = c.prepareStatement(multiRowSql);
+            }
+
+            final ShiftedParameters shifted = new ShiftedParameters(multiRowStatement);
+            final PreparedStatement shiftedStatement = PreparedStatement.class.cast(
+                Proxy.newProxyInstance(JdbcWriter.class.getClassLoader(), new Class<?>[]{ PreparedStatement.class }, shifted));
+
+            int batched = 0;
+            for (; i + rowsPerStatement <= size; i += rowsPerStatement) {
+                for (int row = 0; row < rowsPerStatement; row++) {
+                    shifted.offset = row * parametersPerRow;
+                    objectMapper.map(items.get(i + row), shiftedStatement);
+                }
+                multiRowStatement.addBatch();
+                batched += rowsPerStatement;
+                if (maxBatchSize > 0 && batched >= maxBatchSize) {
+                    multiRowStatement.executeBatch();
+                    batched = 0;
+                }
+            }
+            if (batched > 0) {
+                multiRowStatement.executeBatch();
+            }
+        }
+
+        if (i < size) { // remaining items
+            if (statement == null) {
+                statement = c.prepareStatement(sql);
+            }
+
+            int batched = 0;
+            for (; i < size; i++) {
+                objectMapper.map(items.get(i), statement);
+                statement.addBatch();
+                if (maxBatchSize > 0 && ++batched >= maxBatchSize) {
+                    statement.executeBatch();
+                    batched = 0;
+                }
+            }
+            if (batched > 0 || maxBatchSize <= 0) {
+                statement.executeBatch();
+            }
+        }
+    }
+
+    // "insert into t (a, b) values (?, ?)" -> "insert into t (a, b) values (?, ?), (?, ?)..."
+    private void initMultiRowSql() {
+        final int values = sql.toLowerCase(Locale.ENGLISH).lastIndexOf("values");
+        final int start = values < 0 ? -1 : sql.indexOf('(', values);
+        final int end = start < 0 ? -1 : sql.indexOf(')', start);
+        if (end < 0 || sql.substring(end + 1).trim().length() > 0) {
+            throw new BatchRuntimeException("multiRowSize needs an insert ending with 'values (...)': " + sql);
+        }
+
+        final String row = sql.substring(start, end + 1);
+        parametersPerRow = 0;
+        for (final char c : row.toCharArray()) {
+            if (c == '?') {
+                parametersPerRow++;
+            }
+        }
+
+        final StringBuilder builder = new StringBuilder(sql.substring(0, end + 1));
+        for (int i = 1; i < rowsPerStatement; i++) {
+            builder.append(", ").append(row);
+        }
+        multiRowSql = builder.toString();
+    }
+
+    private static void closeStatements(final Connection c, final PreparedStatement... statements) throws SQLException {
+        try {
+            for (final PreparedStatement s : statements) {
+                if (s != null) {
+                    s.close();
+                }
+            }
+        } finally {
+            if (c != null) {
+                c.close();
+            }
+        }
+    }
+
+    // lets the mapper bind a row of a multi-row insert with its usual indexes
+    private static class ShiftedParameters implements InvocationHandler {
+        private final PreparedStatement delegate;
+        private int offset = 0;
+
+        public ShiftedParameters(final PreparedStatement delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
+            if (method.getName().startsWith("set") && args != null && args.length >= 2 && int.class.equals(method.getParameterTypes()[0])) {
+                args[0] = Integer.class.cast(args[0]) + offset;
+            } else if ("addBatch".equals(method.getName()) || "executeBatch".equals(method.getName())) {
+                return null; // done by the writer once all the rows are bound
+            }
+
+            try {
+                return method.invoke(delegate, args);
+            } catch (final InvocationTargetException ite) {
+                throw ite.getCause();
+            }
+        }
+    }
 }
@@ -25,9 +25,17 @@ import javax.inject.Inject;
 import javax.persistence.EntityManager;
 import javax.persistence.Query;
 import java.io.Serializable;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
 import java.util.Collection;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
 
 public class JpaItemReader extends EntityManagerLocator implements ItemReader {
     @Inject
@@ -54,6 +62,18 @@ public class JpaItemReader extends EntityManagerLocator implements ItemReader {
     @BatchProperty
     private String jpaTransaction;
 
+    @Inject
+    @BatchProperty
+    private String keyAttribute;
+
+    @Inject
+    @BatchProperty
+    private String keysetQuery;
+
+    @Inject
+    @BatchProperty
+    private String readAhead;
+
     private int page = 10;
     private int firstResult = 0;
     private BeanLocator.LocatorInstance<EntityManagerProvider> emProvider;
@@ -62,8 +82,17 @@ public class JpaItemReader extends EntityManagerLocator implements ItemReader {
     private boolean detach;
     private boolean transaction;
 
+    private Position position = new Position(); // what was returned by readItem()
+    private Serializable lastFetchedKey = null; // last key of the last page loaded
+    private boolean lastPage = false;
+    private KeyAccessor keyAccessor = null;
+    private ExecutorService readAheadExecutor = null;
+    private Future<List<?>> nextPage = null;
+
     @Override
     public void open(final Serializable checkpoint) throws Exception {
+        reset(); // open() can be called again on a rollback, start from a clean state
+
         final BeanLocator beanLocator = BeanLocator.Finder.get(locator);
 
         emProvider = findEntityManager();
@@ -71,52 +100,144 @@ public class JpaItemReader extends EntityManagerLocator implements ItemReader {
             paramProvider = beanLocator.newInstance(ParameterProvider.class, parameterProvider);
         }
         if (pageSize != null) {
-            page = Integer.parseInt(pageSize, page);
+            page = Integer.parseInt(pageSize);
         }
         if (namedQuery == null && query == null) {
             throw new BatchRuntimeException("a query should be provided");
         }
+        if (keyAttribute != null && keysetQuery == null) {
+            throw new BatchRuntimeException("keyAttribute needs a keysetQuery");
+        }
         detach = Boolean.parseBoolean(detachEntities);
         transaction = Boolean.parseBoolean(jpaTransaction);
+
+        if (Position.class.isInstance(checkpoint)) {
+            position = Position.class.cast(checkpoint);
+            firstResult = (int) position.read;
+            lastFetchedKey = position.lastKey;
+        }
+        if (Boolean.parseBoolean(readAhead)) {
+            readAheadExecutor = Executors.newSingleThreadExecutor(new ThreadFactory() {
+                @Override
+                public Thread newThread(final Runnable r) {
+                    final Thread thread = new Thread(r, "batchee-jpa-read-ahead");
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            });
+        }
+    }
+
+    private void reset() throws Exception {
+        close();
+        items.clear();
+        lastPage = false;
+        firstResult = 0;
+        lastFetchedKey = null;
+        position = new Position();
     }
 
     @Override
     public void close() throws Exception {
+        if (nextPage != null) {
+            nextPage.cancel(true);
+            nextPage = null;
+        }
+        if (readAheadExecutor != null) {
+            readAheadExecutor.shutdownNow();
+            readAheadExecutor = null;
+        }
         if (emProvider != null) {
             emProvider.release();
+            emProvider = null;
         }
         if (paramProvider != null) {
             paramProvider.release();
+            paramProvider = null;
         }
     }
 
     @Override
     public Object readItem() throws Exception {
         if (items.isEmpty()) {
-            final Collection<?> objects = nextPage();
+            final Collection<?> objects = fetch();
             if (objects == null || objects.isEmpty()) {
                 return null;
             }
 
             items.addAll(objects);
-            firstResult += items.size();
         }
-        return items.pop();
+
+        final Object item = items.pop();
+        position.read++;
+        if (keyAccessor != null) {
+            position.lastKey = keyAccessor.key(item);
+        }
+        return item;
     }
 
-    private Collection<?> nextPage() {
+    private Collection<?> fetch() throws Exception {
+        if (lastPage) {
+            return null;
+        }
+
+        final List<?> objects;
+        if (nextPage != null) {
+            try {
+                objects = nextPage.get();
+            } catch (final ExecutionException ee) {
+                final Throwable cause = ee.getCause();
+                if (Exception.class.isInstance(cause)) {
+                    throw Exception.class.cast(cause);
+                }
+                throw ee;
+            } finally {
+                nextPage = null;
+            }
+        } else {
+            objects = nextPage(firstResult, lastFetchedKey);
+        }
+
+        firstResult += objects.size();
+        if (keyAttribute != null && !objects.isEmpty()) {
+            if (keyAccessor == null) {
+                keyAccessor = new KeyAccessor(objects.iterator().next().getClass(), keyAttribute);
+            }
+            lastFetchedKey = keyAccessor.key(objects.get(objects.size() - 1));
+        }
+        lastPage = objects.size() < page;
+
+        if (readAheadExecutor != null && !lastPage) { // load next page while this one is processed
+            final int nextFirstResult = firstResult;
+            final Serializable nextKey = lastFetchedKey;
+            nextPage = readAheadExecutor.submit(new Callable<List<?>>() {
+                @Override
+                public List<?> call() throws Exception {
+                    return nextPage(nextFirstResult, nextKey);
+                }
+            });
+        }
+        return objects;
+    }
+
+    private List<?> nextPage(final int first, final Serializable lastKey) {
         final EntityManager em = emProvider.getValue().newEntityManager();
         if (transaction) {
             em.getTransaction().begin();
         }
         final Query jpaQuery;
         try {
-            if (namedQuery != null) {
-                 jpaQuery = em.createNamedQuery(namedQuery);
+            if (keyAttribute != null && lastKey != null) { // seek instead of offset
+                jpaQuery = em.createQuery(keysetQuery).setParameter("lastKey", lastKey);
             } else {
-                jpaQuery = em.createQuery(query);
+                if (namedQuery != null) {
+                    jpaQuery = em.createNamedQuery(namedQuery);
+                } else {
+                    jpaQuery = em.createQuery(query);
+                }
+                jpaQuery.setFirstResult(first);
             }
-            jpaQuery.setFirstResult(firstResult).setMaxResults(page);
+            jpaQuery.setMaxResults(page);
             if (paramProvider != null) {
                 paramProvider.getValue().setParameters(jpaQuery);
             }
@@ -137,6 +258,79 @@ public class JpaItemReader extends EntityManagerLocator implements ItemReader {
 
     @Override
     public Serializable checkpointInfo() throws Exception {
-        return null;
+        return new Position(position.read, position.lastKey);
+    }
+
+    public static class Position implements Serializable {
+        private long read;
+        private Serializable lastKey;
+
+        public Position() {
+            // no-op
+        }
+
+        public Position(final long read, final Serializable lastKey) {
+            this.read = read;
+            this.lastKey = lastKey;
+        }
+
+        public long getRead() {
+            return read;
+        }
+
+        public Serializable getLastKey() {
+            return lastKey;
+        }
+    }
+
+    // reads the key attribute from a getter or a field
+    private static class KeyAccessor {
+        private final Method getter;
+        private final Field field;
+
+        private KeyAccessor(final Class<?> type, final String name) {
+            final String suffix = Character.toUpperCase(name.charAt(0)) + name.substring(1);
+            Method m = null;
+            try {
+                m = type.getMethod("get" + suffix);
+            } catch (final NoSuchMethodException e) {
+                try {
+                    m = type.getMethod("is" + suffix);
+                } catch (final NoSuchMethodException e2) {
+                    // try a field
+                }
+            }
+            getter = m;
+
+            if (getter == null) {
+                Field f = null;
+                Class<?> current = type;
+                while (f == null && current != null && current != Object.class) {
+                    try {
+                        f = current.getDeclaredField(name);
+                        f.setAccessible(true);
+                    } catch (final NoSuchFieldException e) {
+                        current = current.getSuperclass();
+                    }
+                }
+                if (f == null) {
+                    throw new BatchRuntimeException("Can't find key attribute " + name + " on " + type.getName());
+                }
+                field = f;
+            } else {
+                field = null;
+            }
+        }
+
+        private Serializable key(final Object item) {
+            try {
+                if (getter != null) {
+                    return Serializable.class.cast(getter.invoke(item));
+                }
+                return Serializable.class.cast(field.get(item));
+            } catch (final Exception e) {
+                throw new BatchRuntimeException(e);
+            }
+        }
     }
 }
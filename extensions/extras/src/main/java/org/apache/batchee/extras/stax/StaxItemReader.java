@@ -17,7 +17,9 @@
 package org.apache.batchee.extras.stax;
 
 import org.apache.batchee.extras.transaction.CountedReader;
+import org.apache.batchee.extras.stax.util.FragmentScanner;
 import org.apache.batchee.extras.stax.util.JAXBContextFactory;
+import org.apache.batchee.extras.stax.util.XMLFactories;
 
 import javax.batch.api.BatchProperty;
 import javax.batch.api.chunk.ItemReader;
@@ -27,14 +29,26 @@ import javax.xml.bind.JAXBElement;
 import javax.xml.bind.JAXBException;
 import javax.xml.bind.Unmarshaller;
 import javax.xml.stream.XMLEventReader;
-import javax.xml.stream.XMLInputFactory;
 import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 import javax.xml.stream.events.XMLEvent;
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.InputStream;
 import java.io.Serializable;
+import java.nio.charset.Charset;
+import java.util.LinkedList;
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class StaxItemReader extends CountedReader implements ItemReader {
     @Inject
@@ -53,11 +67,33 @@ public class StaxItemReader extends CountedReader implements ItemReader {
     @BatchProperty
     private String input;
 
+    @Inject
+    @BatchProperty
+    private String mode;
+
+    @Inject
+    @BatchProperty
+    private String encoding;
+
+    @Inject
+    @BatchProperty
+    private String unmarshallingThreads;
+
     private XMLEventReader reader;
     private Unmarshaller unmarshaller;
+    private final Queue<Unmarshaller> poolUnmarshallers = new ConcurrentLinkedQueue<Unmarshaller>(); // not thread safe, reused by pool threads
+
+    // cursor mode
+    private FragmentScanner scanner;
+    private ExecutorService unmarshallingPool;
+    private final LinkedList<PendingFragment> pendingFragments = new LinkedList<PendingFragment>();
+    private int maxPendingFragments;
+    private long lastOffset;
 
     @Override
     public void open(final Serializable checkpoint) throws Exception {
+        close(); // open() can be called again on a rollback, drop what was read ahead
+
         if (input == null) {
             throw new BatchRuntimeException("input should be set");
         }
@@ -68,13 +104,24 @@ public class StaxItemReader extends CountedReader implements ItemReader {
             throw new BatchRuntimeException("marshallingPackage should be set");
         }
 
-        unmarshaller = JAXBContextFactory.getJaxbContext(marshallingPackage, marshallingClasses).createUnmarshaller();
+        unmarshaller = JAXBContextFactory.getUnmarshaller(marshallingPackage, marshallingClasses);
         final InputStream is = findInput();
         if (is == null) {
             throw new BatchRuntimeException("Can't find input '" + input + "'");
         }
 
-        reader = XMLInputFactory.newInstance().createXMLEventReader(is);
+        if ("cursor".equalsIgnoreCase(mode)) {
+            scanner = new FragmentScanner(is, tag, Charset.forName(encoding != null ? encoding : "UTF-8"));
+            lastOffset = 0;
+
+            final int threads = unmarshallingThreads != null ? Integer.parseInt(unmarshallingThreads) : 0;
+            if (threads > 0) {
+                unmarshallingPool = Executors.newFixedThreadPool(threads, new UnmarshallingThreadFactory(Thread.currentThread().getContextClassLoader()));
+                maxPendingFragments = threads * 4;
+            }
+        } else {
+            reader = XMLFactories.inputFactory().createXMLEventReader(is);
+        }
 
         super.open(checkpoint);
     }
@@ -89,11 +136,47 @@ public class StaxItemReader extends CountedReader implements ItemReader {
 
     @Override
     public void close() throws Exception {
-        reader.close();
+        if (reader != null) {
+            reader.close();
+            reader = null;
+        }
+        if (unmarshallingPool != null) {
+            unmarshallingPool.shutdownNow();
+            unmarshallingPool = null;
+        }
+        pendingFragments.clear();
+        if (scanner != null) {
+            scanner.close();
+            scanner = null;
+        }
+        poolUnmarshallers.clear();
+        unmarshaller = null;
+    }
+
+    @Override
+    protected Position position() throws Exception {
+        if (scanner == null || !scanner.isSeekable()) {
+            return null;
+        }
+        return new Position(items, lastOffset);
+    }
+
+    @Override
+    protected boolean seek(final Position position) throws Exception {
+        if (scanner == null || !scanner.isSeekable()) {
+            return false;
+        }
+        scanner.seek(position.getOffset());
+        lastOffset = position.getOffset();
+        return true;
     }
 
     @Override
     protected Object doRead() throws Exception {
+        if (scanner != null) {
+            return doReadFragment();
+        }
+
         XMLEvent xmlEvent;
         boolean found = false;
         while (reader.hasNext()) {
@@ -124,4 +207,99 @@ public class StaxItemReader extends CountedReader implements ItemReader {
             throw new BatchRuntimeException(ue);
         }
     }
+
+    // fragments are unmarshalled in order, ahead of the reader when a pool is configured
+    private Object doReadFragment() throws Exception {
+        if (unmarshallingPool == null) {
+            final byte[] fragment = scanner.next();
+            if (fragment == null) {
+                return null;
+            }
+            lastOffset = scanner.position();
+            return unmarshal(fragment, scanner.getCharset());
+        }
+
+        while (pendingFragments.size() < maxPendingFragments) {
+            final byte[] fragment = scanner.next();
+            if (fragment == null) {
+                break;
+            }
+            final Charset charset = scanner.getCharset();
+            pendingFragments.add(new PendingFragment(scanner.position(), unmarshallingPool.submit(new Callable<Object>() {
+                @Override
+                public Object call() throws Exception {
+                    return unmarshal(fragment, charset);
+                }
+            })));
+        }
+
+        final PendingFragment next = pendingFragments.poll();
+        if (next == null) {
+            return null;
+        }
+        try {
+            final Object item = next.item.get();
+            lastOffset = next.offset;
+            return item;
+        } catch (final ExecutionException ee) {
+            final Throwable cause = ee.getCause();
+            if (Exception.class.isInstance(cause)) {
+                throw Exception.class.cast(cause);
+            }
+            throw new BatchRuntimeException(cause);
+        }
+    }
+
+    private Object unmarshal(final byte[] fragment, final Charset charset) throws Exception {
+        final XMLStreamReader fragmentReader = XMLFactories.inputFactory().createXMLStreamReader(new ByteArrayInputStream(fragment), charset.name());
+        try {
+            fragmentReader.nextTag(); // wrapper
+            fragmentReader.nextTag(); // tag
+            Unmarshaller fragmentUnmarshaller = poolUnmarshallers.poll();
+            if (fragmentUnmarshaller == null) {
+                fragmentUnmarshaller = JAXBContextFactory.getUnmarshaller(marshallingPackage, marshallingClasses);
+            }
+            try {
+                final Object jaxbObject = fragmentUnmarshaller.unmarshal(fragmentReader);
+                if (JAXBElement.class.isInstance(jaxbObject)) {
+                    return JAXBElement.class.cast(jaxbObject).getValue();
+                }
+                return jaxbObject;
+            } finally {
+                poolUnmarshallers.offer(fragmentUnmarshaller);
+            }
+        } catch (final JAXBException ue) {
+            throw new BatchRuntimeException(ue);
+        } finally {
+            fragmentReader.close();
+        }
+    }
+
+    private static class PendingFragment {
+        private final long offset;
+        private final Future<Object> item;
+
+        public PendingFragment(final long offset, final Future<Object> item) {
+            this.offset = offset;
+            this.item = item;
+        }
+    }
+
+    private static class UnmarshallingThreadFactory implements ThreadFactory {
+        private static final AtomicInteger ID = new AtomicInteger();
+
+        private final ClassLoader loader;
+
+        public UnmarshallingThreadFactory(final ClassLoader loader) {
+            this.loader = loader;
+        }
+
+        @Override
+        public Thread newThread(final Runnable r) {
+            final Thread thread = new Thread(r, "batchee-stax-unmarshaller-" + ID.incrementAndGet());
+            thread.setDaemon(true);
+            thread.setContextClassLoader(loader); // JAXB contexts are cached by classloader
+            return thread;
+        }
+    }
 }
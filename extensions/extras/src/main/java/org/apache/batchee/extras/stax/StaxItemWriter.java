@@ -18,6 +18,7 @@ package org.apache.batchee.extras.stax;
 
 import org.apache.batchee.extras.stax.util.JAXBContextFactory;
 import org.apache.batchee.extras.stax.util.SAXStAXHandler;
+import org.apache.batchee.extras.stax.util.XMLFactories;
 import org.apache.batchee.extras.transaction.TransactionalWriter;
 
 import javax.batch.api.BatchProperty;
@@ -27,7 +28,6 @@ import javax.inject.Inject;
 import javax.xml.bind.Marshaller;
 import javax.xml.stream.XMLEventFactory;
 import javax.xml.stream.XMLEventWriter;
-import javax.xml.stream.XMLOutputFactory;
 import javax.xml.transform.sax.SAXResult;
 import java.io.File;
 import java.io.Serializable;
@@ -81,18 +81,15 @@ public class StaxItemWriter implements ItemWriter {
             version = "1.0";
         }
 
-        marshaller = JAXBContextFactory.getJaxbContext(marshallingPackage, marshallingClasses).createMarshaller();
+        marshaller = JAXBContextFactory.getMarshaller(marshallingPackage, marshallingClasses);
         final File file = new File(output);
         if (!file.getParentFile().exists() && file.getParentFile().mkdirs()) {
             throw new BatchRuntimeException("Output parent file can't be created");
         }
 
-        final XMLOutputFactory xmlOutputFactory = XMLOutputFactory.newInstance();
-        woodStoxConfig(xmlOutputFactory);
-
-        xmlEventFactory = XMLEventFactory.newFactory();
+        xmlEventFactory = XMLFactories.eventFactory();
         txWriter = new TransactionalWriter(file, encoding, checkpoint);
-        writer = xmlOutputFactory.createXMLEventWriter(txWriter);
+        writer = XMLFactories.outputFactory().createXMLEventWriter(txWriter);
 
         if (txWriter.position() == 0) {
             writer.add(xmlEventFactory.createStartDocument(encoding, version));
@@ -101,16 +98,6 @@ public class StaxItemWriter implements ItemWriter {
         }
     }
 
-    // this config is mainly taken from spring-batch and cxf
-    private void woodStoxConfig(final XMLOutputFactory xmlOutputFactory) {
-        if (xmlOutputFactory.isPropertySupported("com.ctc.wstx.automaticEndElements")) {
-            xmlOutputFactory.setProperty("com.ctc.wstx.automaticEndElements", Boolean.FALSE);
-        }
-        if (xmlOutputFactory.isPropertySupported("com.ctc.wstx.outputValidateStructure")) {
-            xmlOutputFactory.setProperty("com.ctc.wstx.outputValidateStructure", Boolean.FALSE);
-        }
-    }
-
     @Override
     public void close() throws Exception {
         if (writer != null) {
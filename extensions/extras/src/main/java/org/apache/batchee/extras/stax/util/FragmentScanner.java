@@ -0,0 +1,336 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.batchee.extras.stax.util;
+
+import javax.batch.operations.BatchRuntimeException;
+import java.io.Closeable;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Splits a XML document in the byte fragments of the elements named tag (local name) without parsing it.
+ *
+ * Comments, CDATA sections, processing instructions and quoted attribute values are skipped so they can't
+ * end a fragment. Namespaces declared on the elements read before a fragment are kept to parse the fragments
+ * alone. Only charsets where markup characters are single bytes are supported (UTF-8, ISO-8859-*...).
+ */
+public class FragmentScanner implements Closeable {
+    private static final Pattern NAMESPACE = Pattern.compile("\\sxmlns(:[^\\s=]+)?\\s*=\\s*(\"[^\"]*\"|'[^']*')");
+    private static final Pattern ENCODING = Pattern.compile("encoding\\s*=\\s*[\"']([^\"']+)[\"']");
+
+    private static final int OTHER = 0;
+    private static final int START = 1;
+    private static final int END = 2;
+    private static final int EMPTY = 3;
+
+    private final InputStream stream;
+    private final String tag;
+    private final byte[] buffer = new byte[64 * 1024];
+    private int bufferPosition = 0;
+    private int bufferLimit = 0;
+    private long position = 0;
+
+    private final Map<String, String> namespaces = new LinkedHashMap<String, String>();
+    private Charset charset;
+    private byte[] markup = new byte[256];
+    private int markupLength = 0;
+    private byte[] fragment = new byte[1024];
+    private int fragmentLength = 0;
+    private int depth = 0;
+
+    public FragmentScanner(final InputStream stream, final String tag, final Charset charset) {
+        this.stream = stream;
+        this.tag = tag;
+        this.charset = charset;
+    }
+
+    public Charset getCharset() {
+        return charset;
+    }
+
+    /**
+     * @return the byte offset following the last returned fragment.
+     */
+    public long position() {
+        return position;
+    }
+
+    public boolean isSeekable() {
+        return FileInputStream.class.isInstance(stream);
+    }
+
+    /**
+     * Reads up to the first fragment to know the document namespaces then moves to offset.
+     */
+    public void seek(final long offset) throws IOException {
+        if (position == 0) {
+            scanToFirstFragment();
+        }
+        FileInputStream.class.cast(stream).getChannel().position(offset);
+        bufferPosition = 0;
+        bufferLimit = 0;
+        position = offset;
+        depth = 0;
+        fragmentLength = 0;
+    }
+
+    /**
+     * @return the next fragment wrapped in an element declaring the namespaces, null at the end of the document.
+     */
+    public byte[] next() throws IOException {
+        if (depth == 0 && !scanToFirstFragment()) {
+            return null;
+        }
+
+        while (depth > 0) {
+            final int b = read();
+            if (b < 0) {
+                throw new BatchRuntimeException("Unexpected end of document in element " + tag);
+            }
+            if (b != '<') {
+                appendFragment(b);
+                continue;
+            }
+
+            final int type = readMarkup();
+            appendFragment(markup, markupLength);
+            if (type == START && isTag()) {
+                depth++;
+            } else if (type == END && isTag()) {
+                depth--;
+            }
+        }
+        return wrap();
+    }
+
+    // reads until the start of a fragment, true if found
+    private boolean scanToFirstFragment() throws IOException {
+        fragmentLength = 0;
+        int b;
+        while ((b = read()) >= 0) {
+            if (b != '<') {
+                continue;
+            }
+
+            final int type = readMarkup();
+            if (type == START || type == EMPTY) {
+                if (isTag()) {
+                    appendFragment(markup, markupLength);
+                    depth = type == START ? 1 : 0; // an empty element is already a complete fragment
+                    return true;
+                }
+                collectNamespaces();
+            } else if (type == OTHER && markupLength > 5 && markup[1] == '?') {
+                final String pi = new String(markup, 0, markupLength, "ISO-8859-1");
+                if (pi.startsWith("<?xml ")) {
+                    final Matcher matcher = ENCODING.matcher(pi);
+                    if (matcher.find()) {
+                        charset = Charset.forName(matcher.group(1));
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    // markup starts with '<' (already read), returns its type
+    private int readMarkup() throws IOException {
+        markupLength = 0;
+        appendMarkup('<');
+
+        final int first = readInto();
+        if (first == '!') {
+            final int second = readInto();
+            if (second == '-') { // comment
+                readInto();
+                readUntil(new byte[] { '-', '-', '>' });
+            } else if (second == '[') { // CDATA
+                readUntil(new byte[] { ']', ']', '>' });
+            } else { // DOCTYPE like, can contain an internal subset
+                int brackets = 0;
+                int quote = 0;
+                int b = second;
+                while (b >= 0 && !(b == '>' && brackets == 0 && quote == 0)) {
+                    if (quote != 0) {
+                        if (b == quote) {
+                            quote = 0;
+                        }
+                    } else if (b == '"' || b == '\'') {
+                        quote = b;
+                    } else if (b == '[') {
+                        brackets++;
+                    } else if (b == ']') {
+                        brackets--;
+                    }
+                    b = readInto();
+                }
+            }
+            return OTHER;
+        }
+        if (first == '?') {
+            readUntil(new byte[] { '?', '>' });
+            return OTHER;
+        }
+
+        int quote = 0;
+        int previous = first;
+        int b = first;
+        while (b >= 0 && !(b == '>' && quote == 0)) {
+            previous = b;
+            b = readInto();
+            if (quote != 0) {
+                if (b == quote) {
+                    quote = 0;
+                    b = ' ';
+                }
+            } else if (b == '"' || b == '\'') {
+                quote = b;
+            }
+        }
+        if (b < 0) {
+            throw new BatchRuntimeException("Unexpected end of document");
+        }
+        if (first == '/') {
+            return END;
+        }
+        return previous == '/' ? EMPTY : START;
+    }
+
+    private void readUntil(final byte[] end) throws IOException {
+        int b;
+        while ((b = readInto()) >= 0) {
+            if (b == end[end.length - 1] && markupLength >= end.length + 1) {
+                boolean matches = true;
+                for (int i = 0; i < end.length; i++) {
+                    if (markup[markupLength - end.length + i] != end[i]) {
+                        matches = false;
+                        break;
+                    }
+                }
+                if (matches) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private boolean isTag() {
+        int start = markup[1] == '/' ? 2 : 1;
+        int end = start;
+        while (end < markupLength) {
+            final byte b = markup[end];
+            if (b == ':') {
+                start = end + 1;
+            } else if (b == ' ' || b == '\t' || b == '\r' || b == '\n' || b == '/' || b == '>') {
+                break;
+            }
+            end++;
+        }
+        if (end - start != tag.length()) {
+            return false;
+        }
+        for (int i = 0; i < tag.length(); i++) {
+            if (markup[start + i] != tag.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void collectNamespaces() {
+        final Matcher matcher = NAMESPACE.matcher(new String(markup, 0, markupLength, charset));
+        while (matcher.find()) {
+            namespaces.put(matcher.group(1) == null ? "" : matcher.group(1).substring(1), matcher.group(2));
+        }
+    }
+
+    private byte[] wrap() {
+        final StringBuilder start = new StringBuilder("<batchee-fragment");
+        for (final Map.Entry<String, String> ns : namespaces.entrySet()) {
+            start.append(" xmlns");
+            if (!ns.getKey().isEmpty()) {
+                start.append(':').append(ns.getKey());
+            }
+            start.append('=').append(ns.getValue());
+        }
+        start.append('>');
+
+        final byte[] prefix = start.toString().getBytes(charset);
+        final byte[] suffix = "</batchee-fragment>".getBytes(charset);
+        final byte[] wrapped = new byte[prefix.length + fragmentLength + suffix.length];
+        System.arraycopy(prefix, 0, wrapped, 0, prefix.length);
+        System.arraycopy(fragment, 0, wrapped, prefix.length, fragmentLength);
+        System.arraycopy(suffix, 0, wrapped, prefix.length + fragmentLength, suffix.length);
+        fragmentLength = 0;
+        return wrapped;
+    }
+
+    private int readInto() throws IOException {
+        final int b = read();
+        if (b >= 0) {
+            appendMarkup(b);
+        }
+        return b;
+    }
+
+    private void appendMarkup(final int b) {
+        if (markupLength == markup.length) {
+            markup = Arrays.copyOf(markup, markupLength * 2);
+        }
+        markup[markupLength++] = (byte) b;
+    }
+
+    private void appendFragment(final int b) {
+        if (fragmentLength == fragment.length) {
+            fragment = Arrays.copyOf(fragment, fragmentLength * 2);
+        }
+        fragment[fragmentLength++] = (byte) b;
+    }
+
+    private void appendFragment(final byte[] bytes, final int length) {
+        if (fragmentLength + length > fragment.length) {
+            fragment = Arrays.copyOf(fragment, Math.max(fragment.length * 2, fragmentLength + length));
+        }
+        System.arraycopy(bytes, 0, fragment, fragmentLength, length);
+        fragmentLength += length;
+    }
+
+    private int read() throws IOException {
+        if (bufferPosition == bufferLimit) {
+            bufferLimit = stream.read(buffer, 0, buffer.length);
+            bufferPosition = 0;
+            if (bufferLimit <= 0) {
+                bufferLimit = 0;
+                return -1;
+            }
+        }
+        position++;
+        return buffer[bufferPosition++] & 0xFF;
+    }
+
+    @Override
+    public void close() throws IOException {
+        stream.close();
+    }
+}
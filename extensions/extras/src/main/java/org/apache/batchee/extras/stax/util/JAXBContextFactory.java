@@ -19,19 +19,83 @@ package org.apache.batchee.extras.stax.util;
 import javax.batch.operations.BatchRuntimeException;
 import javax.xml.bind.JAXBContext;
 import javax.xml.bind.JAXBException;
+import javax.xml.bind.Marshaller;
+import javax.xml.bind.Unmarshaller;
+import java.lang.ref.SoftReference;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
 
+/**
+ * Creating a JAXBContext is expensive so contexts are cached by classloader and package/classes
+ * (LRU, size configurable with the system property "batchee.jaxb.cache.size", 0 disables it).
+ * Marshallers and unmarshallers are not thread safe and cheap to create from a context
+ * so callers get a new one and keep it for their own use (typically per reader/writer instance).
+ */
 public class JAXBContextFactory {
+    private static final int CACHE_SIZE = Integer.getInteger("batchee.jaxb.cache.size", 32);
+    private static final Map<ClassLoader, Map<String, SoftReference<CachedContext>>> CACHE =
+        new WeakHashMap<ClassLoader, Map<String, SoftReference<CachedContext>>>();
+
     public static JAXBContext getJaxbContext(final String marshallingPackage, final String marshallingClasses) throws JAXBException {
+        return getCachedContext(marshallingPackage, marshallingClasses).context;
+    }
+
+    public static Unmarshaller getUnmarshaller(final String marshallingPackage, final String marshallingClasses) throws JAXBException {
+        return getCachedContext(marshallingPackage, marshallingClasses).context.createUnmarshaller();
+    }
+
+    public static Marshaller getMarshaller(final String marshallingPackage, final String marshallingClasses) throws JAXBException {
+        return getCachedContext(marshallingPackage, marshallingClasses).context.createMarshaller();
+    }
+
+    private static CachedContext getCachedContext(final String marshallingPackage, final String marshallingClasses) throws JAXBException {
+        final ClassLoader loader = Thread.currentThread().getContextClassLoader();
+        if (CACHE_SIZE <= 0) {
+            return new CachedContext(newContext(loader, marshallingPackage, marshallingClasses));
+        }
+
+        final String key = marshallingPackage != null ? "package:" + marshallingPackage : "classes:" + marshallingClasses;
+        synchronized (CACHE) {
+            final Map<String, SoftReference<CachedContext>> contexts = CACHE.get(loader);
+            if (contexts != null) {
+                final SoftReference<CachedContext> ref = contexts.get(key);
+                if (ref != null) {
+                    final CachedContext cached = ref.get();
+                    if (cached != null) {
+                        return cached;
+                    }
+                }
+            }
+        }
+
+        final CachedContext cached = new CachedContext(newContext(loader, marshallingPackage, marshallingClasses)); // outside the lock, it is slow
+        synchronized (CACHE) {
+            Map<String, SoftReference<CachedContext>> contexts = CACHE.get(loader);
+            if (contexts == null) {
+                contexts = new LinkedHashMap<String, SoftReference<CachedContext>>(16, .75f, true) {
+                    @Override
+                    protected boolean removeEldestEntry(final Map.Entry<String, SoftReference<CachedContext>> eldest) {
+                        return size() > CACHE_SIZE;
+                    }
+                };
+                CACHE.put(loader, contexts);
+            }
+            contexts.put(key, new SoftReference<CachedContext>(cached));
+        }
+        return cached;
+    }
+
+    private static JAXBContext newContext(final ClassLoader loader, final String marshallingPackage, final String marshallingClasses) throws JAXBException {
         if (marshallingPackage != null) {
             return JAXBContext.newInstance(marshallingPackage);
         }
 
         final String[] classesStr = marshallingClasses.split(",");
         final Class<?>[] classes = new Class<?>[classesStr.length];
-        final ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
         for (int i = 0; i < classes.length; i++) {
             try {
-                classes[i] = contextClassLoader.loadClass(classesStr[i]);
+                classes[i] = loader.loadClass(classesStr[i].trim());
             } catch (final ClassNotFoundException e) {
                 throw new BatchRuntimeException(e);
             }
@@ -42,4 +106,12 @@ public class JAXBContextFactory {
     private JAXBContextFactory() {
         // no-op
     }
+
+    private static class CachedContext {
+        private final JAXBContext context;
+
+        public CachedContext(final JAXBContext context) {
+            this.context = context;
+        }
+    }
 }
@@ -0,0 +1,81 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.batchee.extras.stax.util;
+
+import javax.xml.stream.XMLEventFactory;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLOutputFactory;
+import java.lang.ref.SoftReference;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * StAX factories are costly to look up and thread safe once configured so they are shared by classloader.
+ * They are softly referenced since the factories (loaded by the classloader) would otherwise keep their key alive.
+ */
+public final class XMLFactories {
+    private static final Map<ClassLoader, SoftReference<Factories>> FACTORIES = new WeakHashMap<ClassLoader, SoftReference<Factories>>();
+
+    public static XMLInputFactory inputFactory() {
+        return factories().input;
+    }
+
+    public static XMLOutputFactory outputFactory() {
+        return factories().output;
+    }
+
+    public static XMLEventFactory eventFactory() {
+        return factories().event;
+    }
+
+    private static Factories factories() {
+        final ClassLoader loader = Thread.currentThread().getContextClassLoader();
+        synchronized (FACTORIES) {
+            final SoftReference<Factories> ref = FACTORIES.get(loader);
+            Factories factories = ref != null ? ref.get() : null;
+            if (factories == null) {
+                factories = new Factories();
+                FACTORIES.put(loader, new SoftReference<Factories>(factories));
+            }
+            return factories;
+        }
+    }
+
+    private XMLFactories() {
+        // no-op
+    }
+
+    private static class Factories {
+        private final XMLInputFactory input = XMLInputFactory.newInstance();
+        private final XMLOutputFactory output = XMLOutputFactory.newInstance();
+        private final XMLEventFactory event = XMLEventFactory.newFactory();
+
+        public Factories() {
+            woodStoxConfig(output);
+        }
+
+        // this config is mainly taken from spring-batch and cxf
+        private static void woodStoxConfig(final XMLOutputFactory xmlOutputFactory) {
+            if (xmlOutputFactory.isPropertySupported("com.ctc.wstx.automaticEndElements")) {
+                xmlOutputFactory.setProperty("com.ctc.wstx.automaticEndElements", Boolean.FALSE);
+            }
+            if (xmlOutputFactory.isPropertySupported("com.ctc.wstx.outputValidateStructure")) {
+                xmlOutputFactory.setProperty("com.ctc.wstx.outputValidateStructure", Boolean.FALSE);
+            }
+        }
+    }
+}
@@ -19,6 +19,16 @@ package org.apache.batchee.extras.transaction;
 import javax.batch.api.chunk.ItemReader;
 import java.io.Serializable;
 
+/**
+ * Base reader checkpointing the number of read items.
+ *
+ * Readers able to reposition their source override position() and seek(Position) so a restart
+ * jumps directly to the checkpointed offset. Other readers (or a seek failure) fall back to
+ * re-reading the already processed items.
+ *
+ * Flat file, StAX and Jackson readers seek. BeanIO and JSefa readers don't since their parsers
+ * buffer the input: the offset of the last returned record is not known.
+ */
 public abstract class CountedReader implements ItemReader {
     protected long items = 0;
 
@@ -32,19 +42,46 @@ public abstract class CountedReader implements ItemReader {
 
     @Override
     public void open(final Serializable checkpoint) throws Exception {
-        if (checkpoint != null && Number.class.isInstance(checkpoint)) {
-            items = Number.class.cast(checkpoint).longValue();
-            if (items > 0) {
-                int i = 0;
-                Object l;
-                do {
-                    l = doRead();
-                    i++;
-                } while (l != null && i < items);
+        if (checkpoint != null && Position.class.isInstance(checkpoint)) {
+            final Position position = Position.class.cast(checkpoint);
+            items = position.getItems();
+            if (position.getOffset() < 0 || !seek(position)) {
+                skip(items);
             }
+        } else if (checkpoint != null && Number.class.isInstance(checkpoint)) {
+            items = Number.class.cast(checkpoint).longValue();
+            skip(items);
+        } else { // can be reopened on a rollback
+            items = 0;
+        }
+    }
+
+    protected void skip(final long count) throws Exception {
+        if (count > 0) {
+            long i = 0;
+            Object l;
+            do {
+                l = doRead();
+                i++;
+            } while (l != null && i < count);
         }
     }
 
+    /**
+     * @return the current position of the reader or null if the source is not seekable.
+     */
+    protected Position position() throws Exception {
+        return null;
+    }
+
+    /**
+     * @param position the checkpointed position, items is already restored.
+     * @return true if the reader is now at this position, false to fallback on skipping items.
+     */
+    protected boolean seek(final Position position) throws Exception {
+        return false;
+    }
+
     protected abstract Object doRead() throws Exception;
 
     @Override
@@ -58,6 +95,33 @@ public abstract class CountedReader implements ItemReader {
 
     @Override
     public Serializable checkpointInfo() throws Exception {
+        final Position position = position();
+        if (position != null) {
+            return position;
+        }
         return items;
     }
+
+    public static class Position implements Serializable {
+        private final long items;
+        private final long offset;
+
+        public Position(final long items, final long offset) {
+            this.items = items;
+            this.offset = offset;
+        }
+
+        public long getItems() {
+            return items;
+        }
+
+        public long getOffset() {
+            return offset;
+        }
+
+        @Override
+        public String toString() {
+            return "Position{items=" + items + ", offset=" + offset + '}';
+        }
+    }
 }
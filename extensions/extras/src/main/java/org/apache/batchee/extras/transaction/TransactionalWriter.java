@@ -27,25 +27,65 @@ import java.io.RandomAccessFile;
 import java.io.Serializable;
 import java.io.Writer;
 import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
 import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
 
+/**
+ * Writer encoding chars directly in pooled direct buffers.
+ *
+ * Without transaction the staging buffer is written when full and on flush().
+ * With a transaction the buffers of the transaction are kept until the commit and written at once
+ * (gathering write) or released on rollback.
+ */
 public class TransactionalWriter extends Writer {
     private static final String BASE_BUFFER_KEY = TransactionalWriter.class.getName() + ".buffer";
 
-    private final String encoding;
+    public static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+    private static final int MAX_POOLED_BUFFERS = 256;
+    private static final Queue<ByteBuffer> POOL = new ConcurrentLinkedQueue<ByteBuffer>();
+    private static final AtomicInteger POOL_SIZE = new AtomicInteger();
+
+    /**
+     * When the file channel is forced to the disk.
+     */
+    public enum ForcePolicy {
+        COMMIT, // each flush() or transaction commit
+        CLOSE,
+        NEVER
+    }
+
+    private final CharsetEncoder encoder;
     private final String bufferKey;
     private final FileChannel delegate;
+    private final int bufferSize;
+    private final ForcePolicy force;
+    private final Staging staging = new Staging(); // used without transaction
+    private char pendingHighSurrogate = 0;
     private long position = 0;
     private boolean closed = false;
 
     public TransactionalWriter(final File file, final String encoding, final Serializable checkpoint) throws FileNotFoundException {
+        this(file, encoding, checkpoint, DEFAULT_BUFFER_SIZE, ForcePolicy.COMMIT);
+    }
+
+    public TransactionalWriter(final File file, final String encoding, final Serializable checkpoint,
+                               final int bufferSize, final ForcePolicy force) throws FileNotFoundException {
         this.delegate = new RandomAccessFile(file, "rw").getChannel();
         this.bufferKey = BASE_BUFFER_KEY + "." + hashCode();
-        if (encoding != null) {
-            this.encoding = encoding;
-        } else {
-            this.encoding = "UTF-8";
-        }
+        this.bufferSize = bufferSize > 0 ? bufferSize : DEFAULT_BUFFER_SIZE;
+        this.force = force != null ? force : ForcePolicy.COMMIT;
+        this.encoder = Charset.forName(encoding != null ? encoding : "UTF-8").newEncoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
 
         final long restartOffset;
         if (checkpoint != null && Number.class.isInstance(checkpoint)) {
@@ -71,30 +111,65 @@ public class TransactionalWriter extends Writer {
 
     @Override
     public void write(final char[] cbuf, final int off, final int len) throws IOException {
-        if (Synchronizations.hasTransaction()) {
-            buffer().append(cbuf, off, len);
+        if (len <= 0) {
+            return;
+        }
+
+        final CharBuffer in;
+        if (pendingHighSurrogate != 0) { // previous write ended in the middle of a surrogate pair
+            final char[] chars = new char[len + 1];
+            chars[0] = pendingHighSurrogate;
+            System.arraycopy(cbuf, off, chars, 1, len);
+            pendingHighSurrogate = 0;
+            in = CharBuffer.wrap(chars);
         } else {
-            final String string = String.valueOf(cbuf, off, off + len);
-            if(delegate.write(ByteBuffer.wrap(string.getBytes(encoding))) != string.length()) {
-                throw new IOException("Some data were not written");
+            in = CharBuffer.wrap(cbuf, off, len);
+        }
+
+        final boolean tx = Synchronizations.hasTransaction();
+        final Staging current = tx ? transactionStaging() : staging;
+        while (true) {
+            final CoderResult result = encoder.encode(in, current.buffer(), false);
+            if (result.isOverflow()) {
+                if (tx) {
+                    current.next();
+                } else {
+                    drain(current);
+                }
+            } else if (result.isError()) {
+                result.throwException();
+            } else {
+                break;
             }
         }
+        if (in.hasRemaining()) {
+            pendingHighSurrogate = in.get();
+        }
     }
 
     @Override
     public void flush() throws IOException {
         if (!Synchronizations.hasTransaction()) {
-            delegate.force(false);
+            drain(staging);
+            if (force == ForcePolicy.COMMIT) {
+                delegate.force(false);
+            }
             position = delegate.position();
         } else {
-            position = delegate.position() + buffer().length();
+            position = delegate.position() + transactionStaging().size();
         }
     }
 
     @Override
     public void close() throws IOException {
         if (!Synchronizations.hasTransaction() && delegate.isOpen()) {
-            delegate.close();
+            try {
+                endOfInput(staging);
+                drain(staging);
+            } finally {
+                staging.release();
+                closeChannel();
+            }
         } else {
             closed = true;
         }
@@ -104,24 +179,64 @@ public class TransactionalWriter extends Writer {
         return position;
     }
 
-    private StringBuilder buffer() {
-        StringBuilder buffer = StringBuilder.class.cast(Synchronizations.get(bufferKey));
-        if (buffer != null) {
-            buffer = new StringBuilder();
+    private void endOfInput(final Staging current) throws IOException {
+        final CharBuffer remaining = CharBuffer.wrap(pendingHighSurrogate != 0 ? new char[] { pendingHighSurrogate } : new char[0]);
+        pendingHighSurrogate = 0;
+        while (encoder.encode(remaining, current.buffer(), true).isOverflow()) {
+            current.next();
+        }
+        while (encoder.flush(current.buffer()).isOverflow()) {
+            current.next();
+        }
+        encoder.reset();
+    }
+
+    private void drain(final Staging current) throws IOException {
+        final ByteBuffer[] buffers = current.flip();
+        if (buffers.length == 0) {
+            return;
+        }
+
+        long remaining = 0;
+        for (final ByteBuffer b : buffers) {
+            remaining += b.remaining();
+        }
+        while (remaining > 0) {
+            final long written = delegate.write(buffers);
+            if (written <= 0) {
+                throw new IOException("Some data were not written");
+            }
+            remaining -= written;
+        }
+        current.reset();
+    }
+
+    private void closeChannel() throws IOException {
+        if (force != ForcePolicy.NEVER && delegate.isOpen()) {
+            delegate.force(false);
+        }
+        delegate.close();
+    }
+
+    private Staging transactionStaging() {
+        Staging buffer = Staging.class.cast(Synchronizations.get(bufferKey));
+        if (buffer == null) {
+            buffer = new Staging();
             Synchronizations.put(bufferKey, buffer);
             Synchronizations.registerSynchronization(new SynchronizationService.OnCommit() {
                 @Override
                 public void afterCommit() {
-                    final StringBuilder buffer = StringBuilder.class.cast(Synchronizations.get(bufferKey));
+                    final Staging buffer = Staging.class.cast(Synchronizations.get(bufferKey));
                     if (buffer != null) {
                         try {
-                            final byte[] bytes = buffer.toString().getBytes(encoding);
-                            if(delegate.write(ByteBuffer.wrap(bytes)) != bytes.length) {
-                                throw new BatchRuntimeException("Some part of the chunk was not written");
+                            drain(buffer);
+                            if (force == ForcePolicy.COMMIT) {
+                                delegate.force(false);
                             }
-                            delegate.force(false);
                         } catch (final IOException ioe) {
                             throw new BatchRuntimeException(ioe);
+                        } finally {
+                            buffer.release();
                         }
                     }
                     close();
@@ -129,13 +244,17 @@ public class TransactionalWriter extends Writer {
 
                 @Override
                 public void afterRollback() {
+                    final Staging buffer = Staging.class.cast(Synchronizations.get(bufferKey));
+                    if (buffer != null) {
+                        buffer.release();
+                    }
                     close();
                 }
 
                 private void close() {
                     if (closed && delegate.isOpen()) {
                         try {
-                            delegate.close();
+                            closeChannel();
                         } catch (final IOException e) {
                             throw new BatchRuntimeException(e);
                         }
@@ -145,4 +264,81 @@ public class TransactionalWriter extends Writer {
         }
         return buffer;
     }
+
+    private ByteBuffer acquire() {
+        if (bufferSize == DEFAULT_BUFFER_SIZE) {
+            final ByteBuffer buffer = POOL.poll();
+            if (buffer != null) {
+                POOL_SIZE.decrementAndGet();
+                buffer.clear();
+                return buffer;
+            }
+        }
+        return ByteBuffer.allocateDirect(bufferSize);
+    }
+
+    private static void recycle(final ByteBuffer buffer) {
+        if (buffer.capacity() != DEFAULT_BUFFER_SIZE) {
+            return;
+        }
+        if (POOL_SIZE.incrementAndGet() <= MAX_POOLED_BUFFERS) {
+            POOL.offer(buffer);
+        } else {
+            POOL_SIZE.decrementAndGet();
+        }
+    }
+
+    // encoded bytes not yet written, the last buffer is the one being filled
+    private class Staging {
+        private final List<ByteBuffer> buffers = new ArrayList<ByteBuffer>(2);
+        private ByteBuffer current = null;
+
+        public ByteBuffer buffer() {
+            if (current == null) {
+                current = acquire();
+                buffers.add(current);
+            }
+            return current;
+        }
+
+        public void next() {
+            current = null;
+        }
+
+        public long size() {
+            long size = 0;
+            for (final ByteBuffer b : buffers) {
+                size += b.position();
+            }
+            return size;
+        }
+
+        public ByteBuffer[] flip() {
+            for (final ByteBuffer b : buffers) {
+                b.flip();
+            }
+            return buffers.toArray(new ByteBuffer[buffers.size()]);
+        }
+
+        public void reset() { // keep one buffer to stage the next writes
+            for (int i = 1; i < buffers.size(); i++) {
+                recycle(buffers.get(i));
+            }
+            if (!buffers.isEmpty()) {
+                current = buffers.get(0);
+                current.clear();
+                buffers.subList(1, buffers.size()).clear();
+            } else {
+                current = null;
+            }
+        }
+
+        public void release() {
+            for (final ByteBuffer b : buffers) {
+                recycle(b);
+            }
+            buffers.clear();
+            current = null;
+        }
+    }
 }
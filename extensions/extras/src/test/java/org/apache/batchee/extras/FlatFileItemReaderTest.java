@@ -16,6 +16,8 @@
  */
 package org.apache.batchee.extras;
 
+import org.apache.batchee.extras.flat.CharSequenceLineMapper;
+import org.apache.batchee.extras.flat.FlatFileItemReader;
 import org.apache.batchee.util.Batches;
 import org.apache.batchee.extras.util.IOs;
 import org.testng.annotations.Test;
@@ -24,8 +26,11 @@ import javax.batch.api.chunk.ItemProcessor;
 import javax.batch.operations.JobOperator;
 import javax.batch.runtime.BatchRuntime;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Properties;
+import java.util.TreeSet;
 
 import static org.testng.Assert.assertEquals;
 
@@ -43,6 +48,102 @@ public class FlatFileItemReaderTest {
         assertEquals(StoreItems.ITEMS.size(), 2);
     }
 
+    @Test
+    public void mapped() throws Exception {
+        final String path = "target/work/FlatFileItemReaderMapped.txt";
+
+        final Properties jobParams = new Properties();
+        jobParams.setProperty("input", path);
+
+        final JobOperator jobOperator = BatchRuntime.getJobOperator();
+        IOs.write(path, "line 1\r\n#ignored\r\nline2\nlast line");
+        Batches.waitForEnd(jobOperator, jobOperator.start("flat-file-reader-mapped", jobParams));
+        assertEquals(StoreMappedItems.ITEMS, Arrays.<Object>asList("1:6", "3:5", "4:9"));
+    }
+
+    @Test
+    public void partitioned() throws Exception {
+        final String path = "target/work/FlatFileItemReaderPartitioned.txt";
+
+        final Properties jobParams = new Properties();
+        jobParams.setProperty("input", path);
+
+        final StringBuilder content = new StringBuilder();
+        final Collection<Object> expected = new TreeSet<Object>();
+        for (int i = 0; i < 100; i++) {
+            content.append("line ").append(i).append(i % 2 == 0 ? "\n" : "\r\n");
+            expected.add("line " + i);
+        }
+
+        final JobOperator jobOperator = BatchRuntime.getJobOperator();
+        IOs.write(path, content.toString());
+        Batches.waitForEnd(jobOperator, jobOperator.start("flat-file-reader-partitioned", jobParams));
+        assertEquals(StorePartitionedItems.ITEMS.size(), 100);
+        assertEquals(new TreeSet<Object>(StorePartitionedItems.ITEMS), expected);
+    }
+
+    @Test
+    public void customComments() throws Exception {
+        final String path = "target/work/FlatFileItemReaderCustom.txt";
+
+        final Properties jobParams = new Properties();
+        jobParams.setProperty("input", path);
+
+        final JobOperator jobOperator = BatchRuntime.getJobOperator();
+        IOs.write(path, "line 1\r\n-- ignored\r\n#kept\nlast line");
+        Batches.waitForEnd(jobOperator, jobOperator.start("flat-file-reader-custom", jobParams));
+        assertEquals(StoreCustomItems.ITEMS, Arrays.<Object>asList("1:6", "3:5", "4:9"));
+    }
+
+    public static class DashCommentReader extends FlatFileItemReader {
+        @Override
+        protected boolean isComment(final String line) {
+            return line.startsWith("--");
+        }
+    }
+
+    public static class StoreCustomItems implements ItemProcessor {
+        public static final Collection<Object> ITEMS = new ArrayList<Object>();
+
+        @Override
+        public Object processItem(final Object item) throws Exception {
+            ITEMS.add(item);
+            return item;
+        }
+    }
+
+    public static class LengthMapper implements CharSequenceLineMapper {
+        @Override
+        public Object map(final CharSequence line, final long lineNumber) {
+            return lineNumber + ":" + line.length();
+        }
+
+        @Override
+        public Object map(final String line, final long lineNumber) {
+            return map((CharSequence) line, lineNumber);
+        }
+    }
+
+    public static class StoreMappedItems implements ItemProcessor {
+        public static final Collection<Object> ITEMS = new ArrayList<Object>();
+
+        @Override
+        public Object processItem(final Object item) throws Exception {
+            ITEMS.add(item);
+            return item;
+        }
+    }
+
+    public static class StorePartitionedItems implements ItemProcessor {
+        public static final Collection<Object> ITEMS = Collections.synchronizedList(new ArrayList<Object>());
+
+        @Override
+        public Object processItem(final Object item) throws Exception {
+            ITEMS.add(item);
+            return item;
+        }
+    }
+
     public static class StoreItems implements ItemProcessor {
         public static final Collection<Object> ITEMS = new ArrayList<Object>();
 
@@ -20,9 +20,13 @@ import org.apache.batchee.extras.jdbc.RecordMapper;
 import org.apache.batchee.util.Batches;
 import org.testng.annotations.Test;
 
+import javax.batch.api.BatchProperty;
+import javax.batch.api.chunk.AbstractItemWriter;
 import javax.batch.api.chunk.ItemProcessor;
 import javax.batch.operations.JobOperator;
 import javax.batch.runtime.BatchRuntime;
+import javax.batch.runtime.BatchStatus;
+import javax.inject.Inject;
 import java.sql.Connection;
 import java.sql.DriverManager;
 import java.sql.PreparedStatement;
@@ -30,6 +34,7 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 import java.util.Properties;
 
 import static org.testng.Assert.assertEquals;
@@ -68,6 +73,115 @@ public class JdbcReaderTest {
         assertTrue(StoreItems.ITEMS.contains("toto"));
     }
 
+    @Test
+    public void stream() throws Exception {
+        {
+            Class.forName("org.apache.derby.jdbc.EmbeddedDriver");
+            final Connection c = DriverManager.getConnection("jdbc:derby:memory:jdbcstreamreader;create=true", "app", "app");
+
+            PreparedStatement statement = c.prepareStatement("CREATE TABLE BAR("
+                + "id BIGINT NOT NULL GENERATED ALWAYS AS IDENTITY (START WITH 1, INCREMENT BY 1) CONSTRAINT BAR_PK PRIMARY KEY,"
+                + "name VARCHAR(512))");
+            statement.executeUpdate();
+            statement.close();
+
+            statement = c.prepareStatement("INSERT INTO BAR (name) VALUES(?)");
+            for (int i = 0; i < 5; i++) {
+                statement.setString(1, "name" + i);
+                statement.executeUpdate();
+            }
+            statement.close();
+
+            c.close();
+        }
+
+        final JobOperator jobOperator = BatchRuntime.getJobOperator();
+        Batches.waitForEnd(jobOperator, jobOperator.start("jdbc-reader-streaming", new Properties()));
+        assertEquals(StoreStreamedItems.ITEMS.size(), 5);
+        for (int i = 0; i < 5; i++) {
+            assertEquals(StoreStreamedItems.ITEMS.get(i), "name" + i);
+        }
+    }
+
+    @Test
+    public void streamRestart() throws Exception {
+        {
+            Class.forName("org.apache.derby.jdbc.EmbeddedDriver");
+            final Connection c = DriverManager.getConnection("jdbc:derby:memory:jdbcstreamrestart;create=true", "app", "app");
+
+            PreparedStatement statement = c.prepareStatement("CREATE TABLE BAZ("
+                + "id BIGINT NOT NULL GENERATED ALWAYS AS IDENTITY (START WITH 1, INCREMENT BY 1) CONSTRAINT BAZ_PK PRIMARY KEY,"
+                + "name VARCHAR(512))");
+            statement.executeUpdate();
+            statement.close();
+
+            statement = c.prepareStatement("INSERT INTO BAZ (name) VALUES(?)");
+            for (int i = 0; i < 7; i++) {
+                statement.setString(1, "name" + i);
+                statement.executeUpdate();
+            }
+            statement.close();
+
+            c.close();
+        }
+
+        final JobOperator jobOperator = BatchRuntime.getJobOperator();
+        final long id = jobOperator.start("jdbc-reader-streaming-restart", new Properties() {{ setProperty("fail", "name3"); }});
+        Batches.waitForEnd(jobOperator, id);
+        assertEquals(jobOperator.getJobExecution(id).getBatchStatus(), BatchStatus.FAILED);
+        assertEquals(FailingWriter.ITEMS.size(), 2); // first chunk only
+
+        // restarts after the checkpointed id (2) using the keyset query
+        final long restartId = jobOperator.restart(id, new Properties());
+        Batches.waitForEnd(jobOperator, restartId);
+        assertEquals(jobOperator.getJobExecution(restartId).getBatchStatus(), BatchStatus.COMPLETED);
+        assertEquals(FailingWriter.ITEMS.size(), 7);
+        for (int i = 0; i < 7; i++) {
+            assertEquals(FailingWriter.ITEMS.get(i), "name" + i);
+        }
+    }
+
+    @Test
+    public void streamRequiresKeyColumn() throws Exception {
+        final JobOperator jobOperator = BatchRuntime.getJobOperator();
+        final long id = jobOperator.start("jdbc-reader-streaming-no-key", new Properties());
+        Batches.waitForEnd(jobOperator, id);
+        assertEquals(jobOperator.getJobExecution(id).getBatchStatus(), BatchStatus.FAILED);
+    }
+
+    public static class FailingWriter extends AbstractItemWriter {
+        public static final List<Object> ITEMS = new ArrayList<Object>();
+
+        @Inject
+        @BatchProperty
+        private String fail;
+
+        @Override
+        public void writeItems(final List<Object> items) throws Exception {
+            if (fail != null && items.contains(fail)) {
+                throw new IllegalStateException("failing on " + fail);
+            }
+            ITEMS.addAll(items);
+        }
+    }
+
+    public static class StoreStreamedItems implements ItemProcessor {
+        public static final List<Object> ITEMS = new ArrayList<Object>();
+
+        @Override
+        public Object processItem(final Object item) throws Exception {
+            ITEMS.add(item);
+            return item;
+        }
+    }
+
+    public static class NameMapper implements RecordMapper {
+        @Override
+        public Object map(final ResultSet resultSet) throws SQLException {
+            return resultSet.getString("name");
+        }
+    }
+
     public static class StoreItems implements ItemProcessor {
         public static final Collection<Object> ITEMS = new ArrayList<Object>();
 
@@ -64,7 +64,37 @@ public class JdbcWriterTest {
         assertEquals(2, names.size());
     }
 
+    @Test
+    public void multiRow() throws Exception {
+        Class.forName("org.apache.derby.jdbc.EmbeddedDriver");
+        Connection c = DriverManager.getConnection("jdbc:derby:memory:jdbcwriterbatch;create=true", "app", "app");
+
+        final PreparedStatement statement = c.prepareStatement("CREATE TABLE FOO("
+            + "id BIGINT NOT NULL GENERATED ALWAYS AS IDENTITY (START WITH 1, INCREMENT BY 1) CONSTRAINT FOO_PK PRIMARY KEY,"
+            + "name VARCHAR(512))");
+        statement.executeUpdate();
+        statement.close();
+        c.close();
+
+        final JobOperator jobOperator = BatchRuntime.getJobOperator();
+        Batches.waitForEnd(jobOperator, jobOperator.start("jdbc-writer-batch", new Properties()));
+
+        c = DriverManager.getConnection("jdbc:derby:memory:jdbcwriterbatch;create=true", "app", "app");
+        final PreparedStatement select = c.prepareStatement("select name from FOO order by name");
+        final ResultSet set = select.executeQuery();
+        final Collection<String> names = new ArrayList<String>();
+        while (set.next()) {
+            names.add(set.getString("name"));
+        }
+
+        c.close();
+
+        assertEquals(7, names.size());
+        assertEquals("line 1", names.iterator().next());
+    }
+
     public static class TwoItemsReader implements ItemReader {
+        protected int max = 2;
         private int count = 0;
 
         @Override
@@ -79,7 +109,7 @@ public class JdbcWriterTest {
 
         @Override
         public Object readItem() throws Exception {
-            if (count++ < 2) {
+            if (count++ < max) {
                 return "line " + count;
             }
             return null;
@@ -91,6 +121,12 @@ public class JdbcWriterTest {
         }
     }
 
+    public static class SevenItemsReader extends TwoItemsReader {
+        public SevenItemsReader() {
+            max = 7;
+        }
+    }
+
     public static class SimpleMapper implements ObjectMapper {
         @Override
         public void map(final Object item, final PreparedStatement statement) throws SQLException {
@@ -24,11 +24,16 @@ import org.testng.annotations.AfterClass;
 import org.testng.annotations.BeforeClass;
 import org.testng.annotations.Test;
 
+import javax.batch.api.BatchProperty;
+import javax.batch.api.chunk.AbstractItemWriter;
 import javax.batch.operations.JobOperator;
 import javax.batch.runtime.BatchRuntime;
+import javax.batch.runtime.BatchStatus;
+import javax.inject.Inject;
 import javax.persistence.EntityManager;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 import java.util.Properties;
 
 import static org.testng.Assert.assertEquals;
@@ -65,6 +70,100 @@ public class JpaReaderTest {
         }
     }
 
+    @Test
+    public void keyset() throws Exception {
+        final JobOperator jobOperator = BatchRuntime.getJobOperator();
+        Batches.waitForEnd(jobOperator, jobOperator.start("jpa-reader-keyset", new Properties()));
+        assertEquals(StoreKeysetItems.ITEMS.size(), 12);
+        for (int i = 0; i < 12; i++) {
+            assertTrue(StoreKeysetItems.ITEMS.contains("toto" + i));
+        }
+    }
+
+    @Test
+    public void keysetRestart() throws Exception {
+        final JobOperator jobOperator = BatchRuntime.getJobOperator();
+        final long id = jobOperator.start("jpa-reader-keyset-restart", new Properties() {{ setProperty("fail", "toto6"); }});
+        Batches.waitForEnd(jobOperator, id);
+        assertEquals(jobOperator.getJobExecution(id).getBatchStatus(), BatchStatus.FAILED);
+        assertEquals(FailingWriter.ITEMS.size(), 4); // first chunk only
+
+        // the Position checkpoint makes the restart use the keyset query from the key of toto3
+        final long restartId = jobOperator.restart(id, new Properties());
+        Batches.waitForEnd(jobOperator, restartId);
+        assertEquals(jobOperator.getJobExecution(restartId).getBatchStatus(), BatchStatus.COMPLETED);
+        assertEquals(FailingWriter.ITEMS.size(), 12);
+        for (int i = 0; i < 12; i++) {
+            assertEquals(FailingWriter.ITEMS.get(i), "toto" + i);
+        }
+    }
+
+    @Test
+    public void keysetRollbackRetry() throws Exception {
+        final JobOperator jobOperator = BatchRuntime.getJobOperator();
+        final long id = jobOperator.start("jpa-reader-keyset-retry", new Properties());
+        Batches.waitForEnd(jobOperator, id);
+        assertEquals(jobOperator.getJobExecution(id).getBatchStatus(), BatchStatus.COMPLETED);
+
+        // the reader is reopened on the rollback: no item of the pages read before is returned twice
+        assertEquals(FailOnceWriter.ATTEMPTS, 1);
+        assertEquals(FailOnceWriter.ITEMS.size(), 12);
+        for (int i = 0; i < 12; i++) {
+            assertEquals(FailOnceWriter.ITEMS.get(i), "toto" + i);
+        }
+    }
+
+    public static class FailOnceWriter extends AbstractItemWriter {
+        public static final List<Object> ITEMS = new ArrayList<Object>();
+        public static int ATTEMPTS = 0;
+
+        @Inject
+        @BatchProperty
+        private String fail;
+
+        @Override
+        public void writeItems(final List<Object> items) throws Exception {
+            final Collection<Object> names = new ArrayList<Object>(items.size());
+            for (final Object item : items) {
+                names.add(Person.class.cast(item).getName());
+            }
+            if (names.contains(fail) && ATTEMPTS++ == 0) {
+                throw new IllegalStateException("failing once on " + fail);
+            }
+            ITEMS.addAll(names);
+        }
+    }
+
+    public static class FailingWriter extends AbstractItemWriter {
+        public static final List<Object> ITEMS = new ArrayList<Object>();
+
+        @Inject
+        @BatchProperty
+        private String fail;
+
+        @Override
+        public void writeItems(final List<Object> items) throws Exception {
+            final Collection<Object> names = new ArrayList<Object>(items.size());
+            for (final Object item : items) {
+                names.add(Person.class.cast(item).getName());
+            }
+            if (fail != null && names.contains(fail)) {
+                throw new IllegalStateException("failing on " + fail);
+            }
+            ITEMS.addAll(names);
+        }
+    }
+
+    public static class StoreKeysetItems extends TypedProcessor<Person> {
+        public static final Collection<Object> ITEMS = new ArrayList<Object>();
+
+        @Override
+        protected Object doProcessItem(Person item) {
+            ITEMS.add(item.getName());
+            return item;
+        }
+    }
+
     public static class StoreItems extends TypedProcessor<Person> {
         public static final Collection<Object> ITEMS = new ArrayList<Object>();
 
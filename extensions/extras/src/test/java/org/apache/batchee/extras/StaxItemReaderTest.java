@@ -20,9 +20,11 @@ import org.apache.batchee.util.Batches;
 import org.apache.batchee.extras.util.IOs;
 import org.testng.annotations.Test;
 
+import javax.batch.api.chunk.AbstractItemWriter;
 import javax.batch.api.chunk.ItemProcessor;
 import javax.batch.operations.JobOperator;
 import javax.batch.runtime.BatchRuntime;
+import javax.batch.runtime.BatchStatus;
 import javax.xml.bind.annotation.XmlRootElement;
 import java.util.ArrayList;
 import java.util.List;
@@ -47,6 +49,82 @@ public class StaxItemReaderTest {
         assertEquals("2", StoreItems.ITEMS.get(1).getValue());
     }
 
+    @Test
+    public void readCursor() throws Exception {
+        final String path = "target/work/StaxItemReaderCursor.xml";
+
+        final Properties jobParams = new Properties();
+        jobParams.setProperty("input", path);
+
+        final StringBuilder xml = new StringBuilder("<?xml version=\"1.0\" encoding=\"UTF-8\"?><foo><!-- <bar> -->");
+        for (int i = 0; i < 50; i++) {
+            xml.append("<bar><value>").append(i).append("</value></bar>");
+        }
+        xml.append("</foo>");
+
+        final JobOperator jobOperator = BatchRuntime.getJobOperator();
+        IOs.write(path, xml.toString());
+        Batches.waitForEnd(jobOperator, jobOperator.start("stax-reader-cursor", jobParams));
+        assertEquals(StoreCursorItems.ITEMS.size(), 50);
+        for (int i = 0; i < 50; i++) { // order is preserved
+            assertEquals(StoreCursorItems.ITEMS.get(i).getValue(), Integer.toString(i));
+        }
+    }
+
+    @Test
+    public void readCursorRollbackRetry() throws Exception {
+        final String path = "target/work/StaxItemReaderCursorRetry.xml";
+
+        final Properties jobParams = new Properties();
+        jobParams.setProperty("input", path);
+
+        final StringBuilder xml = new StringBuilder("<?xml version=\"1.0\" encoding=\"UTF-8\"?><foo>");
+        for (int i = 0; i < 50; i++) {
+            xml.append("<bar><value>").append(i).append("</value></bar>");
+        }
+        xml.append("</foo>");
+
+        final JobOperator jobOperator = BatchRuntime.getJobOperator();
+        IOs.write(path, xml.toString());
+        final long id = jobOperator.start("stax-reader-cursor-retry", jobParams);
+        Batches.waitForEnd(jobOperator, id);
+        assertEquals(jobOperator.getJobExecution(id).getBatchStatus(), BatchStatus.COMPLETED);
+
+        // the reader is reopened on the rollback, fragments unmarshalled ahead are dropped
+        assertEquals(FailOnceWriter.ITEMS.size(), 50);
+        for (int i = 0; i < 50; i++) {
+            assertEquals(FailOnceWriter.ITEMS.get(i), Integer.toString(i));
+        }
+    }
+
+    public static class FailOnceWriter extends AbstractItemWriter {
+        public static final List<String> ITEMS = new ArrayList<String>(50);
+        private static boolean failed = false;
+
+        @Override
+        public void writeItems(final List<Object> items) throws Exception {
+            final List<String> values = new ArrayList<String>(items.size());
+            for (final Object item : items) {
+                values.add(Bar.class.cast(item).getValue());
+            }
+            if (!failed && values.contains("12")) {
+                failed = true;
+                throw new IllegalStateException("failing once");
+            }
+            ITEMS.addAll(values);
+        }
+    }
+
+    public static class StoreCursorItems implements ItemProcessor {
+        public static final List<Bar> ITEMS = new ArrayList<Bar>(50);
+
+        @Override
+        public Object processItem(final Object item) throws Exception {
+            ITEMS.add(Bar.class.cast(item));
+            return item;
+        }
+    }
+
     public static class StoreItems implements ItemProcessor {
         public static final List<Bar> ITEMS = new ArrayList<Bar>(2);
 
@@ -0,0 +1,176 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.batchee.extras;
+
+import org.apache.batchee.extras.transaction.TransactionalWriter;
+import org.apache.batchee.extras.util.TransactionContextFactory;
+import org.testng.annotations.Test;
+
+import javax.transaction.TransactionManager;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ByteArrayOutputStream;
+
+import static org.testng.Assert.assertEquals;
+
+public class TransactionalWriterTest {
+    private static final TransactionManager TRANSACTION_MANAGER = TransactionContextFactory.TRANSACTION_MANAGER;
+
+    @Test
+    public void writeOnCommit() throws Exception {
+        final File file = file("commit");
+        final TransactionalWriter writer = new TransactionalWriter(file, "UTF-8", null);
+
+        TRANSACTION_MANAGER.begin();
+        try {
+            writer.write("first\n");
+            writer.flush();
+            assertEquals(writer.position(), 6); // staged bytes are part of the position
+            assertEquals(file.length(), 0);
+        } finally {
+            TRANSACTION_MANAGER.commit();
+        }
+        assertEquals(read(file), "first\n");
+
+        TRANSACTION_MANAGER.begin();
+        try {
+            writer.write("second\n");
+            writer.close(); // the channel is closed once the transaction completes
+        } finally {
+            TRANSACTION_MANAGER.commit();
+        }
+        assertEquals(read(file), "first\nsecond\n");
+    }
+
+    @Test
+    public void discardOnRollback() throws Exception {
+        final File file = file("rollback");
+        final TransactionalWriter writer = new TransactionalWriter(file, "UTF-8", null);
+        writer.write("kept\n");
+        writer.flush();
+
+        TRANSACTION_MANAGER.begin();
+        try {
+            writer.write("discarded\n");
+            writer.flush();
+        } finally {
+            TRANSACTION_MANAGER.rollback();
+        }
+        assertEquals(read(file), "kept\n");
+
+        TRANSACTION_MANAGER.begin();
+        try {
+            writer.write("committed\n");
+        } finally {
+            TRANSACTION_MANAGER.commit();
+        }
+        writer.close();
+        assertEquals(read(file), "kept\ncommitted\n");
+    }
+
+    @Test
+    public void severalBuffersInATransaction() throws Exception {
+        final File file = file("buffers");
+        final TransactionalWriter writer = new TransactionalWriter(file, "UTF-8", null, 4, TransactionalWriter.ForcePolicy.NEVER);
+
+        TRANSACTION_MANAGER.begin();
+        try {
+            writer.write("0123456789");
+        } finally {
+            TRANSACTION_MANAGER.commit();
+        }
+        writer.close();
+        assertEquals(read(file), "0123456789");
+    }
+
+    @Test
+    public void pooledBuffersWithoutTransaction() throws Exception {
+        final StringBuilder content = new StringBuilder();
+        while (content.length() < 3 * TransactionalWriter.DEFAULT_BUFFER_SIZE) {
+            content.append("line ").append(content.length()).append('\n');
+        }
+
+        for (int i = 0; i < 2; i++) { // the second writer reuses the buffers of the first one
+            final File file = file("pooled-" + i);
+            final TransactionalWriter writer = new TransactionalWriter(file, "UTF-8", null, TransactionalWriter.DEFAULT_BUFFER_SIZE, TransactionalWriter.ForcePolicy.CLOSE);
+            writer.write(content.toString());
+            writer.close();
+            assertEquals(read(file), content.toString());
+        }
+    }
+
+    @Test
+    public void surrogatePairSplitAcrossWrites() throws Exception {
+        final String emoji = new String(Character.toChars(0x1F600)); // 4 bytes in UTF-8
+        final File file = file("surrogate");
+        final TransactionalWriter writer = new TransactionalWriter(file, "UTF-8", null);
+        writer.write("a" + emoji.charAt(0));
+        writer.write(emoji.charAt(1) + "b");
+        writer.flush();
+        assertEquals(writer.position(), 6);
+        writer.close();
+
+        assertEquals(file.length(), 6);
+        assertEquals(read(file), "a" + emoji + "b");
+    }
+
+    @Test
+    public void restartTruncatesAtTheFlushedPosition() throws Exception {
+        final File file = file("restart");
+        final TransactionalWriter writer = new TransactionalWriter(file, "UTF-8", null);
+        writer.write("checkpointed\n");
+        writer.flush();
+        final long checkpoint = writer.position();
+        writer.write("lost\n");
+        writer.close();
+        assertEquals(read(file), "checkpointed\nlost\n");
+
+        final TransactionalWriter restarted = new TransactionalWriter(file, "UTF-8", checkpoint);
+        assertEquals(restarted.position(), checkpoint);
+        restarted.write("restarted\n");
+        restarted.close();
+        assertEquals(read(file), "checkpointed\nrestarted\n");
+    }
+
+    private static File file(final String name) {
+        final File file = new File("target/work/TransactionalWriter-" + name + ".txt");
+        if (!file.getParentFile().exists() && !file.getParentFile().mkdirs()) {
+            throw new IllegalStateException("Can't create " + file);
+        }
+        if (file.exists() && !file.delete()) {
+            throw new IllegalStateException("Can't delete " + file);
+        }
+        return file;
+    }
+
+    private static String read(final File file) throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final InputStream in = new FileInputStream(file);
+        try {
+            final byte[] buffer = new byte[1024];
+            int read;
+            while ((read = in.read(buffer)) >= 0) {
+                out.write(buffer, 0, read);
+            }
+        } finally {
+            in.close();
+        }
+        return new String(out.toByteArray(), "UTF-8");
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.batchee.extras.util;
+
+import org.apache.geronimo.transaction.manager.TransactionManagerImpl;
+
+import javax.naming.Context;
+import javax.naming.NameNotFoundException;
+import javax.naming.NamingException;
+import javax.naming.OperationNotSupportedException;
+import javax.naming.spi.InitialContextFactory;
+import javax.transaction.xa.XAException;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Hashtable;
+
+// exposes a transaction manager as the TransactionSynchronizationRegistry used by the transactional components
+public class TransactionContextFactory implements InitialContextFactory {
+    public static final TransactionManagerImpl TRANSACTION_MANAGER;
+    static {
+        try {
+            TRANSACTION_MANAGER = new TransactionManagerImpl();
+        } catch (final XAException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Override
+    public Context getInitialContext(final Hashtable<?, ?> environment) throws NamingException {
+        return Context.class.cast(Proxy.newProxyInstance(Thread.currentThread().getContextClassLoader(), new Class<?>[]{Context.class}, new InvocationHandler() {
+            @Override
+            public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
+                final String name = method.getName();
+                if ("lookup".equals(name)) {
+                    if ("java:comp/TransactionSynchronizationRegistry".equals(String.valueOf(args[0]))) {
+                        return TRANSACTION_MANAGER;
+                    }
+                    throw new NameNotFoundException(String.valueOf(args[0]));
+                }
+                if ("close".equals(name)) {
+                    return null;
+                }
+                throw new OperationNotSupportedException(name);
+            }
+        }));
+    }
+}
@@ -22,11 +22,31 @@ import javax.batch.operations.BatchRuntimeException;
 import javax.batch.runtime.context.JobContext;
 import javax.batch.runtime.context.StepContext;
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.lang.ref.SoftReference;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Method;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
 
+/**
+ * Compiled scripts are cached by classloader and path (LRU, size configurable with the system property
+ * "batchee.groovy.cache.size", 0 disables it). A script is compiled again when its last modification date or
+ * content hash changes. The GroovyClassLoader of a script is closed once it is evicted and no more used.
+ *
+ * Compiled classes reference their parent classloader, which is a weak key of the cache, so they are softly
+ * referenced to not prevent the loader from being collected.
+ */
 public final class Groovys {
+    private static final int CACHE_SIZE = Integer.getInteger("batchee.groovy.cache.size", 32);
+    private static final Map<ClassLoader, Map<String, SoftReference<CompiledScript>>> CACHE =
+        new WeakHashMap<ClassLoader, Map<String, SoftReference<CompiledScript>>>();
+
     public static <T> GroovyInstance<T> newInstance(final Class<T> expected, final String path, final JobContext jobContext, final StepContext stepContext) throws IllegalAccessException, InstantiationException {
         if (path == null) {
             throw new BatchRuntimeException("no script configured expected");
@@ -37,18 +57,140 @@ public final class Groovys {
         }
 
         final ClassLoader tccl = Thread.currentThread().getContextClassLoader();
-        final GroovyClassLoader loader = new GroovyClassLoader(tccl);
+        final CompiledScript compiled = compile(tccl, script);
+
+        final T delegate;
+        try {
+            delegate = expected.cast(compiled.clazz.newInstance());
+        } catch (final IllegalAccessException e) {
+            compiled.release();
+            throw e;
+        } catch (final InstantiationException e) {
+            compiled.release();
+            throw e;
+        } catch (final RuntimeException e) {
+            compiled.release();
+            throw e;
+        }
+        injectIfBatcheeIfAvailable(tccl, delegate, jobContext, stepContext);
+        return new GroovyInstance<T>(compiled, delegate);
+    }
+
+    // the returned script is acquired, GroovyInstance.release() releases it
+    private static CompiledScript compile(final ClassLoader tccl, final File script) {
+        if (CACHE_SIZE <= 0) {
+            final CompiledScript compiled = new CompiledScript(null);
+            compiled.evicted = true; // not cached so closed at release
+            compiled.users++;
+            compiled.compile(tccl, script);
+            return compiled;
+        }
 
-        final Class<?> clazz;
+        final String key;
+        final String version;
         try {
-            clazz = loader.parseClass(script);
+            key = script.getCanonicalPath();
+            version = script.lastModified() + ":" + hash(script);
         } catch (final IOException e) {
             throw new BatchRuntimeException(e);
         }
 
-        final T delegate = expected.cast(clazz.newInstance());
-        injectIfBatcheeIfAvailable(tccl, delegate, jobContext, stepContext);
-        return new GroovyInstance<T>(loader, delegate);
+        final CompiledScript compiled;
+        synchronized (CACHE) {
+            Map<String, SoftReference<CompiledScript>> scripts = CACHE.get(tccl);
+            if (scripts == null) {
+                scripts = new LinkedHashMap<String, SoftReference<CompiledScript>>(16, .75f, true) {
+                    @Override
+                    protected boolean removeEldestEntry(final Map.Entry<String, SoftReference<CompiledScript>> eldest) {
+                        if (size() > CACHE_SIZE) {
+                            final CompiledScript evicted = eldest.getValue().get();
+                            if (evicted != null) {
+                                evicted.evict();
+                            }
+                            return true;
+                        }
+                        return false;
+                    }
+                };
+                CACHE.put(tccl, scripts);
+            }
+
+            final SoftReference<CompiledScript> ref = scripts.get(key);
+            CompiledScript existing = ref != null ? ref.get() : null;
+            if (existing != null && !existing.version.equals(version)) { // edited, old instances keep the old class
+                existing.evict();
+                existing = null;
+            }
+            if (existing == null) {
+                compiled = new CompiledScript(version);
+                scripts.put(key, new SoftReference<CompiledScript>(compiled));
+            } else {
+                compiled = existing;
+            }
+            compiled.users++;
+        }
+
+        try {
+            compiled.compile(tccl, script); // outside the cache lock, only concurrent users of the same script wait
+        } catch (final RuntimeException e) {
+            synchronized (CACHE) {
+                final Map<String, SoftReference<CompiledScript>> scripts = CACHE.get(tccl);
+                if (scripts != null) {
+                    final SoftReference<CompiledScript> ref = scripts.get(key);
+                    if (ref != null && ref.get() == compiled) {
+                        scripts.remove(key);
+                    }
+                }
+                compiled.evicted = true;
+            }
+            compiled.release();
+            throw e;
+        }
+        return compiled;
+    }
+
+    private static String hash(final File script) throws IOException {
+        final MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-1");
+        } catch (final NoSuchAlgorithmException e) {
+            throw new BatchRuntimeException(e);
+        }
+
+        final InputStream is = new FileInputStream(script);
+        try {
+            final byte[] buffer = new byte[8192];
+            int read;
+            while ((read = is.read(buffer)) >= 0) {
+                digest.update(buffer, 0, read);
+            }
+        } finally {
+            is.close();
+        }
+
+        final StringBuilder hex = new StringBuilder();
+        for (final byte b : digest.digest()) {
+            hex.append(Integer.toHexString((b & 0xFF) | 0x100).substring(1));
+        }
+        return hex.toString();
+    }
+
+    /**
+     * Evicts all the scripts compiled for this classloader, loaders still used are closed at their release.
+     */
+    public static void invalidate(final ClassLoader loader) {
+        final Map<String, SoftReference<CompiledScript>> scripts;
+        synchronized (CACHE) {
+            scripts = CACHE.remove(loader);
+            if (scripts != null) {
+                for (final SoftReference<CompiledScript> ref : scripts.values()) {
+                    final CompiledScript script = ref.get();
+                    if (script != null) {
+                        script.evict();
+                    }
+                }
+            }
+        }
     }
 
     private static <T> void injectIfBatcheeIfAvailable(final ClassLoader tccl, final T delegate, final JobContext jobContext, final StepContext stepContext) {
@@ -63,16 +205,87 @@ public final class Groovys {
         }
     }
 
+    // users and evicted are guarded by the CACHE lock
+    private static class CompiledScript {
+        private final String version;
+        private volatile GroovyClassLoader loader;
+        private volatile Class<?> clazz;
+        private int users = 0;
+        private boolean evicted = false;
+
+        private CompiledScript(final String version) {
+            this.version = version;
+        }
+
+        private synchronized void compile(final ClassLoader parent, final File script) {
+            if (clazz != null) {
+                return;
+            }
+
+            final GroovyClassLoader groovyLoader = new GroovyClassLoader(parent);
+            try {
+                clazz = groovyLoader.parseClass(script);
+                loader = groovyLoader;
+            } catch (final IOException e) {
+                closeQuietly(groovyLoader);
+                throw new BatchRuntimeException(e);
+            } catch (final RuntimeException e) {
+                closeQuietly(groovyLoader);
+                throw e;
+            }
+        }
+
+        private void evict() {
+            evicted = true;
+            if (users == 0) {
+                closeQuietly(loader);
+            }
+        }
+
+        private void release() {
+            synchronized (CACHE) {
+                users--;
+                if (evicted && users == 0) {
+                    closeQuietly(loader);
+                }
+            }
+        }
+
+        private static void closeQuietly(final GroovyClassLoader loader) {
+            if (loader == null) {
+                return;
+            }
+            loader.clearCache();
+            try {
+                loader.close();
+            } catch (final IOException e) {
+                // no-op
+            }
+        }
+    }
+
     public static class GroovyInstance<T> {
         private final GroovyClassLoader loader;
+        private final CompiledScript script;
         private final T instance;
 
         public GroovyInstance(final GroovyClassLoader loader, final T instance) {
             this.loader = loader;
+            this.script = null;
+            this.instance = instance;
+        }
+
+        private GroovyInstance(final CompiledScript script, final T instance) {
+            this.loader = script.loader;
+            this.script = script;
             this.instance = instance;
         }
 
         public void release() throws IOException {
+            if (script != null) {
+                script.release();
+                return;
+            }
             loader.clearCache();
             loader.close();
         }
@@ -0,0 +1,62 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.batchee.groovy;
+
+import org.apache.batchee.groovy.util.IOs;
+import org.testng.annotations.Test;
+
+import javax.batch.api.chunk.ItemProcessor;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertSame;
+
+public class GroovysTest {
+    @Test
+    public void recompileEditedScript() throws Exception {
+        final String path = "target/work/cached-processor.groovy";
+        IOs.write(path, processor("v1"));
+
+        final Groovys.GroovyInstance<ItemProcessor> first = Groovys.newInstance(ItemProcessor.class, path, null, null);
+        final Groovys.GroovyInstance<ItemProcessor> cached = Groovys.newInstance(ItemProcessor.class, path, null, null);
+        assertSame(cached.getInstance().getClass(), first.getInstance().getClass());
+        assertEquals(first.getInstance().processItem("item"), "item_v1");
+
+        IOs.write(path, processor("v2"));
+        final Groovys.GroovyInstance<ItemProcessor> edited = Groovys.newInstance(ItemProcessor.class, path, null, null);
+        assertNotSame(edited.getInstance().getClass(), first.getInstance().getClass());
+        assertEquals(edited.getInstance().processItem("item"), "item_v2");
+        assertEquals(first.getInstance().processItem("item"), "item_v1"); // instances in use keep their class
+
+        first.release();
+        cached.release();
+        edited.release();
+    }
+
+    private static String processor(final String suffix) {
+        return "package org.apache.batchee.groovy\n" +
+            "\n" +
+            "import javax.batch.api.chunk.ItemProcessor\n" +
+            "\n" +
+            "class CachedProcessor implements ItemProcessor {\n" +
+            "    @Override\n" +
+            "    Object processItem(final Object item) throws Exception {\n" +
+            "        item + '_" + suffix + "'\n" +
+            "    }\n" +
+            "}\n";
+    }
+}
@@ -16,6 +16,7 @@
  */
 package org.apache.batchee.jackson;
 
+import com.fasterxml.jackson.core.JsonFactory;
 import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -23,7 +24,13 @@ import org.apache.batchee.extras.transaction.CountedReader;
 
 import javax.batch.api.BatchProperty;
 import javax.inject.Inject;
+import java.io.ByteArrayInputStream;
+import java.io.EOFException;
 import java.io.File;
+import java.io.FileInputStream;
+import java.io.InputStream;
+import java.io.PushbackInputStream;
+import java.io.SequenceInputStream;
 import java.io.Serializable;
 
 public class JacksonJsonReader extends CountedReader {
@@ -43,16 +50,18 @@ public class JacksonJsonReader extends CountedReader {
     @BatchProperty
     private String skipRoot;
 
+    private JsonFactory factory;
     private JsonParser parser;
+    private long baseOffset = 0; // file offset of the byte 0 of the parser input
     private Class<?> clazz;
     private JsonToken end = null;
 
     @Override
     public void open(final Serializable checkpoint) throws Exception {
-        super.open(checkpoint);
-
         final ObjectMapper mapper = Jacksons.newMapper(configuration);
-        parser = mapper.getFactory().createParser(new File(file));
+        factory = mapper.getFactory();
+        parser = factory.createParser(new File(file));
+        baseOffset = 0;
         if (type != null) {
             clazz = Thread.currentThread().getContextClassLoader().loadClass(type);
         } else {
@@ -67,6 +76,64 @@ public class JacksonJsonReader extends CountedReader {
                 end = JsonToken.END_OBJECT;
             }
         }
+
+        super.open(checkpoint);
+    }
+
+    @Override
+    protected Position position() throws Exception {
+        final long offset = parser.getCurrentLocation().getByteOffset();
+        if (offset < 0) { // not a byte based parser (detected encoding)
+            return null;
+        }
+        return new Position(items, baseOffset + offset);
+    }
+
+    /**
+     * Reopens the file at the end of the last read object. The comma separating it from the next one is skipped
+     * and the root array/object is replayed so the parser sees a valid document.
+     */
+    @Override
+    protected boolean seek(final Position position) throws Exception {
+        final InputStream stream = new FileInputStream(file);
+        final PushbackInputStream in;
+        long current = position.getOffset();
+        try {
+            long toSkip = current;
+            while (toSkip > 0) {
+                final long skipped = stream.skip(toSkip);
+                if (skipped <= 0) {
+                    throw new EOFException("Can't seek to " + position + " in " + file);
+                }
+                toSkip -= skipped;
+            }
+
+            in = new PushbackInputStream(stream, 1);
+            int c;
+            do {
+                c = in.read();
+                current++;
+            } while (c != -1 && Character.isWhitespace(c));
+            if (c != ',' && c != -1) {
+                in.unread(c);
+                current--;
+            }
+        } catch (final Exception e) {
+            stream.close();
+            throw e;
+        }
+
+        parser.close();
+        if (end == null) { // root level values
+            parser = factory.createParser(in);
+            baseOffset = current;
+        } else {
+            final byte[] root = (end == JsonToken.END_ARRAY ? "[" : "{").getBytes("UTF-8");
+            parser = factory.createParser(new SequenceInputStream(new ByteArrayInputStream(root), in));
+            parser.nextToken();
+            baseOffset = current - root.length;
+        }
+        return true;
     }
 
     @Override
@@ -21,9 +21,13 @@ import org.apache.batchee.jackson.util.IOs;
 import org.apache.batchee.util.Batches;
 import org.testng.annotations.Test;
 
+import javax.batch.api.BatchProperty;
+import javax.batch.api.chunk.AbstractItemWriter;
 import javax.batch.api.chunk.ItemWriter;
 import javax.batch.operations.JobOperator;
 import javax.batch.runtime.BatchRuntime;
+import javax.batch.runtime.BatchStatus;
+import javax.inject.Inject;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.List;
@@ -55,6 +59,48 @@ public class JacksonJsonReaderTest {
         }
     }
 
+    @Test
+    public void restartFromPosition() {
+        IOs.write("target/work/jackson-restart-input.json", "[" +
+            "  {\"v1\":\"record 1\"}," +
+            "  {\"v1\":\"record 2\"}," +
+            "  {\"v1\":\"record 3\"}" +
+            "]");
+
+        final JobOperator operator = BatchRuntime.getJobOperator();
+        final long id = operator.start("jackson-reader-restart", new Properties() {{ setProperty("fail", "record 2"); }});
+        Batches.waitForEnd(operator, id);
+        assertEquals(operator.getJobExecution(id).getBatchStatus(), BatchStatus.FAILED);
+        assertEquals(FailingWriter.ITEMS.size(), 1);
+
+        // reopens the file after the first record instead of parsing it again
+        final long restartId = operator.restart(id, new Properties());
+        Batches.waitForEnd(operator, restartId);
+        assertEquals(operator.getJobExecution(restartId).getBatchStatus(), BatchStatus.COMPLETED);
+        assertEquals(FailingWriter.ITEMS.size(), 3);
+        for (int i = 1; i < FailingWriter.ITEMS.size() + 1; i++) {
+            assertEquals(FailingWriter.ITEMS.get(i - 1).getV1(), "record " + i);
+        }
+    }
+
+    public static class FailingWriter extends AbstractItemWriter {
+        public static List<Record> ITEMS = new ArrayList<Record>(3);
+
+        @Inject
+        @BatchProperty
+        private String fail;
+
+        @Override
+        public void writeItems(final List<Object> items) throws Exception {
+            for (final Object item : items) {
+                if (Record.class.cast(item).getV1().equals(fail)) {
+                    throw new IllegalStateException("failing on " + fail);
+                }
+            }
+            ITEMS.addAll(List.class.cast(items));
+        }
+    }
+
     public static class Writer implements ItemWriter {
         public static List<Record> ITEMS = new ArrayList<Record>(2);
 
@@ -16,13 +16,19 @@
  */
 package org.apache.batchee.jsefa;
 
+import org.apache.batchee.extras.flat.RangeInputStream;
 import org.apache.batchee.extras.transaction.CountedReader;
 import org.jsefa.Deserializer;
 
 import javax.batch.api.BatchProperty;
 import javax.inject.Inject;
-import java.io.FileReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
 import java.io.Serializable;
+import java.nio.charset.Charset;
 
 public abstract class JSefaReader extends CountedReader {
     @Inject
@@ -53,13 +59,38 @@ public abstract class JSefaReader extends CountedReader {
     @BatchProperty
     protected String file;
 
+    @Inject
+    @BatchProperty
+    protected String encoding;
+
+    @Inject
+    @BatchProperty
+    protected String rangeStart;
+
+    @Inject
+    @BatchProperty
+    protected String rangeEnd;
+
     protected Deserializer deserializer;
 
     @Override
     public void open(final Serializable checkpoint) throws Exception {
         deserializer = initDeserializer();
+        deserializer.open(openReader());
         super.open(checkpoint);
-        deserializer.open(new FileReader(file));
+    }
+
+    protected Reader openReader() throws Exception {
+        final File input = new File(file);
+        final InputStream stream;
+        if (rangeStart != null || rangeEnd != null) { // a line aligned range, see FlatFilePartitionMapper
+            stream = new RangeInputStream(input,
+                rangeStart != null ? Long.parseLong(rangeStart) : 0,
+                rangeEnd != null ? Long.parseLong(rangeEnd) : input.length());
+        } else {
+            stream = new FileInputStream(input);
+        }
+        return new InputStreamReader(stream, encoding != null ? Charset.forName(encoding) : Charset.defaultCharset());
     }
 
     protected abstract Deserializer initDeserializer() throws Exception;
@@ -21,11 +21,13 @@ import javax.batch.runtime.Metric;
 import javax.batch.runtime.context.StepContext;
 import java.io.Serializable;
 import java.sql.Timestamp;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.Properties;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 public class StepContextImpl implements StepContext {
     private String stepId = null;
@@ -44,7 +46,8 @@ public class StepContextImpl implements StepContext {
     private String batchletProcessRetVal = null;
 
 
-    private ConcurrentHashMap<String, Metric> metrics = new ConcurrentHashMap<String, Metric>();
+    // indexed by MetricType ordinal
+    private final AtomicReferenceArray<MetricImpl> metrics = new AtomicReferenceArray<MetricImpl>(Metric.MetricType.values().length);
 
     public StepContextImpl(String stepId) {
         this.stepId = stepId;
@@ -75,25 +78,47 @@ public class StepContextImpl implements StepContext {
         return stepId;
     }
 
+    /**
+     * @return a snapshot of the metrics, returned instances are not updated by the step.
+     */
     @Override
     public Metric[] getMetrics() {
-        final Collection<Metric> values = metrics.values();
+        final Collection<Metric> values = new ArrayList<Metric>(metrics.length());
+        for (int i = 0; i < metrics.length(); i++) {
+            final MetricImpl metric = metrics.get(i);
+            if (metric != null) {
+                values.add(new MetricImpl(metric.getType(), metric.getValue()));
+            }
+        }
         return values.toArray(new Metric[values.size()]);
     }
 
     public Map<String, Metric> metricsAsMap() {
+        final Map<String, Metric> map = new HashMap<String, Metric>();
         for (final Metric.MetricType type : Metric.MetricType.values()) {
-            metrics.putIfAbsent(type.name(), new MetricImpl(type, 0));
+            map.put(type.name(), new MetricImpl(type, getMetricValue(type)));
+        }
+        return Collections.unmodifiableMap(map);
+    }
+
+    /**
+     * @param metricType the metric to read.
+     * @return the current value of the metric or 0 if it was not added.
+     */
+    public long getMetricValue(final Metric.MetricType metricType) {
+        final MetricImpl metric = metrics.get(metricType.ordinal());
+        if (metric == null) {
+            return 0;
         }
-        return Collections.unmodifiableMap(metrics);
+        return metric.getValue();
     }
 
     public MetricImpl getMetric(MetricImpl.MetricType metricType) {
-        return (MetricImpl) metrics.get(metricType.name());
+        return metrics.get(metricType.ordinal());
     }
 
     public void addMetric(MetricImpl.MetricType metricType, long value) {
-        metrics.putIfAbsent(metricType.name(), new MetricImpl(metricType, value));
+        metrics.compareAndSet(metricType.ordinal(), null, new MetricImpl(metricType, value));
     }
 
     @Override
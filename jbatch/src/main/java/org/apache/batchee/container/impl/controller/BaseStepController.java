@@ -79,6 +79,9 @@ public abstract class BaseStepController implements ExecutionElementController {
 
     protected TransactionManagerAdapter transactionManager = null;
 
+    // set when the step runs as a light partition: nothing is persisted for it, the parent step tracks it
+    private String lightPartitionName = null;
+
     protected BaseStepController(final RuntimeJobExecution jobExecution, final Step step, final StepContextImpl stepContext, final long rootJobExecutionId) {
         this.jobExecutionImpl = jobExecution;
         this.jobInstance = jobExecution.getJobInstance();
@@ -216,6 +219,27 @@ public abstract class BaseStepController implements ExecutionElementController {
         }
     }
 
+    /**
+     * Runs this step as a light partition of a partitioned step: no step execution or step status is
+     * created or updated, the step context uses the parent step execution id and checkpoints are stored
+     * under the given name.
+     */
+    public void setLightPartition(final String checkpointName, final long parentStepExecutionId) {
+        this.lightPartitionName = checkpointName;
+        this.stepContext.setStepExecutionId(parentStepExecutionId);
+    }
+
+    protected boolean isLightPartition() {
+        return lightPartitionName != null;
+    }
+
+    /**
+     * @return the step name used for checkpoint data.
+     */
+    protected String checkpointName() {
+        return lightPartitionName != null ? lightPartitionName : step.getId();
+    }
+
     private void markStepFailed() {
         updateBatchStatus(BatchStatus.FAILED);
     }
@@ -239,7 +263,9 @@ public abstract class BaseStepController implements ExecutionElementController {
         Timestamp startTS = new Timestamp(time);
         stepContext.setStartTime(startTS);
 
-        PERSISTENCE_MANAGER_SERVICE.updateStepExecution(rootJobExecutionId, stepContext);
+        if (lightPartitionName == null) {
+            PERSISTENCE_MANAGER_SERVICE.updateStepExecution(rootJobExecutionId, stepContext);
+        }
     }
 
 
@@ -262,11 +288,18 @@ public abstract class BaseStepController implements ExecutionElementController {
 
     protected void updateBatchStatus(final BatchStatus updatedBatchStatus) {
         stepStatus.setBatchStatus(updatedBatchStatus);
-        JOB_STATUS_MANAGER_SERVICE.updateStepStatus(stepStatus.getStepExecutionId(), stepStatus);
+        if (lightPartitionName == null) {
+            JOB_STATUS_MANAGER_SERVICE.updateStepStatus(stepStatus.getStepExecutionId(), stepStatus);
+        }
         stepContext.setBatchStatus(updatedBatchStatus);
     }
 
     protected boolean shouldStepBeExecuted() {
+        if (lightPartitionName != null) { // the parent step already decided, only keep an in memory status
+            this.stepStatus = new StepStatus(stepContext.getStepExecutionId());
+            return true;
+        }
+
         this.stepStatus = JOB_STATUS_MANAGER_SERVICE.getStepStatus(jobInstance.getInstanceId(), step.getId());
         if (stepStatus == null) {
             // create new step execution
@@ -332,12 +365,18 @@ public abstract class BaseStepController implements ExecutionElementController {
 
     protected void statusStarting() {
         stepStatus.setBatchStatus(BatchStatus.STARTING);
-        JOB_STATUS_MANAGER_SERVICE.updateJobCurrentStep(jobInstance.getInstanceId(), step.getId());
-        JOB_STATUS_MANAGER_SERVICE.updateStepStatus(stepStatus.getStepExecutionId(), stepStatus);
+        if (lightPartitionName == null) {
+            JOB_STATUS_MANAGER_SERVICE.updateJobCurrentStep(jobInstance.getInstanceId(), step.getId());
+            JOB_STATUS_MANAGER_SERVICE.updateStepStatus(stepStatus.getStepExecutionId(), stepStatus);
+        }
         stepContext.setBatchStatus(BatchStatus.STARTING);
     }
 
     protected void persistUserData() {
+        if (lightPartitionName != null) {
+            return;
+        }
+
         final ByteArrayOutputStream persistentBAOS = new ByteArrayOutputStream();
         final ObjectOutputStream persistentDataOOS;
 
@@ -355,14 +394,16 @@ public abstract class BaseStepController implements ExecutionElementController {
 
     protected void persistExitStatusAndEndTimestamp() {
         stepStatus.setExitStatus(stepContext.getExitStatus());
-        JOB_STATUS_MANAGER_SERVICE.updateStepStatus(stepStatus.getStepExecutionId(), stepStatus);
 
         // set the end time metric before flushing
         long time = System.currentTimeMillis();
         Timestamp endTS = new Timestamp(time);
         stepContext.setEndTime(endTS);
 
-        PERSISTENCE_MANAGER_SERVICE.updateStepExecution(rootJobExecutionId, stepContext);
+        if (lightPartitionName == null) {
+            JOB_STATUS_MANAGER_SERVICE.updateStepStatus(stepStatus.getStepExecutionId(), stepStatus);
+            PERSISTENCE_MANAGER_SERVICE.updateStepExecution(rootJobExecutionId, stepContext);
+        }
     }
 
     private StepExecutionImpl getNewStepExecution(long rootJobExecutionId, StepContextImpl stepContext) {
@@ -0,0 +1,114 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.batchee.container.impl.controller;
+
+import org.apache.batchee.container.ThreadRootController;
+import org.apache.batchee.container.impl.jobinstance.JobExecutionHelper;
+import org.apache.batchee.container.impl.jobinstance.RuntimeJobExecution;
+import org.apache.batchee.container.services.JobStatusManagerService;
+import org.apache.batchee.container.services.ServicesManager;
+import org.apache.batchee.container.status.ExecutionStatus;
+import org.apache.batchee.container.util.PartitionDataWrapper;
+import org.apache.batchee.container.util.PartitionDataWrapper.PartitionEventType;
+import org.apache.batchee.container.util.PartitionsBuilderConfig;
+import org.apache.batchee.spi.PersistenceManagerService;
+
+import javax.batch.runtime.BatchStatus;
+import java.sql.Timestamp;
+import java.util.Collections;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Generates the sub job of a partition when it is executed and delegates to a PartitionThreadRootController,
+ * the instance and execution of the partition are created upfront (in bulk) by the kernel.
+ */
+public class LazyPartitionThreadRootController implements ThreadRootController {
+    private static final Logger LOGGER = Logger.getLogger(LazyPartitionThreadRootController.class.getName());
+
+    private final RuntimeJobExecution jobExecution;
+    private final PartitionsBuilderConfig config;
+    private final int partition;
+
+    private PartitionThreadRootController delegate = null;
+    private boolean stopRequested = false;
+
+    public LazyPartitionThreadRootController(final RuntimeJobExecution jobExecution, final PartitionsBuilderConfig config, final int partition) {
+        this.jobExecution = jobExecution;
+        this.config = config;
+        this.partition = partition;
+    }
+
+    @Override
+    public ExecutionStatus originateExecutionOnThread() {
+        final PartitionThreadRootController controller;
+        synchronized (this) {
+            try {
+                JobExecutionHelper.preparePartition(jobExecution, config.getJobModel(partition), config.getPartitionProperties(partition));
+                delegate = new PartitionThreadRootController(jobExecution, config);
+            } catch (final RuntimeException e) {
+                LOGGER.log(Level.SEVERE, "Can't prepare partition " + partition + " of execution " + jobExecution.getExecutionId(), e);
+                failed();
+                return null;
+            }
+
+            controller = delegate;
+            if (stopRequested) { // stop() was called before the partition was prepared
+                controller.stop();
+            }
+        }
+        return controller.originateExecutionOnThread();
+    }
+
+    @Override
+    public void stop() {
+        final PartitionThreadRootController controller;
+        synchronized (this) {
+            if (delegate == null) {
+                stopRequested = true;
+                return;
+            }
+            controller = delegate;
+        }
+        controller.stop();
+    }
+
+    @Override
+    public synchronized List<Long> getLastRunStepExecutions() {
+        if (delegate == null) {
+            return Collections.emptyList();
+        }
+        return delegate.getLastRunStepExecutions();
+    }
+
+    // no job context in this case so PartitionedStepController considers the partition as failed
+    private void failed() {
+        final String failed = BatchStatus.FAILED.name();
+        ServicesManager.service(JobStatusManagerService.class).updateJobBatchStatus(jobExecution.getInstanceId(), BatchStatus.FAILED);
+        ServicesManager.service(PersistenceManagerService.class).updateWithFinalExecutionStatusesAndTimestamps(
+            jobExecution.getExecutionId(), BatchStatus.FAILED, failed, new Timestamp(System.currentTimeMillis()));
+
+        if (config.getAnalyzerQueue() != null) { // else the analyzer loop would wait for this partition forever
+            final PartitionDataWrapper dataWrapper = new PartitionDataWrapper();
+            dataWrapper.setBatchStatus(BatchStatus.FAILED);
+            dataWrapper.setExitStatus(failed);
+            dataWrapper.setEventType(PartitionEventType.ANALYZE_STATUS);
+            config.getAnalyzerQueue().add(dataWrapper);
+        }
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.batchee.container.impl.controller;
+
+import org.apache.batchee.container.impl.StepContextImpl;
+import org.apache.batchee.container.impl.jobinstance.RuntimeJobExecution;
+import org.apache.batchee.container.status.ExecutionStatus;
+import org.apache.batchee.container.status.ExtendedBatchStatus;
+import org.apache.batchee.container.util.PartitionsBuilderConfig;
+import org.apache.batchee.jaxb.Step;
+
+import javax.batch.runtime.BatchStatus;
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Runs the step of a partition directly, without the job level bookkeeping (instance, execution, status)
+ * of a generated sub job. Only the checkpoints are persisted, under a partition specific name.
+ */
+public class LightPartitionThreadRootController extends PartitionThreadRootController {
+    private static final Logger LOGGER = Logger.getLogger(LightPartitionThreadRootController.class.getName());
+
+    private final PartitionsBuilderConfig config;
+    private final String checkpointName;
+    private final long parentStepExecutionId;
+
+    private volatile BaseStepController stepController;
+    private StepContextImpl stepContext;
+
+    public LightPartitionThreadRootController(final RuntimeJobExecution jobExecution, final PartitionsBuilderConfig config,
+                                              final String checkpointName, final long parentStepExecutionId) {
+        super(jobExecution, config);
+        this.config = config;
+        this.checkpointName = checkpointName;
+        this.parentStepExecutionId = parentStepExecutionId;
+    }
+
+    @Override
+    public ExecutionStatus originateExecutionOnThread() {
+        ExecutionStatus status = null;
+        try {
+            if (!jobContext.getBatchStatus().equals(BatchStatus.STOPPING)) {
+                updateJobBatchStatus(BatchStatus.STARTED);
+
+                final Step step = Step.class.cast(jobNavigator.getRootModelElement().getExecutionElements().get(0));
+                stepContext = new StepContextImpl(step.getId());
+
+                final BaseStepController controller = ExecutionElementControllerFactory.getStepController(
+                    jobExecution, step, stepContext, rootJobExecutionId, config.getAnalyzerQueue());
+                controller.setLightPartition(checkpointName, parentStepExecutionId);
+                stepController = controller;
+
+                if (!jobContext.getBatchStatus().equals(BatchStatus.STOPPING)) { // stop() can have been called in between
+                    status = controller.execute();
+                    if (ExtendedBatchStatus.EXCEPTION_THROWN.equals(status.getExtendedBatchStatus())) {
+                        updateJobBatchStatus(BatchStatus.FAILED);
+                    }
+                }
+            }
+        } catch (final Throwable t) {
+            batchStatusFailedFromException();
+            LOGGER.log(Level.SEVERE, t.getMessage(), t);
+        }
+
+        final BatchStatus batchStatus = jobContext.getBatchStatus();
+        if (BatchStatus.STOPPING.equals(batchStatus) || (stepContext != null && BatchStatus.STOPPED.equals(stepContext.getBatchStatus()))) {
+            updateJobBatchStatus(BatchStatus.STOPPED);
+        } else if (!BatchStatus.FAILED.equals(batchStatus)) {
+            updateJobBatchStatus(BatchStatus.COMPLETED);
+        }
+        if (jobContext.getExitStatus() == null) {
+            jobContext.setExitStatus(jobContext.getBatchStatus().name());
+        }
+
+        for (final Closeable closeable : jobExecution.getReleasables()) { // release CDI beans of the partition
+            try {
+                closeable.close();
+            } catch (final IOException e) {
+                // no-op
+            }
+        }
+        return status;
+    }
+
+    @Override
+    public void stop() {
+        final BatchStatus batchStatus = jobContext.getBatchStatus();
+        if (BatchStatus.STARTING.equals(batchStatus) || BatchStatus.STARTED.equals(batchStatus)) {
+            updateJobBatchStatus(BatchStatus.STOPPING);
+
+            final BaseStepController controller = stepController;
+            if (controller != null) {
+                controller.stop();
+            }
+        }
+    }
+
+    /**
+     * @return the step context of the partition, null if it didn't start.
+     */
+    public StepContextImpl getStepContext() {
+        return stepContext;
+    }
+
+    @Override
+    public List<Long> getLastRunStepExecutions() {
+        return Collections.singletonList(parentStepExecutionId);
+    }
+}
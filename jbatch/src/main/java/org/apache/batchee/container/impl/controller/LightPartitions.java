@@ -0,0 +1,152 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.batchee.container.impl.controller;
+
+import org.apache.batchee.container.exception.BatchContainerServiceException;
+import org.apache.batchee.container.impl.controller.chunk.CheckpointData;
+import org.apache.batchee.container.impl.controller.chunk.CheckpointDataKey;
+import org.apache.batchee.container.impl.controller.chunk.CheckpointType;
+import org.apache.batchee.container.services.ServicesManager;
+import org.apache.batchee.container.util.TCCLObjectInputStream;
+import org.apache.batchee.spi.CheckpointRemoval;
+import org.apache.batchee.spi.PersistenceManagerService;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+
+/**
+ * Tracks the light partitions of a partitioned step: instead of a sub job per partition
+ * a single checkpoint entry of the parent step stores which partitions completed.
+ * <p/>
+ * The generation is the step execution which created the partition plan, it prefixes the checkpoints
+ * of the partitions so a plan overriding the previous one doesn't restart from stale checkpoints.
+ * <p/>
+ * Once the step completed the checkpoints of the partitions and the state are removed
+ * if the persistence supports it (CheckpointRemoval), otherwise they stay until the job instance is cleaned up.
+ */
+public class LightPartitions {
+    private static final String SUFFIX = PartitionedStepBuilder.JOB_ID_SEPARATOR + "partitions";
+
+    private final PersistenceManagerService persistenceManagerService;
+    private final long jobInstanceId;
+    private final String stepId;
+    private final int partitions;
+    private State state;
+
+    public LightPartitions(final PersistenceManagerService persistenceManagerService, final long jobInstanceId, final String stepId, final int partitions) {
+        this.persistenceManagerService = persistenceManagerService;
+        this.jobInstanceId = jobInstanceId;
+        this.stepId = stepId;
+        this.partitions = partitions;
+    }
+
+    /**
+     * @param stepExecutionId the current step execution, used as generation if a new plan is started.
+     * @param restart         should the state of the previous execution be reused if any.
+     */
+    public void init(final long stepExecutionId, final boolean restart) {
+        state = restart ? load() : null;
+        if (state == null) {
+            state = new State(stepExecutionId);
+            store();
+        }
+    }
+
+    public boolean isCompleted(final int partition) {
+        return state.completed.get(partition);
+    }
+
+    public synchronized void markCompleted(final int partition) {
+        state.completed.set(partition);
+        store();
+    }
+
+    public boolean isCompleted() {
+        return state.completed.cardinality() == partitions;
+    }
+
+    public String checkpointName(final int partition) {
+        return stepId + PartitionedStepBuilder.JOB_ID_SEPARATOR + state.generation + PartitionedStepBuilder.JOB_ID_SEPARATOR + partition;
+    }
+
+    /**
+     * Removes the checkpoints of all the partitions and the state, only valid once the step completed.
+     */
+    public void cleanUp() {
+        final CheckpointRemoval removal = ServicesManager.extension(persistenceManagerService, CheckpointRemoval.class);
+        if (removal == null) {
+            return;
+        }
+
+        final Collection<CheckpointDataKey> keys = new ArrayList<CheckpointDataKey>(2 * partitions + 1);
+        for (int partition = 0; partition < partitions; partition++) {
+            final String name = checkpointName(partition);
+            keys.add(new CheckpointDataKey(jobInstanceId, name, CheckpointType.READER));
+            keys.add(new CheckpointDataKey(jobInstanceId, name, CheckpointType.WRITER));
+        }
+        keys.add(new CheckpointDataKey(jobInstanceId, stepId + SUFFIX, CheckpointType.READER));
+        removal.removeCheckpointData(keys);
+    }
+
+    private State load() {
+        final CheckpointData data = persistenceManagerService.getCheckpointData(new CheckpointDataKey(jobInstanceId, stepId + SUFFIX, CheckpointType.READER));
+        if (data == null) {
+            return null;
+        }
+
+        try {
+            final TCCLObjectInputStream ois = new TCCLObjectInputStream(new ByteArrayInputStream(data.getRestartToken()));
+            try {
+                return State.class.cast(ois.readObject());
+            } finally {
+                ois.close();
+            }
+        } catch (final Exception e) {
+            throw new BatchContainerServiceException("Cannot read the partitions of [" + stepId + "]", e);
+        }
+    }
+
+    private void store() {
+        final CheckpointData data = new CheckpointData(jobInstanceId, stepId + SUFFIX, CheckpointType.READER);
+        try {
+            final ByteArrayOutputStream baos = new ByteArrayOutputStream();
+            final ObjectOutputStream oos = new ObjectOutputStream(baos);
+            oos.writeObject(state);
+            oos.close();
+            data.setRestartToken(baos.toByteArray());
+        } catch (final Exception e) {
+            throw new BatchContainerServiceException("Cannot persist the partitions of [" + stepId + "]", e);
+        }
+        persistenceManagerService.setCheckpointData(new CheckpointDataKey(jobInstanceId, stepId + SUFFIX, CheckpointType.READER), data);
+    }
+
+    private static class State implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private final long generation;
+        private final BitSet completed = new BitSet();
+
+        private State(final long generation) {
+            this.generation = generation;
+        }
+    }
+}
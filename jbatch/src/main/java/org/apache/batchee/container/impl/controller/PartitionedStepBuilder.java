@@ -154,7 +154,7 @@ public class PartitionedStepBuilder {
      * @return a String of the form
      * <parentJobExecutionId>:<parentId>:<partitionInstance>
      */
-    private static String generateSubJobId(Long parentJobInstanceId, String stepId, int partitionInstance) {
+    public static String generateSubJobId(Long parentJobInstanceId, String stepId, int partitionInstance) {
         return JOB_ID_SEPARATOR + parentJobInstanceId.toString() + JOB_ID_SEPARATOR + stepId + JOB_ID_SEPARATOR + partitionInstance;
     }
 
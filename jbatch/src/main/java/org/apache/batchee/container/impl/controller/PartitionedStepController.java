@@ -17,7 +17,10 @@
 package org.apache.batchee.container.impl.controller;
 
 import org.apache.batchee.container.exception.BatchContainerRuntimeException;
+import org.apache.batchee.container.impl.JobContextImpl;
+import org.apache.batchee.container.impl.MetricImpl;
 import org.apache.batchee.container.impl.StepContextImpl;
+import org.apache.batchee.container.impl.jobinstance.JobExecutionHelper;
 import org.apache.batchee.container.impl.jobinstance.RuntimeJobExecution;
 import org.apache.batchee.container.jsl.CloneUtility;
 import org.apache.batchee.container.proxy.InjectionReferences;
@@ -26,6 +29,8 @@ import org.apache.batchee.container.proxy.PartitionMapperProxy;
 import org.apache.batchee.container.proxy.PartitionReducerProxy;
 import org.apache.batchee.container.proxy.ProxyFactory;
 import org.apache.batchee.container.proxy.StepListenerProxy;
+import org.apache.batchee.container.services.ServicesManager;
+import org.apache.batchee.container.util.BatchLightPartitionWorkUnit;
 import org.apache.batchee.container.util.BatchPartitionPlan;
 import org.apache.batchee.container.util.BatchPartitionWorkUnit;
 import org.apache.batchee.container.util.BatchWorkUnit;
@@ -39,6 +44,9 @@ import org.apache.batchee.jaxb.PartitionMapper;
 import org.apache.batchee.jaxb.PartitionReducer;
 import org.apache.batchee.jaxb.Property;
 import org.apache.batchee.jaxb.Step;
+import org.apache.batchee.spi.BatchThreadPoolService;
+import org.apache.batchee.spi.PersistenceManagerService;
+import org.apache.batchee.util.SplittablePartitionPlan;
 
 import javax.batch.api.partition.PartitionPlan;
 import javax.batch.api.partition.PartitionReducer.PartitionStatus;
@@ -47,13 +55,20 @@ import javax.batch.operations.JobExecutionNotMostRecentException;
 import javax.batch.operations.JobRestartException;
 import javax.batch.operations.JobStartException;
 import javax.batch.runtime.BatchStatus;
+import javax.batch.runtime.Metric;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Properties;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.LinkedBlockingQueue;
 
 public class PartitionedStepController extends BaseStepController {
+    /**
+     * Runs partitions in the step thread pool without generating and persisting a sub job per partition.
+     */
+    public static final String LIGHT = "org.apache.batchee.partition.light";
+
     private static final int DEFAULT_PARTITION_INSTANCES = 1;
     private static final int DEFAULT_THREADS = 0; //0 means default to number of instances
 
@@ -80,6 +95,8 @@ public class PartitionedStepController extends BaseStepController {
 
     BlockingQueue<BatchPartitionWorkUnit> completedWorkQueue = null;
 
+    private LightPartitions lightPartitions = null;
+
     protected PartitionedStepController(final RuntimeJobExecution jobExecutionImpl, final Step step, StepContextImpl stepContext, long rootJobExecutionId) {
         super(jobExecutionImpl, step, stepContext, rootJobExecutionId);
     }
@@ -96,6 +113,10 @@ public class PartitionedStepController extends BaseStepController {
             if (parallelBatchWorkUnits != null) {
                 for (BatchWorkUnit subJob : parallelBatchWorkUnits) {
                     try {
+                        if (BatchLightPartitionWorkUnit.class.isInstance(subJob)) { // not registered in the kernel
+                            subJob.getController().stop();
+                            continue;
+                        }
                         BATCH_KERNEL.stopJob(subJob.getJobExecutionImpl().getExecutionId());
                     } catch (Exception e) {
                         // TODO - Is this what we want to know.
@@ -131,7 +152,13 @@ public class PartitionedStepController extends BaseStepController {
             final PartitionMapperProxy partitionMapperProxy = ProxyFactory.createPartitionMapperProxy(partitionMapper.getRef(), injectionRef, stepContext, jobExecutionImpl);
 
 
-            final PartitionPlan mapperPlan = partitionMapperProxy.mapPartitions();
+            PartitionPlan mapperPlan = partitionMapperProxy.mapPartitions();
+            if (isWorkStealing() && SplittablePartitionPlan.class.isInstance(mapperPlan)) {
+                final int slices = Integer.parseInt(stepProperty(WorkStealingPartitionScheduler.SLICES, "1"));
+                if (slices > 1) {
+                    mapperPlan = slice(SplittablePartitionPlan.class.cast(mapperPlan), slices);
+                }
+            }
 
             //Set up the new partition plan
             plan = new BatchPartitionPlan();
@@ -229,6 +256,34 @@ public class PartitionedStepController extends BaseStepController {
     }
 
 
+    private static PartitionPlan slice(final SplittablePartitionPlan plan, final int slices) {
+        final Properties[] partitionProperties = plan.getPartitionProperties();
+        final List<Properties> slicedProperties = new ArrayList<Properties>(plan.getPartitions() * slices);
+        for (int i = 0; i < plan.getPartitions(); i++) {
+            final Properties[] split = plan.split(i, slices);
+            if (split == null) {
+                slicedProperties.add(partitionProperties == null ? null : partitionProperties[i]);
+            } else {
+                Collections.addAll(slicedProperties, split);
+            }
+        }
+
+        final PartitionPlan sliced = new BatchPartitionPlan();
+        sliced.setPartitions(slicedProperties.size());
+        sliced.setThreads(plan.getThreads() == 0 ? plan.getPartitions() : plan.getThreads()); // workers, not slices
+        sliced.setPartitionProperties(slicedProperties.toArray(new Properties[slicedProperties.size()]));
+        sliced.setPartitionsOverride(plan.getPartitionsOverride());
+        return sliced;
+    }
+
+    private boolean isWorkStealing() {
+        return WorkStealingPartitionScheduler.WORK_STEALING.equalsIgnoreCase(stepProperty(WorkStealingPartitionScheduler.SCHEDULER, "default"));
+    }
+
+    private String stepProperty(final String key, final String defaultValue) {
+        return stepContext.getProperties().getProperty(key, ServicesManager.value(key, defaultValue));
+    }
+
     @Override
     protected void invokeCoreStep() throws JobRestartException, JobStartException, JobExecutionAlreadyCompleteException, JobExecutionNotMostRecentException {
 
@@ -273,15 +328,23 @@ public class PartitionedStepController extends BaseStepController {
                 return;
             }
 
-            for (int instance = 0; instance < partitions; instance++) {
-                subJobs.add(PartitionedStepBuilder.buildPartitionSubJob(jobExecutionImpl.getInstanceId(), jobExecutionImpl.getJobContext(), step, instance));
+            if ("true".equalsIgnoreCase(stepProperty(LIGHT, "false"))) {
+                parallelBatchWorkUnits = buildLightPartitions();
+                return;
             }
 
-            PartitionsBuilderConfig config = new PartitionsBuilderConfig(subJobs, partitionProperties, analyzerStatusQueue, completedWorkQueue, jobExecutionImpl.getExecutionId());
             // Then build all the subjobs but do not start them yet
             if (stepStatus.getStartCount() > 1 && !plan.getPartitionsOverride()) {
+                for (int instance = 0; instance < partitions; instance++) {
+                    subJobs.add(PartitionedStepBuilder.buildPartitionSubJob(jobExecutionImpl.getInstanceId(), jobExecutionImpl.getJobContext(), step, instance));
+                }
+
+                final PartitionsBuilderConfig config = new PartitionsBuilderConfig(subJobs, partitionProperties, analyzerStatusQueue, completedWorkQueue, jobExecutionImpl.getExecutionId());
                 parallelBatchWorkUnits = BATCH_KERNEL.buildOnRestartParallelPartitions(config);
-            } else {
+            } else { // sub jobs are generated when the partitions are executed
+                final PartitionsBuilderConfig config = new PartitionsBuilderConfig(
+                    step, jobExecutionImpl.getJobContext(), jobExecutionImpl.getInstanceId(), partitions,
+                    partitionProperties, analyzerStatusQueue, completedWorkQueue, jobExecutionImpl.getExecutionId());
                 parallelBatchWorkUnits = BATCH_KERNEL.buildNewParallelPartitions(config);
             }
 
@@ -289,6 +352,27 @@ public class PartitionedStepController extends BaseStepController {
         }
     }
 
+    private List<BatchPartitionWorkUnit> buildLightPartitions() {
+        lightPartitions = new LightPartitions(ServicesManager.service(PersistenceManagerService.class), jobExecutionImpl.getInstanceId(), step.getId(), partitions);
+        lightPartitions.init(stepContext.getStepExecutionId(), stepStatus.getStartCount() > 1 && !plan.getPartitionsOverride());
+
+        final PartitionsBuilderConfig config = new PartitionsBuilderConfig(subJobs, partitionProperties, analyzerStatusQueue, completedWorkQueue, jobExecutionImpl.getExecutionId());
+        final List<BatchPartitionWorkUnit> workUnits = new ArrayList<BatchPartitionWorkUnit>(partitions);
+        for (int instance = 0; instance < partitions; instance++) {
+            if (lightPartitions.isCompleted(instance)) { // restart
+                continue;
+            }
+
+            final JSLJob subJob = PartitionedStepBuilder.buildPartitionSubJob(jobExecutionImpl.getInstanceId(), jobExecutionImpl.getJobContext(), step, instance);
+            subJobs.add(subJob);
+
+            final RuntimeJobExecution execution = JobExecutionHelper.startLightPartition(jobExecutionImpl, subJob, partitionProperties == null ? null : partitionProperties[instance]);
+            execution.setPartitionInstance(instance);
+            workUnits.add(new BatchLightPartitionWorkUnit(BATCH_KERNEL, execution, config, instance, lightPartitions.checkpointName(instance), stepContext.getStepExecutionId()));
+        }
+        return workUnits;
+    }
+
     private void executeAndWaitForCompletion() throws JobRestartException {
 
         if (jobExecutionImpl.getJobContext().getBatchStatus().equals(BatchStatus.STOPPING)) {
@@ -299,14 +383,22 @@ public class PartitionedStepController extends BaseStepController {
         this.numPreviouslyCompleted = partitions - numTotalForThisExecution;
         int numCurrentCompleted = 0;
         int numCurrentSubmitted = 0;
+        if (numTotalForThisExecution == 0) { // all partitions already completed
+            return;
+        }
 
-        //Start up to to the max num we are allowed from the num threads attribute
-        for (int i = 0; i < this.threads && i < numTotalForThisExecution; i++, numCurrentSubmitted++) {
-            final BatchWorkUnit workUnit = parallelBatchWorkUnits.get(i);
-            if (stepStatus.getStartCount() > 1 && !plan.getPartitionsOverride()) {
-                BATCH_KERNEL.restartGeneratedJob(workUnit);
-            } else {
-                BATCH_KERNEL.startGeneratedJob(workUnit);
+        if (isWorkStealing()) { // workers pull the partitions themselves
+            new WorkStealingPartitionScheduler(ServicesManager.service(BatchThreadPoolService.class), parallelBatchWorkUnits, threads).start();
+            numCurrentSubmitted = numTotalForThisExecution;
+        } else {
+            //Start up to to the max num we are allowed from the num threads attribute
+            for (int i = 0; i < this.threads && i < numTotalForThisExecution; i++, numCurrentSubmitted++) {
+                final BatchWorkUnit workUnit = parallelBatchWorkUnits.get(i);
+                if (stepStatus.getStartCount() > 1 && !plan.getPartitionsOverride()) {
+                    BATCH_KERNEL.restartGeneratedJob(workUnit);
+                } else {
+                    BATCH_KERNEL.startGeneratedJob(workUnit);
+                }
             }
         }
 
@@ -319,14 +411,14 @@ public class PartitionedStepController extends BaseStepController {
                         continue; // without being ready to submit another
                     } else if (PartitionEventType.ANALYZE_STATUS.equals(dataWrapper.getEventType())) {
                         analyzerProxy.analyzeStatus(dataWrapper.getBatchstatus(), dataWrapper.getExitStatus());
-                        completedWork.add(completedWorkQueue.take());  // Shouldn't be a a long wait.
+                        partitionCompleted(completedWorkQueue.take());  // Shouldn't be a a long wait.
                     } else {
                         throw new IllegalStateException("Invalid partition state");
                     }
                 } else {
                     // block until at least one thread has finished to
                     // submit more batch work. hold on to the finished work to look at later
-                    completedWork.add(completedWorkQueue.take());
+                    partitionCompleted(completedWorkQueue.take());
                 }
             } catch (final InterruptedException e) {
                 throw new BatchContainerRuntimeException(e);
@@ -347,6 +439,28 @@ public class PartitionedStepController extends BaseStepController {
         }
     }
 
+    private void partitionCompleted(final BatchPartitionWorkUnit workUnit) {
+        completedWork.add(workUnit);
+        if (!BatchLightPartitionWorkUnit.class.isInstance(workUnit)) {
+            return;
+        }
+
+        // no step execution for light partitions so report their metrics on the partitioned step
+        final BatchLightPartitionWorkUnit lightWorkUnit = BatchLightPartitionWorkUnit.class.cast(workUnit);
+        final StepContextImpl partitionContext = lightWorkUnit.getLightController().getStepContext();
+        if (partitionContext != null) {
+            for (final Metric metric : partitionContext.getMetrics()) {
+                final MetricImpl total = stepContext.getMetric(metric.getType());
+                if (total != null) {
+                    total.incValueBy(metric.getValue());
+                }
+            }
+        }
+        if (BatchStatus.COMPLETED.equals(workUnit.getJobExecutionImpl().getJobContext().getBatchStatus())) {
+            lightPartitions.markCompleted(lightWorkUnit.getPartition());
+        }
+    }
+
     private void checkCompletedWork() {
         /**
          * check the batch status of each subJob after it's done to see if we need to issue a rollback
@@ -355,7 +469,8 @@ public class PartitionedStepController extends BaseStepController {
         boolean rollback = false;
 
         for (final BatchWorkUnit subJob : completedWork) {
-            BatchStatus batchStatus = subJob.getJobExecutionImpl().getJobContext().getBatchStatus();
+            final JobContextImpl subJobContext = subJob.getJobExecutionImpl().getJobContext();
+            final BatchStatus batchStatus = subJobContext == null ? BatchStatus.FAILED /* partition couldn't be prepared */ : subJobContext.getBatchStatus();
             if (batchStatus.equals(BatchStatus.FAILED)) {
                 rollback = true;
 
@@ -440,6 +555,16 @@ public class PartitionedStepController extends BaseStepController {
         }
     }
 
+    @Override
+    protected void persistExitStatusAndEndTimestamp() {
+        super.persistExitStatusAndEndTimestamp();
+
+        // light partitions checkpoints are only needed to restart the step
+        if (lightPartitions != null && BatchStatus.COMPLETED.equals(stepStatus.getBatchStatus()) && lightPartitions.isCompleted()) {
+            lightPartitions.cleanUp();
+        }
+    }
+
     @Override
     protected void sendStatusFromPartitionToAnalyzerIfPresent() {
         // Since we're already on the main thread, there will never
@@ -117,17 +117,21 @@ public class SplitController implements ExecutionElementController {
             for (Flow flow : flows) {
                 subJobs.add(PartitionedStepBuilder.buildFlowInSplitSubJob(jobExecution.getExecutionId(), jobContext, this.split, flow));
             }
+            final List<FlowInSplitBuilderConfig> newFlows = new ArrayList<FlowInSplitBuilderConfig>(subJobs.size());
             for (JSLJob job : subJobs) {
                 int count = batchKernel.getJobInstanceCount(job.getId());
                 FlowInSplitBuilderConfig config = new FlowInSplitBuilderConfig(job, completedWorkQueue, rootJobExecutionId);
                 if (count == 0) {
-                    parallelBatchWorkUnits.add(batchKernel.buildNewFlowInSplitWorkUnit(config));
+                    newFlows.add(config);
                 } else if (count == 1) {
                     parallelBatchWorkUnits.add(batchKernel.buildOnRestartFlowInSplitWorkUnit(config));
                 } else {
                     throw new IllegalStateException("There is an inconsistency somewhere in the internal subjob creation");
                 }
             }
+            if (!newFlows.isEmpty()) { // created at once
+                parallelBatchWorkUnits.addAll(batchKernel.buildNewFlowInSplitWorkUnits(newFlows));
+            }
         }
     }
 
@@ -0,0 +1,118 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.batchee.container.impl.controller;
+
+import org.apache.batchee.container.util.BatchWorkUnit;
+import org.apache.batchee.spi.BatchThreadPoolService;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Runs partitions with a fixed number of workers (the partition plan threads) instead of submitting
+ * a new task to the thread pool each time a partition completes.
+ * <p/>
+ * Each worker gets its own deque filled once, before the workers start, with a contiguous block of the work units
+ * (neighbour slices of a range stay on the same worker). A worker takes its own units from the head of its deque;
+ * once it is empty it takes a unit from the tail of the deque which currently has the most units left and keeps
+ * doing so until all deques are empty. A worker doesn't go back to its own deque after a steal since nothing
+ * is ever added to the deques.
+ * <p/>
+ * The stealing granularity is a work unit: a single long partition still runs on a single thread,
+ * use org.apache.batchee.partition.slices with a SplittablePartitionPlan to get smaller units.
+ */
+public class WorkStealingPartitionScheduler {
+    private static final Logger LOGGER = Logger.getLogger(WorkStealingPartitionScheduler.class.getName());
+
+    public static final String SCHEDULER = "org.apache.batchee.partition.scheduler";
+    public static final String WORK_STEALING = "work-stealing";
+    public static final String SLICES = "org.apache.batchee.partition.slices";
+
+    private final BatchThreadPoolService executor;
+    private final List<BlockingDeque<BatchWorkUnit>> queues;
+
+    public WorkStealingPartitionScheduler(final BatchThreadPoolService executor, final List<? extends BatchWorkUnit> workUnits, final int workers) {
+        this.executor = executor;
+
+        final int size = workUnits.size();
+        final int count = Math.max(1, Math.min(workers, size));
+        this.queues = new ArrayList<BlockingDeque<BatchWorkUnit>>(count);
+        for (int i = 0; i < count; i++) {
+            queues.add(new LinkedBlockingDeque<BatchWorkUnit>());
+        }
+        for (int i = 0; i < size; i++) {
+            queues.get((int) ((long) i * count / size)).add(workUnits.get(i));
+        }
+    }
+
+    public void start() {
+        for (int i = 0; i < queues.size(); i++) {
+            executor.executeTask(new Worker(i), null);
+        }
+    }
+
+    private BatchWorkUnit next(final int worker) {
+        final BatchWorkUnit own = queues.get(worker).pollFirst();
+        if (own != null) {
+            return own;
+        }
+
+        while (true) { // queues only shrink so it ends
+            BlockingDeque<BatchWorkUnit> victim = null;
+            int max = 0;
+            for (final BlockingDeque<BatchWorkUnit> queue : queues) {
+                final int size = queue.size();
+                if (size > max) {
+                    max = size;
+                    victim = queue;
+                }
+            }
+            if (victim == null) {
+                return null;
+            }
+
+            final BatchWorkUnit stolen = victim.pollLast();
+            if (stolen != null) {
+                return stolen;
+            }
+        }
+    }
+
+    private class Worker implements Runnable {
+        private final int index;
+
+        private Worker(final int index) {
+            this.index = index;
+        }
+
+        @Override
+        public void run() {
+            BatchWorkUnit workUnit;
+            while ((workUnit = next(index)) != null) {
+                try {
+                    workUnit.run(); // completion is notified by the work unit itself
+                } catch (final RuntimeException e) { // keep the worker alive for other partitions
+                    LOGGER.log(Level.SEVERE, e.getMessage(), e);
+                }
+            }
+        }
+    }
+}
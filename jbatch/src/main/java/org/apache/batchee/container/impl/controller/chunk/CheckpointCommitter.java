@@ -0,0 +1,170 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.batchee.container.impl.controller.chunk;
+
+import org.apache.batchee.container.exception.BatchContainerServiceException;
+import org.apache.batchee.container.services.executor.BatcheeThreadFactory;
+import org.apache.batchee.spi.PersistenceManagerService;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Write-behind committer for the checkpoints of a single step.
+ *
+ * Checkpoints are persisted by a background thread. Consecutive checkpoints submitted while the
+ * previous one is still being written are coalesced (only the last reader/writer data is kept) and
+ * the step thread only waits when queueSize checkpoints are already pending or when it flushes.
+ */
+public class CheckpointCommitter implements Runnable {
+    private static final Logger LOGGER = Logger.getLogger(CheckpointCommitter.class.getName());
+
+    public static final String WRITE_BEHIND = "org.apache.batchee.checkpoint.write-behind";
+    public static final String QUEUE_SIZE = "org.apache.batchee.checkpoint.write-behind.queue-size";
+
+    private final PersistenceManagerService persistenceManagerService;
+    private final String stepId;
+    private final int queueSize;
+
+    private final Object lock = new Object();
+    private final Map<CheckpointDataKey, CheckpointData> pending = new LinkedHashMap<CheckpointDataKey, CheckpointData>(2);
+    private int pendingCount = 0;
+    private boolean inFlight = false;
+    private boolean closed = false;
+    private Throwable failure = null;
+
+    private final Thread worker;
+
+    public CheckpointCommitter(final PersistenceManagerService persistenceManagerService, final String stepId, final int queueSize) {
+        this.persistenceManagerService = persistenceManagerService;
+        this.stepId = stepId;
+        this.queueSize = Math.max(1, queueSize);
+
+        this.worker = BatcheeThreadFactory.INSTANCE.newThread(this);
+        this.worker.start();
+    }
+
+    public void submit(final Map<CheckpointDataKey, CheckpointData> checkpoints) {
+        synchronized (lock) {
+            checkFailure();
+            while (pendingCount >= queueSize && failure == null) {
+                await();
+            }
+            checkFailure();
+
+            pending.putAll(checkpoints); // same keys for a step so it coalesces with the previous ones
+            pendingCount++;
+            lock.notifyAll();
+        }
+    }
+
+    /**
+     * Blocks until all submitted checkpoints are persisted.
+     */
+    public void flush() {
+        synchronized (lock) {
+            while ((inFlight || !pending.isEmpty()) && failure == null) {
+                await();
+            }
+            checkFailure();
+        }
+    }
+
+    public void close() {
+        try {
+            flush();
+        } finally {
+            stop();
+        }
+    }
+
+    /**
+     * Stops the worker once already submitted checkpoints are persisted. Only committed chunks are submitted
+     * so they are kept even when the step failed or was stopped, a restart then resumes after them.
+     * Unlike close() a persistence failure is only logged.
+     */
+    public void stop() {
+        synchronized (lock) {
+            closed = true;
+            lock.notifyAll();
+        }
+        try {
+            worker.join();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public void run() {
+        while (true) {
+            final Map<CheckpointDataKey, CheckpointData> batch;
+            synchronized (lock) {
+                while (pending.isEmpty() && !closed) {
+                    try {
+                        lock.wait();
+                    } catch (final InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                }
+                if (pending.isEmpty()) { // closed
+                    return;
+                }
+
+                batch = new LinkedHashMap<CheckpointDataKey, CheckpointData>(pending);
+                pending.clear();
+                pendingCount = 0;
+                inFlight = true;
+                lock.notifyAll();
+            }
+
+            try {
+                CheckpointManager.store(persistenceManagerService, batch);
+            } catch (final Throwable t) {
+                LOGGER.log(Level.SEVERE, "Cannot persist the checkpoint data for [" + stepId + "]", t);
+                synchronized (lock) {
+                    if (failure == null) {
+                        failure = t;
+                    }
+                }
+            } finally {
+                synchronized (lock) {
+                    inFlight = false;
+                    lock.notifyAll();
+                }
+            }
+        }
+    }
+
+    private void await() {
+        try {
+            lock.wait();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BatchContainerServiceException("Interrupted while waiting for checkpoint data of [" + stepId + "]", e);
+        }
+    }
+
+    private void checkFailure() {
+        if (failure != null) {
+            throw new BatchContainerServiceException("Cannot persist the checkpoint data for [" + stepId + "]", failure);
+        }
+    }
+}
@@ -20,12 +20,17 @@ import org.apache.batchee.container.exception.BatchContainerRuntimeException;
 import org.apache.batchee.container.exception.BatchContainerServiceException;
 import org.apache.batchee.container.proxy.ItemReaderProxy;
 import org.apache.batchee.container.proxy.ItemWriterProxy;
+import org.apache.batchee.spi.BulkCheckpointPersistence;
 import org.apache.batchee.spi.PersistenceManagerService;
 import org.apache.batchee.container.services.ServicesManager;
 
 import javax.batch.api.chunk.CheckpointAlgorithm;
 import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 public class CheckpointManager {
     private final PersistenceManagerService persistenceManagerService;
@@ -34,11 +39,21 @@ public class CheckpointManager {
     private final CheckpointAlgorithm checkpointAlgorithm;
     private final String stepId;
     private final long jobInstanceID;
+    private final CheckpointCommitter committer;
+    private Map<CheckpointDataKey, CheckpointData> uncommitted = null;
 
 
     public CheckpointManager(final ItemReaderProxy reader, final ItemWriterProxy writer,
                              final CheckpointAlgorithm chkptAlg,
                              final long jobInstanceID, final String stepId) {
+        this(reader, writer, chkptAlg, jobInstanceID, stepId, null);
+    }
+
+    public CheckpointManager(final ItemReaderProxy reader, final ItemWriterProxy writer,
+                             final CheckpointAlgorithm chkptAlg,
+                             final long jobInstanceID, final String stepId,
+                             final CheckpointCommitter committer) {
+        this.committer = committer;
         this.readerProxy = reader;
         this.writerProxy = writer;
         this.checkpointAlgorithm = chkptAlg;
@@ -56,36 +71,80 @@ public class CheckpointManager {
         }
     }
 
-    public void checkpoint() {
-        final ByteArrayOutputStream readerChkptBA = new ByteArrayOutputStream();
-        final ByteArrayOutputStream writerChkptBA = new ByteArrayOutputStream();
-        final ObjectOutputStream readerOOS, writerOOS;
-        final CheckpointDataKey readerChkptDK, writerChkptDK;
+    /**
+     * Snapshots the reader position when the reader moves on with the next chunk before the current one is checkpointed.
+     */
+    public CheckpointData readerCheckpoint() {
         try {
-            readerOOS = new ObjectOutputStream(readerChkptBA);
-            readerOOS.writeObject(readerProxy.checkpointInfo());
-            readerOOS.close();
-            CheckpointData readerChkptData = new CheckpointData(jobInstanceID, stepId, CheckpointType.READER);
-            readerChkptData.setRestartToken(readerChkptBA.toByteArray());
-            readerChkptDK = new CheckpointDataKey(jobInstanceID, stepId, CheckpointType.READER);
-
-            persistenceManagerService.setCheckpointData(readerChkptDK, readerChkptData);
+            return newCheckpointData(CheckpointType.READER, readerProxy.checkpointInfo());
+        } catch (final Exception ex) {
+            throw new BatchContainerServiceException("Cannot get the reader checkpoint data for [" + stepId + "]", ex);
+        }
+    }
 
-            writerOOS = new ObjectOutputStream(writerChkptBA);
-            writerOOS.writeObject(writerProxy.checkpointInfo());
-            writerOOS.close();
-            CheckpointData writerChkptData = new CheckpointData(jobInstanceID, stepId, CheckpointType.WRITER);
-            writerChkptData.setRestartToken(writerChkptBA.toByteArray());
-            writerChkptDK = new CheckpointDataKey(jobInstanceID, stepId, CheckpointType.WRITER);
+    public void checkpoint() {
+        checkpoint(null);
+    }
 
-            persistenceManagerService.setCheckpointData(writerChkptDK, writerChkptData);
+    /**
+     * With a write-behind committer the checkpoint data are only snapshotted here,
+     * they are handed to the committer by committed() once the chunk transaction succeeded.
+     *
+     * @param readerCheckpoint the reader checkpoint to persist, null to use the current reader position.
+     */
+    public void checkpoint(final CheckpointData readerCheckpoint) {
+        final Map<CheckpointDataKey, CheckpointData> checkpoints = new LinkedHashMap<CheckpointDataKey, CheckpointData>(2);
+        try {
+            checkpoints.put(new CheckpointDataKey(jobInstanceID, stepId, CheckpointType.READER),
+                readerCheckpoint != null ? readerCheckpoint : newCheckpointData(CheckpointType.READER, readerProxy.checkpointInfo()));
+            checkpoints.put(new CheckpointDataKey(jobInstanceID, stepId, CheckpointType.WRITER), newCheckpointData(CheckpointType.WRITER, writerProxy.checkpointInfo()));
 
+            if (committer != null) { // write-behind, serialization is done on the step thread to keep current state
+                uncommitted = checkpoints;
+            } else {
+                store(persistenceManagerService, checkpoints);
+            }
+        } catch (final BatchContainerServiceException bcse) {
+            throw bcse;
         } catch (final Exception ex) {
             // is this what I should be throwing here?
             throw new BatchContainerServiceException("Cannot persist the checkpoint data for [" + stepId + "]", ex);
         }
     }
 
+    /**
+     * Called after the chunk transaction commit, submits the last checkpoint to the write-behind committer if any.
+     */
+    public void committed() {
+        if (committer != null && uncommitted != null) {
+            final Map<CheckpointDataKey, CheckpointData> checkpoints = uncommitted;
+            uncommitted = null;
+            committer.submit(checkpoints);
+        }
+    }
+
+    static void store(final PersistenceManagerService persistenceManagerService, final Map<CheckpointDataKey, CheckpointData> checkpoints) {
+        final BulkCheckpointPersistence bulk = ServicesManager.extension(persistenceManagerService, BulkCheckpointPersistence.class);
+        if (bulk != null) { // all at once to save round trips
+            bulk.setCheckpointData(checkpoints);
+        } else {
+            for (final Map.Entry<CheckpointDataKey, CheckpointData> checkpoint : checkpoints.entrySet()) {
+                persistenceManagerService.setCheckpointData(checkpoint.getKey(), checkpoint.getValue());
+            }
+        }
+    }
+
+    private CheckpointData newCheckpointData(final CheckpointType type, final Serializable checkpointInfo) throws IOException {
+        final ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        final ObjectOutputStream oos = new ObjectOutputStream(baos);
+        oos.writeObject(checkpointInfo);
+        oos.close();
+
+        final CheckpointData checkpointData = new CheckpointData(jobInstanceID, stepId, type);
+        checkpointData.setRestartToken(baos.toByteArray());
+        return checkpointData;
+    }
+
     public int checkpointTimeout() {
         try {
             return this.checkpointAlgorithm.checkpointTimeout();
@@ -39,6 +39,7 @@ import org.apache.batchee.container.proxy.SkipProcessListenerProxy;
 import org.apache.batchee.container.proxy.SkipReadListenerProxy;
 import org.apache.batchee.container.proxy.SkipWriteListenerProxy;
 import org.apache.batchee.container.services.ServicesManager;
+import org.apache.batchee.container.services.executor.BatcheeThreadFactory;
 import org.apache.batchee.container.util.PartitionDataWrapper;
 import org.apache.batchee.container.util.TCCLObjectInputStream;
 import org.apache.batchee.jaxb.Chunk;
@@ -48,6 +49,7 @@ import org.apache.batchee.jaxb.ItemWriter;
 import org.apache.batchee.jaxb.Property;
 import org.apache.batchee.jaxb.Step;
 import org.apache.batchee.spi.PersistenceManagerService;
+import org.apache.batchee.spi.StepThreadListener;
 
 import javax.batch.api.chunk.CheckpointAlgorithm;
 import javax.batch.runtime.BatchStatus;
@@ -56,10 +58,18 @@ import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 public class ChunkStepController extends SingleThreadedStepController {
+    public static final String PROCESSOR_THREADS = "org.apache.batchee.chunk.processor.threads";
+    public static final String PIPELINED = "org.apache.batchee.chunk.pipelined";
 
     private final static String sourceClass = ChunkStepController.class.getName();
     private final static Logger logger = Logger.getLogger(sourceClass);
@@ -73,13 +83,19 @@ public class ChunkStepController extends SingleThreadedStepController {
     private CheckpointAlgorithmProxy checkpointProxy = null;
     private CheckpointAlgorithm chkptAlg = null;
     private CheckpointManager checkpointManager;
+    private CheckpointCommitter checkpointCommitter = null;
     private SkipHandler skipHandler = null;
     private CheckpointDataKey readerChkptDK, writerChkptDK = null;
     private List<ChunkListenerProxy> chunkListeners = null;
     private List<ItemReadListenerProxy> itemReadListeners = null;
     private List<ItemProcessListenerProxy> itemProcessListeners = null;
     private List<ItemWriteListenerProxy> itemWriteListeners = null;
+    private List<StepThreadListener> stepThreadListeners = null;
     private RetryHandler retryHandler;
+    private ExecutorService processorExecutor = null;
+    private ExecutorService pipelineExecutor = null;
+    private Future<PrefetchedItems> prefetching = null;
+    private PrefetchedItems prefetched = null;
 
     private boolean rollbackRetry = false;
 
@@ -193,8 +209,8 @@ public class ChunkStepController extends SingleThreadedStepController {
             theStatus.setCheckPointed(checkpointManager.applyCheckPointPolicy());
 
             // This will force the current item to finish processing on a stop
-            // request
-            if (stepContext.getBatchStatus().equals(BatchStatus.STOPPING)) {
+            // request, items read ahead are part of the chunk so they are processed too
+            if (stepContext.getBatchStatus().equals(BatchStatus.STOPPING) && !hasPrefetchedItems()) {
                 theStatus.setFinished(true);
             }
 
@@ -217,6 +233,290 @@ public class ChunkStepController extends SingleThreadedStepController {
         return chunkToWrite;
     }
 
+    /**
+     * Same as readAndProcess() but items are processed by the processor threads while the step thread keeps reading.
+     * Items are read by waves of what can still fit in the chunk, results are handled in the read order so
+     * skip/retry decisions, retried process calls, listeners, metrics and chunk boundaries are the same as in serial mode.
+     * Only ItemProcessor#processItem() is called from the processor threads: beforeProcess is called by the step thread
+     * before submitting the item, afterProcess/onProcessError when its result is consumed.
+     */
+    private List<Object> readAndProcessConcurrently(final int chunkSize, final ItemStatus theStatus) {
+        final List<Object> chunkToWrite = new ArrayList<Object>();
+        final boolean custom = "custom".equals(checkpointProxy.getCheckpointType());
+
+        final List<Object> itemsRead = new ArrayList<Object>(chunkSize);
+        final List<ItemStatus> statuses = new ArrayList<ItemStatus>(chunkSize);
+        final List<Future<ProcessedItem>> results = new ArrayList<Future<ProcessedItem>>(chunkSize);
+        try {
+            while (true) {
+                final int wave = custom ? chunkSize : chunkSize - chunkToWrite.size();
+                while (results.size() < wave) {
+                    final ItemStatus status = new ItemStatus();
+                    final Object itemRead = readItem(status);
+
+                    if (status.isRollback()) {
+                        theStatus.setRollback(true);
+                        // inc rollbackCount
+                        stepContext.getMetric(MetricImpl.MetricType.ROLLBACK_COUNT).incValue();
+                        return chunkToWrite;
+                    }
+
+                    if (!status.isSkipped() && !status.isFinished()) {
+                        itemsRead.add(itemRead);
+                        statuses.add(status);
+                        results.add(submitProcessing(itemRead));
+                    }
+
+                    theStatus.setFinished(status.isFinished());
+                    theStatus.setCheckPointed(checkpointManager.applyCheckPointPolicy());
+
+                    // This will force the current item to finish processing on a stop
+                    // request, items read ahead are part of the chunk so they are processed too
+                    if (stepContext.getBatchStatus().equals(BatchStatus.STOPPING) && !hasPrefetchedItems()) {
+                        theStatus.setFinished(true);
+                    }
+                    if (theStatus.isCheckPointed() || theStatus.isFinished()) {
+                        break;
+                    }
+                }
+
+                for (int i = 0; i < results.size(); i++) {
+                    final ItemStatus status = statuses.get(i);
+                    final ProcessedItem result = results.get(i).get();
+
+                    Object itemProcessed;
+                    if (result.error != null) {
+                        itemProcessed = onProcessItemError(itemsRead.get(i), result.error, status);
+                    } else {
+                        try {
+                            afterProcessing(itemsRead.get(i), result.item, status);
+                            itemProcessed = result.item;
+                        } catch (final Exception e) {
+                            itemProcessed = onProcessItemError(itemsRead.get(i), e, status);
+                        }
+                    }
+
+                    if (status.isRollback()) {
+                        theStatus.setRollback(true);
+                        // inc rollbackCount
+                        stepContext.getMetric(MetricImpl.MetricType.ROLLBACK_COUNT).incValue();
+                        return chunkToWrite;
+                    }
+
+                    if (!status.isSkipped() && !status.isFiltered()) {
+                        chunkToWrite.add(itemProcessed);
+                    }
+                }
+                itemsRead.clear();
+                statuses.clear();
+                results.clear();
+
+                // write buffer size reached, checkpoint reached or last record in readerProxy reached
+                if ((chunkToWrite.size() == chunkSize && !custom) || theStatus.isCheckPointed() || theStatus.isFinished()) {
+                    return chunkToWrite;
+                }
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BatchContainerRuntimeException(e);
+        } catch (final ExecutionException e) {
+            throw new BatchContainerRuntimeException(e.getCause());
+        } finally {
+            awaitProcessing(results); // don't let processor threads run while we rollback/write
+        }
+    }
+
+    private List<Object> readAndProcessChunk(final int chunkSize, final ItemStatus status) {
+        if (processorExecutor != null && !rollbackRetry) {
+            return readAndProcessConcurrently(chunkSize, status);
+        }
+        // after a rollback items are processed one by one anyway
+        return readAndProcess(chunkSize, status);
+    }
+
+    /**
+     * @return the next item of the reader, read ahead by the pipeline thread while the previous chunk was written if any.
+     */
+    private Object nextItem() throws Exception {
+        if (prefetching != null) {
+            try {
+                prefetched = prefetching.get();
+            } finally {
+                prefetching = null;
+            }
+        }
+        if (prefetched != null) {
+            if (prefetched.hasNext()) {
+                return prefetched.next();
+            }
+            prefetched = null;
+        }
+        return readerProxy.readItem();
+    }
+
+    private boolean hasPrefetchedItems() {
+        return prefetching != null || (prefetched != null && prefetched.hasNext());
+    }
+
+    // on rollback or failure, wait for the reader to be idle before repositioning or closing it
+    private void discardPrefetchedItems() {
+        final Future<PrefetchedItems> pending = prefetching;
+        prefetching = null;
+        prefetched = null;
+        if (pending != null) {
+            try {
+                pending.get();
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (final ExecutionException e) {
+                // no-op: the chunk is read again from the last checkpoint or the step fails anyway
+            }
+        }
+    }
+
+    private static class PrefetchedItems {
+        private final List<Object> items = new ArrayList<Object>();
+        private Exception error;
+        private int index = 0;
+
+        private boolean hasNext() {
+            return index < items.size() || error != null;
+        }
+
+        // a read failure is replayed after the items read before it
+        private Object next() throws Exception {
+            if (index < items.size()) {
+                return items.get(index++);
+            }
+            final Exception e = error;
+            error = null;
+            throw e;
+        }
+    }
+
+    /**
+     * Only calls the reader: listeners, skip/retry, metrics and the checkpoint policy
+     * are handled by readItem() on the step thread when the items are consumed.
+     */
+    private class PrefetchTask extends StepThreadTask<PrefetchedItems> {
+        private final int count;
+
+        public PrefetchTask(final int count) {
+            this.count = count;
+        }
+
+        @Override
+        protected PrefetchedItems doCall() {
+            final PrefetchedItems result = new PrefetchedItems();
+            try {
+                while (result.items.size() < count) {
+                    final Object item = readerProxy.readItem();
+                    result.items.add(item);
+                    if (item == null) { // end of the reader
+                        break;
+                    }
+                }
+            } catch (final Exception e) {
+                result.error = e;
+            }
+            return result;
+        }
+    }
+
+    private static void awaitProcessing(final List<Future<ProcessedItem>> results) {
+        for (final Future<ProcessedItem> result : results) {
+            try {
+                result.get();
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (final ExecutionException e) {
+                // no-op: already handled or ignored since the chunk is rolled back
+            }
+        }
+    }
+
+    private static class ProcessedItem {
+        private Object item;
+        private Exception error;
+    }
+
+    /**
+     * Work of the step run by another thread: it gets the context classloader of the thread creating the task
+     * and StepThreadListener(s) are called around it to propagate thread bound state (CDI scopes for instance).
+     */
+    private abstract class StepThreadTask<T> implements Callable<T> {
+        private final Thread owner = Thread.currentThread();
+        private final ClassLoader loader = owner.getContextClassLoader();
+
+        @Override
+        public T call() {
+            final Thread thread = Thread.currentThread();
+            if (thread == owner) {
+                return doCall();
+            }
+
+            final ClassLoader old = thread.getContextClassLoader();
+            thread.setContextClassLoader(loader);
+            int entered = 0;
+            try {
+                for (final StepThreadListener listener : stepThreadListeners) {
+                    listener.enterThread();
+                    entered++;
+                }
+                return doCall();
+            } finally {
+                for (int i = entered - 1; i >= 0; i--) {
+                    try {
+                        stepThreadListeners.get(i).exitThread();
+                    } catch (final RuntimeException e) { // don't hide the task result or the other listeners
+                        logger.log(Level.SEVERE, e.getMessage(), e);
+                    }
+                }
+                thread.setContextClassLoader(old);
+            }
+        }
+
+        protected abstract T doCall();
+    }
+
+    // beforeProcess is called by the step thread, a failure is handled as a processing one when the result is consumed
+    private Future<ProcessedItem> submitProcessing(final Object itemRead) {
+        try {
+            beforeProcessing(itemRead);
+        } catch (final Exception e) {
+            final FutureTask<ProcessedItem> failed = new FutureTask<ProcessedItem>(new ProcessItemTask(itemRead, e));
+            failed.run();
+            return failed;
+        }
+        return processorExecutor.submit(new ProcessItemTask(itemRead, null));
+    }
+
+    private class ProcessItemTask extends StepThreadTask<ProcessedItem> {
+        private final Object itemRead;
+        private final Exception beforeError;
+
+        public ProcessItemTask(final Object itemRead, final Exception beforeError) {
+            this.itemRead = itemRead;
+            this.beforeError = beforeError;
+        }
+
+        @Override
+        protected ProcessedItem doCall() {
+            final ProcessedItem result = new ProcessedItem();
+            if (beforeError != null) {
+                result.error = beforeError;
+                return result;
+            }
+            try {
+                result.item = processorProxy.processItem(itemRead);
+            } catch (final Exception e) { // skip/retry is handled by the step thread
+                result.error = e;
+            }
+            return result;
+        }
+    }
+
     /**
      * Reads an item from the reader
      *
@@ -232,7 +532,7 @@ public class ChunkStepController extends SingleThreadedStepController {
                 readListenerProxy.beforeRead();
             }
 
-            itemRead = readerProxy.readItem();
+            itemRead = nextItem();
 
             for (ItemReadListenerProxy readListenerProxy : itemReadListeners) {
                 readListenerProxy.afterRead(itemRead);
@@ -304,99 +604,112 @@ public class ChunkStepController extends SingleThreadedStepController {
      * @return the processed item
      */
     private Object processItem(final Object itemRead, final ItemStatus status) {
-        Object processedItem = null;
-
         // if no processor defined for this chunk
         if (processorProxy == null) {
             return itemRead;
         }
 
         try {
+            return doProcessItem(itemRead, status);
+        } catch (final Exception e) {
+            return onProcessItemError(itemRead, e, status);
+        } catch (final Throwable e) {
+            throw new BatchContainerRuntimeException(e);
+        }
+    }
 
-            // call process listeners before and after the actual process call
-            for (final ItemProcessListenerProxy processListenerProxy : itemProcessListeners) {
-                processListenerProxy.beforeProcess(itemRead);
-            }
+    private Object doProcessItem(final Object itemRead, final ItemStatus status) throws Exception {
+        // call process listeners before and after the actual process call
+        beforeProcessing(itemRead);
+        final Object processedItem = processorProxy.processItem(itemRead);
+        afterProcessing(itemRead, processedItem, status);
+        return processedItem;
+    }
 
-            processedItem = processorProxy.processItem(itemRead);
+    private void beforeProcessing(final Object itemRead) throws Exception {
+        for (final ItemProcessListenerProxy processListenerProxy : itemProcessListeners) {
+            processListenerProxy.beforeProcess(itemRead);
+        }
+    }
 
-            if (processedItem == null) {
-                // inc filterCount
-                stepContext.getMetric(MetricImpl.MetricType.FILTER_COUNT).incValue();
-                status.setFiltered(true);
-            }
+    private void afterProcessing(final Object itemRead, final Object processedItem, final ItemStatus status) throws Exception {
+        if (processedItem == null) {
+            // inc filterCount
+            stepContext.getMetric(MetricImpl.MetricType.FILTER_COUNT).incValue();
+            status.setFiltered(true);
+        }
 
-            for (final ItemProcessListenerProxy processListenerProxy : itemProcessListeners) {
-                processListenerProxy.afterProcess(itemRead, processedItem);
-            }
-        } catch (final Exception e) {
-            for (final ItemProcessListenerProxy processListenerProxy : itemProcessListeners) {
-                processListenerProxy.onProcessError(processedItem, e);
-            }
-            if (!rollbackRetry) {
-                if (retryProcessException(e, itemRead)) {
-                    if (!retryHandler.isRollbackException(e)) {
-                        // call process listeners before and after the actual
-                        // process call
-                        for (ItemProcessListenerProxy processListenerProxy : itemProcessListeners) {
-                            processListenerProxy.beforeProcess(itemRead);
-                        }
-                        processedItem = processItem(itemRead, status);
-                        if (processedItem == null) {
-                            // inc filterCount
-                            stepContext.getMetric(MetricImpl.MetricType.FILTER_COUNT).incValue();
-                            status.setFiltered(true);
-                        }
+        for (final ItemProcessListenerProxy processListenerProxy : itemProcessListeners) {
+            processListenerProxy.afterProcess(itemRead, processedItem);
+        }
+    }
 
-                        for (final ItemProcessListenerProxy processListenerProxy : itemProcessListeners) {
-                            processListenerProxy.afterProcess(itemRead, processedItem);
-                        }
-                    } else {
-                        status.setRollback(true);
-                        rollbackRetry = true;
-                        // inc rollbackCount
-                        stepContext.getMetric(MetricImpl.MetricType.ROLLBACK_COUNT).incValue();
+    // skip/retry handling of a processing failure, always called from the step thread
+    private Object onProcessItemError(final Object itemRead, final Exception e, final ItemStatus status) {
+        Object processedItem = null;
+        for (final ItemProcessListenerProxy processListenerProxy : itemProcessListeners) {
+            processListenerProxy.onProcessError(processedItem, e);
+        }
+        if (!rollbackRetry) {
+            if (retryProcessException(e, itemRead)) {
+                if (!retryHandler.isRollbackException(e)) {
+                    // call process listeners before and after the actual
+                    // process call
+                    for (ItemProcessListenerProxy processListenerProxy : itemProcessListeners) {
+                        processListenerProxy.beforeProcess(itemRead);
+                    }
+                    processedItem = processItem(itemRead, status);
+                    if (processedItem == null) {
+                        // inc filterCount
+                        stepContext.getMetric(MetricImpl.MetricType.FILTER_COUNT).incValue();
+                        status.setFiltered(true);
+                    }
+
+                    for (final ItemProcessListenerProxy processListenerProxy : itemProcessListeners) {
+                        processListenerProxy.afterProcess(itemRead, processedItem);
                     }
-                } else if (skipProcessException(e, itemRead)) {
-                    status.setSkipped(true);
-                    stepContext.getMetric(MetricImpl.MetricType.PROCESS_SKIP_COUNT).incValue();
                 } else {
-                    throw new BatchContainerRuntimeException(e);
+                    status.setRollback(true);
+                    rollbackRetry = true;
+                    // inc rollbackCount
+                    stepContext.getMetric(MetricImpl.MetricType.ROLLBACK_COUNT).incValue();
                 }
+            } else if (skipProcessException(e, itemRead)) {
+                status.setSkipped(true);
+                stepContext.getMetric(MetricImpl.MetricType.PROCESS_SKIP_COUNT).incValue();
             } else {
-                if (skipProcessException(e, itemRead)) {
-                    status.setSkipped(true);
-                    stepContext.getMetric(MetricImpl.MetricType.PROCESS_SKIP_COUNT).incValue();
-                } else if (retryProcessException(e, itemRead)) {
-                    if (!retryHandler.isRollbackException(e)) {
-                        // call process listeners before and after the actual
-                        // process call
-                        for (final ItemProcessListenerProxy processListenerProxy : itemProcessListeners) {
-                            processListenerProxy.beforeProcess(itemRead);
-                        }
-                        processedItem = processItem(itemRead, status);
-                        if (processedItem == null) {
-                            // inc filterCount
-                            stepContext.getMetric(MetricImpl.MetricType.FILTER_COUNT).incValue();
-                            status.setFiltered(true);
-                        }
+                throw new BatchContainerRuntimeException(e);
+            }
+        } else {
+            if (skipProcessException(e, itemRead)) {
+                status.setSkipped(true);
+                stepContext.getMetric(MetricImpl.MetricType.PROCESS_SKIP_COUNT).incValue();
+            } else if (retryProcessException(e, itemRead)) {
+                if (!retryHandler.isRollbackException(e)) {
+                    // call process listeners before and after the actual
+                    // process call
+                    for (final ItemProcessListenerProxy processListenerProxy : itemProcessListeners) {
+                        processListenerProxy.beforeProcess(itemRead);
+                    }
+                    processedItem = processItem(itemRead, status);
+                    if (processedItem == null) {
+                        // inc filterCount
+                        stepContext.getMetric(MetricImpl.MetricType.FILTER_COUNT).incValue();
+                        status.setFiltered(true);
+                    }
 
-                        for (final ItemProcessListenerProxy processListenerProxy : itemProcessListeners) {
-                            processListenerProxy.afterProcess(itemRead, processedItem);
-                        }
-                    } else {
-                        status.setRollback(true);
-                        rollbackRetry = true;
-                        // inc rollbackCount
-                        stepContext.getMetric(MetricImpl.MetricType.ROLLBACK_COUNT).incValue();
+                    for (final ItemProcessListenerProxy processListenerProxy : itemProcessListeners) {
+                        processListenerProxy.afterProcess(itemRead, processedItem);
                     }
                 } else {
-                    throw new BatchContainerRuntimeException(e);
+                    status.setRollback(true);
+                    rollbackRetry = true;
+                    // inc rollbackCount
+                    stepContext.getMetric(MetricImpl.MetricType.ROLLBACK_COUNT).incValue();
                 }
+            } else {
+                throw new BatchContainerRuntimeException(e);
             }
-
-        } catch (final Throwable e) {
-            throw new BatchContainerRuntimeException(e);
         }
 
         return processedItem;
@@ -494,11 +807,14 @@ public class ChunkStepController extends SingleThreadedStepController {
                     }
 
                     if (rollback) {
+                        if (checkpointCommitter != null) { // reposition on the last persisted checkpoint
+                            checkpointCommitter.flush();
+                        }
                         positionReaderAtCheckpoint();
                         positionWriterAtCheckpoint();
                         checkpointManager = new CheckpointManager(readerProxy, writerProxy,
                             getCheckpointAlgorithm(itemCount, timeInterval), jobExecutionImpl
-                            .getJobInstance().getInstanceId(), step.getId());
+                            .getJobInstance().getInstanceId(), checkpointName(), checkpointCommitter);
                     }
                 }
 
@@ -508,12 +824,22 @@ public class ChunkStepController extends SingleThreadedStepController {
                     rollback = false;
                 }
 
-                final List<Object> chunkToWrite = readAndProcess(itemCount, status);
+                final List<Object> chunkToWrite = readAndProcessChunk(itemCount, status);
+
+                CheckpointData readerCheckpoint = null;
+                if (pipelineExecutor != null && !rollbackRetry && status.isCheckPointed() && !status.isFinished() && !status.isRollback()) {
+                    // the item policy makes the next chunk exactly itemCount reads so read them while this one is written and committed,
+                    // the reader position is captured before it moves on
+                    readerCheckpoint = checkpointManager.readerCheckpoint();
+                    prefetching = pipelineExecutor.submit(new PrefetchTask(itemCount));
+                }
 
                 if (status.isRollback()) {
                     itemCount = 1;
                     rollback = true;
 
+                    discardPrefetchedItems();
+
                     readerProxy.close();
                     writerProxy.close();
 
@@ -528,6 +854,8 @@ public class ChunkStepController extends SingleThreadedStepController {
                     itemCount = 1;
                     rollback = true;
 
+                    discardPrefetchedItems(); // rollbackRetry is now set so next chunks are read serially
+
                     readerProxy.close();
                     writerProxy.close();
 
@@ -545,7 +873,7 @@ public class ChunkStepController extends SingleThreadedStepController {
                     // 2.- ask Andy about retry
                     // 3.- when do we stop?
 
-                    checkpointManager.checkpoint();
+                    checkpointManager.checkpoint(readerCheckpoint);
 
                     for (ChunkListenerProxy chunkProxy : chunkListeners) {
                         chunkProxy.afterChunk();
@@ -557,6 +885,11 @@ public class ChunkStepController extends SingleThreadedStepController {
 
                     transactionManager.commit();
 
+                    checkpointManager.committed(); // write-behind only persists checkpoints of committed chunks
+                    if (checkpointCommitter != null && status.isFinished()) { // last commit, ensure the step is restartable
+                        checkpointCommitter.flush();
+                    }
+
                     this.chkptAlg.endCheckpoint();
 
                     invokeCollectorIfPresent();
@@ -596,6 +929,7 @@ public class ChunkStepController extends SingleThreadedStepController {
             logger.log(Level.SEVERE, t.getMessage(), t);
         } finally {
             if (caughtThrowable != null) {
+                discardPrefetchedItems();
                 transactionManager.setRollbackOnly();
                 readerProxy.close();
                 writerProxy.close();
@@ -611,7 +945,19 @@ public class ChunkStepController extends SingleThreadedStepController {
 
         initializeChunkArtifacts();
 
-        invokeChunk();
+        try {
+            invokeChunk();
+        } finally {
+            if (checkpointCommitter != null) {
+                checkpointCommitter.stop();
+            }
+            if (processorExecutor != null) {
+                processorExecutor.shutdownNow();
+            }
+            if (pipelineExecutor != null) {
+                pipelineExecutor.shutdownNow();
+            }
+        }
     }
 
     private CheckpointAlgorithm getCheckpointAlgorithm(final int itemCount, final int timeInterval) {
@@ -675,6 +1021,7 @@ public class ChunkStepController extends SingleThreadedStepController {
             this.itemReadListeners = jobExecutionImpl.getListenerFactory().getItemReadListeners(step, injectionRef, stepContext, jobExecutionImpl);
             this.itemProcessListeners = jobExecutionImpl.getListenerFactory().getItemProcessListeners(step, injectionRef, stepContext, jobExecutionImpl);
             this.itemWriteListeners = jobExecutionImpl.getListenerFactory().getItemWriteListeners(step, injectionRef, stepContext, jobExecutionImpl);
+            this.stepThreadListeners = jobExecutionImpl.getListenerFactory().getStepThreadListeners(step, injectionRef, jobExecutionImpl);
             final List<SkipProcessListenerProxy> skipProcessListeners = jobExecutionImpl.getListenerFactory().getSkipProcessListeners(step, injectionRef, stepContext, jobExecutionImpl);
             final List<SkipReadListenerProxy> skipReadListeners = jobExecutionImpl.getListenerFactory().getSkipReadListeners(step, injectionRef, stepContext, jobExecutionImpl);
             final List<SkipWriteListenerProxy> skipWriteListeners = jobExecutionImpl.getListenerFactory().getSkipWriteListeners(step, injectionRef, stepContext, jobExecutionImpl);
@@ -689,7 +1036,28 @@ public class ChunkStepController extends SingleThreadedStepController {
                 chkptAlg = checkpointProxy;
             }
 
-            checkpointManager = new CheckpointManager(readerProxy, writerProxy, chkptAlg, jobExecutionImpl.getJobInstance().getInstanceId(), step.getId());
+            final String writeBehind = stepContext.getProperties().getProperty(CheckpointCommitter.WRITE_BEHIND, ServicesManager.value(CheckpointCommitter.WRITE_BEHIND, "false"));
+            if ("true".equalsIgnoreCase(writeBehind)) {
+                final String queueSize = stepContext.getProperties().getProperty(CheckpointCommitter.QUEUE_SIZE, ServicesManager.value(CheckpointCommitter.QUEUE_SIZE, "1"));
+                checkpointCommitter = new CheckpointCommitter(persistenceManagerService, checkpointName(), Integer.parseInt(queueSize));
+            }
+
+            checkpointManager = new CheckpointManager(readerProxy, writerProxy, chkptAlg, jobExecutionImpl.getJobInstance().getInstanceId(), checkpointName(), checkpointCommitter);
+
+            final int processorThreads = Integer.parseInt(stepContext.getProperties().getProperty(PROCESSOR_THREADS, ServicesManager.value(PROCESSOR_THREADS, "1")));
+            if (processorThreads > 1 && processorProxy != null) {
+                processorExecutor = Executors.newFixedThreadPool(processorThreads, BatcheeThreadFactory.INSTANCE);
+            }
+
+            // chunk boundaries need to be known before reading: item policy without time limit only
+            final String pipelined = stepContext.getProperties().getProperty(PIPELINED, ServicesManager.value(PIPELINED, "false"));
+            if ("true".equalsIgnoreCase(pipelined)) {
+                if ("item".equals(checkpointProxy.getCheckpointType()) && timeInterval == 0) {
+                    pipelineExecutor = Executors.newSingleThreadExecutor(BatcheeThreadFactory.INSTANCE);
+                } else {
+                    logger.warning(PIPELINED + " ignored for step " + step.getId() + ", it needs the item checkpoint policy without time-limit");
+                }
+            }
 
             skipHandler = new SkipHandler(chunk);
             skipHandler.addSkipProcessListener(skipProcessListeners);
@@ -705,7 +1073,7 @@ public class ChunkStepController extends SingleThreadedStepController {
     }
 
     private void openReaderAndWriter() {
-        readerChkptDK = new CheckpointDataKey(jobExecutionImpl.getJobInstance().getInstanceId(), step.getId(), CheckpointType.READER);
+        readerChkptDK = new CheckpointDataKey(jobExecutionImpl.getJobInstance().getInstanceId(), checkpointName(), CheckpointType.READER);
         CheckpointData readerChkptData = persistenceManagerService.getCheckpointData(readerChkptDK);
         try {
 
@@ -731,7 +1099,7 @@ public class ChunkStepController extends SingleThreadedStepController {
             throw new IllegalStateException("Expected CheckpointData but found" + readerChkptData);
         }
 
-        writerChkptDK = new CheckpointDataKey(jobExecutionImpl.getJobInstance().getInstanceId(), step.getId(), CheckpointType.WRITER);
+        writerChkptDK = new CheckpointDataKey(jobExecutionImpl.getJobInstance().getInstanceId(), checkpointName(), CheckpointType.WRITER);
         CheckpointData writerChkptData = persistenceManagerService.getCheckpointData(writerChkptDK);
         try {
             // check for data in backing store
@@ -831,7 +1199,7 @@ public class ChunkStepController extends SingleThreadedStepController {
     }
 
     private void positionReaderAtCheckpoint() {
-        readerChkptDK = new CheckpointDataKey(jobExecutionImpl.getJobInstance().getInstanceId(), step.getId(), CheckpointType.READER);
+        readerChkptDK = new CheckpointDataKey(jobExecutionImpl.getJobInstance().getInstanceId(), checkpointName(), CheckpointType.READER);
 
         CheckpointData readerData = persistenceManagerService.getCheckpointData(readerChkptDK);
         try {
@@ -859,7 +1227,7 @@ public class ChunkStepController extends SingleThreadedStepController {
     }
 
     private void positionWriterAtCheckpoint() {
-        writerChkptDK = new CheckpointDataKey(jobExecutionImpl.getJobInstance().getInstanceId(), step.getId(), CheckpointType.WRITER);
+        writerChkptDK = new CheckpointDataKey(jobExecutionImpl.getJobInstance().getInstanceId(), checkpointName(), CheckpointType.WRITER);
 
         CheckpointData writerData = persistenceManagerService.getCheckpointData(writerChkptDK);
         try {
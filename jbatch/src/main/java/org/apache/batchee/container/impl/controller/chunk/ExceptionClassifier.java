@@ -0,0 +1,121 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.batchee.container.impl.controller.chunk;
+
+import org.apache.batchee.jaxb.ExceptionClassFilter;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Include/exclude exception class filter resolved once. Decisions are cached by exception class and
+ * classifiers are shared by all the running steps (and partitions) using the same filter in a classloader.
+ * An exception matches if it is an instance of an included class and not of an excluded one.
+ *
+ * Classifiers reference classes of their loader (the weak key of the cache) so they are weakly referenced,
+ * the skip/retry handlers of the steps keep them alive while they run.
+ */
+public class ExceptionClassifier {
+    private static final Map<ClassLoader, Map<String, WeakReference<ExceptionClassifier>>> CLASSIFIERS =
+        new WeakHashMap<ClassLoader, Map<String, WeakReference<ExceptionClassifier>>>();
+
+    private final Class<?>[] includes;
+    private final Class<?>[] excludes;
+    private final ConcurrentMap<Class<?>, Boolean> decisions = new ConcurrentHashMap<Class<?>, Boolean>();
+
+    private ExceptionClassifier(final ClassLoader loader, final Collection<String> includes, final Collection<String> excludes) {
+        this.includes = load(loader, includes);
+        this.excludes = load(loader, excludes);
+    }
+
+    public static ExceptionClassifier of(final ExceptionClassFilter filter) {
+        final Collection<String> includes = new TreeSet<String>();
+        final Collection<String> excludes = new TreeSet<String>();
+        if (filter != null) {
+            if (filter.getIncludeList() != null) {
+                for (final ExceptionClassFilter.Include include : filter.getIncludeList()) {
+                    includes.add(include.getClazz().trim());
+                }
+            }
+            if (filter.getExcludeList() != null) {
+                for (final ExceptionClassFilter.Exclude exclude : filter.getExcludeList()) {
+                    excludes.add(exclude.getClazz().trim());
+                }
+            }
+        }
+
+        final ClassLoader loader = Thread.currentThread().getContextClassLoader();
+        final String key = includes + "|" + excludes;
+        synchronized (CLASSIFIERS) {
+            Map<String, WeakReference<ExceptionClassifier>> classifiers = CLASSIFIERS.get(loader);
+            if (classifiers == null) {
+                classifiers = new HashMap<String, WeakReference<ExceptionClassifier>>();
+                CLASSIFIERS.put(loader, classifiers);
+            }
+
+            final WeakReference<ExceptionClassifier> ref = classifiers.get(key);
+            ExceptionClassifier classifier = ref != null ? ref.get() : null;
+            if (classifier == null) {
+                classifier = new ExceptionClassifier(loader, includes, excludes);
+                classifiers.put(key, new WeakReference<ExceptionClassifier>(classifier));
+            }
+            return classifier;
+        }
+    }
+
+    /**
+     * @return true if the exception is an instance of an included class and not of an excluded one.
+     */
+    public boolean matches(final Throwable e) {
+        final Class<?> type = e.getClass();
+        Boolean decision = decisions.get(type);
+        if (decision == null) {
+            decision = isAssignable(includes, type) && !isAssignable(excludes, type);
+            decisions.putIfAbsent(type, decision);
+        }
+        return decision;
+    }
+
+    private static boolean isAssignable(final Class<?>[] classes, final Class<?> type) {
+        for (final Class<?> clazz : classes) {
+            if (clazz.isAssignableFrom(type)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Class<?>[] load(final ClassLoader loader, final Collection<String> names) {
+        final List<Class<?>> classes = new ArrayList<Class<?>>(names.size());
+        for (final String name : names) {
+            try {
+                classes.add(loader.loadClass(name));
+            } catch (final ClassNotFoundException cnf) {
+                // no-op: can't match
+            }
+        }
+        return classes.toArray(new Class<?>[classes.size()]);
+    }
+}
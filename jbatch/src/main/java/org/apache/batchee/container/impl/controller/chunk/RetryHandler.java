@@ -21,21 +21,16 @@ import org.apache.batchee.container.proxy.RetryProcessListenerProxy;
 import org.apache.batchee.container.proxy.RetryReadListenerProxy;
 import org.apache.batchee.container.proxy.RetryWriteListenerProxy;
 import org.apache.batchee.jaxb.Chunk;
-import org.apache.batchee.jaxb.ExceptionClassFilter;
 
-import java.util.HashSet;
 import java.util.List;
-import java.util.Set;
 
 public class RetryHandler {
     private List<RetryProcessListenerProxy> _retryProcessListeners = null;
     private List<RetryReadListenerProxy> _retryReadListeners = null;
     private List<RetryWriteListenerProxy> _retryWriteListeners = null;
 
-    private Set<String> _retryNoRBIncludeExceptions = null;
-    private Set<String> _retryNoRBExcludeExceptions = null;
-    private Set<String> _retryIncludeExceptions = null;
-    private Set<String> _retryExcludeExceptions = null;
+    private ExceptionClassifier _retryNoRBExceptions = null;
+    private ExceptionClassifier _retryableExceptions = null;
     private int _retryLimit = Integer.MIN_VALUE;
     private long _retryCount = 0;
     private Exception _retryException = null;
@@ -54,40 +49,8 @@ public class RetryHandler {
         }
 
         // Read the include/exclude exceptions.
-        _retryIncludeExceptions = new HashSet<String>();
-        _retryExcludeExceptions = new HashSet<String>();
-        _retryNoRBIncludeExceptions = new HashSet<String>();
-        _retryNoRBExcludeExceptions = new HashSet<String>();
-
-        if (chunk.getRetryableExceptionClasses() != null) {
-            if (chunk.getRetryableExceptionClasses().getIncludeList() != null) {
-                final List<ExceptionClassFilter.Include> includes = chunk.getRetryableExceptionClasses().getIncludeList();
-                for (final ExceptionClassFilter.Include include : includes) {
-                    _retryIncludeExceptions.add(include.getClazz().trim());
-                }
-            }
-            if (chunk.getRetryableExceptionClasses().getExcludeList() != null) {
-                final List<ExceptionClassFilter.Exclude> excludes = chunk.getRetryableExceptionClasses().getExcludeList();
-                for (final ExceptionClassFilter.Exclude exclude : excludes) {
-                    _retryExcludeExceptions.add(exclude.getClazz().trim());
-                }
-            }
-        }
-
-        if (chunk.getNoRollbackExceptionClasses() != null) {
-            if (chunk.getNoRollbackExceptionClasses().getIncludeList() != null) {
-                final List<ExceptionClassFilter.Include> includes = chunk.getNoRollbackExceptionClasses().getIncludeList();
-                for (final ExceptionClassFilter.Include include : includes) {
-                    _retryNoRBIncludeExceptions.add(include.getClazz().trim());
-                }
-            }
-            if (chunk.getNoRollbackExceptionClasses().getExcludeList() != null) {
-                final List<ExceptionClassFilter.Exclude> excludes = chunk.getNoRollbackExceptionClasses().getExcludeList();
-                for (final ExceptionClassFilter.Exclude exclude : excludes) {
-                    _retryNoRBExcludeExceptions.add(exclude.getClazz().trim());
-                }
-            }
-        }
+        _retryableExceptions = ExceptionClassifier.of(chunk.getRetryableExceptionClasses());
+        _retryNoRBExceptions = ExceptionClassifier.of(chunk.getNoRollbackExceptionClasses());
     }
 
 
@@ -119,7 +82,7 @@ public class RetryHandler {
     /**
      * Handle exception from a read failure.
      */
-    public void handleExceptionRead(final Exception e) {
+    public synchronized void handleExceptionRead(final Exception e) {
         if (isRetryLimitReached() || !isRetryable(e)) {
             throw new BatchContainerRuntimeException(e);
         }
@@ -138,7 +101,7 @@ public class RetryHandler {
     /**
      * Handle exception from a process failure.
      */
-    public void handleExceptionProcess(final Exception e, final Object w) {
+    public synchronized void handleExceptionProcess(final Exception e, final Object w) {
         if (isRetryLimitReached() || !isRetryable(e)) {
             throw new BatchContainerRuntimeException(e);
         }
@@ -157,7 +120,7 @@ public class RetryHandler {
     /**
      * Handle exception from a write failure.
      */
-    public void handleExceptionWrite(final Exception e, final List<Object> w) {
+    public synchronized void handleExceptionWrite(final Exception e, final List<Object> w) {
         if (isRetryLimitReached() || !isRetryable(e)) {
             throw new BatchContainerRuntimeException(e);
         }
@@ -179,32 +142,11 @@ public class RetryHandler {
      * the given Exception is retryable.
      */
     private boolean isRetryable(final Exception e) {
-        return containsException(_retryIncludeExceptions, e) && !containsException(_retryExcludeExceptions, e);
+        return _retryableExceptions.matches(e);
     }
 
     private boolean isNoRollbackException(final Exception e) {
-        return containsException(_retryNoRBIncludeExceptions, e) && !containsException(_retryNoRBExcludeExceptions, e);
-    }
-
-    /**
-     * Check whether given exception is in the specified exception list
-     */
-    private boolean containsException(final Set<String> retryList, final Exception e) {
-        boolean retVal = false;
-
-        final ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
-        for (final String exClassName : retryList) {
-            try {
-                retVal = classLoader.loadClass(exClassName).isInstance(e);
-                if (retVal) {
-                    break;
-                }
-            } catch (final ClassNotFoundException cnf) {
-                // no-op
-            }
-        }
-
-        return retVal;
+        return _retryNoRBExceptions.matches(e);
     }
 
     /**
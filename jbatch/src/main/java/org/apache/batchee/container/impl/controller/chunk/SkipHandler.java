@@ -21,11 +21,8 @@ import org.apache.batchee.container.proxy.SkipProcessListenerProxy;
 import org.apache.batchee.container.proxy.SkipReadListenerProxy;
 import org.apache.batchee.container.proxy.SkipWriteListenerProxy;
 import org.apache.batchee.jaxb.Chunk;
-import org.apache.batchee.jaxb.ExceptionClassFilter;
 
-import java.util.HashSet;
 import java.util.List;
-import java.util.Set;
 
 public class SkipHandler {
 
@@ -37,8 +34,7 @@ public class SkipHandler {
     private List<SkipReadListenerProxy> _skipReadListener = null;
     private List<SkipWriteListenerProxy> _skipWriteListener = null;
 
-    private Set<String> _skipIncludeExceptions = null;
-    private Set<String> _skipExcludeExceptions = null;
+    private ExceptionClassifier _skippableExceptions = null;
     private int _skipLimit = Integer.MIN_VALUE;
     private long _skipCount = 0;
 
@@ -56,23 +52,7 @@ public class SkipHandler {
 
 
         // Read the include/exclude exceptions.
-
-        _skipIncludeExceptions = new HashSet<String>();
-        _skipExcludeExceptions = new HashSet<String>();
-
-        if (chunk.getSkippableExceptionClasses() != null && chunk.getSkippableExceptionClasses().getIncludeList() != null) {
-            final List<ExceptionClassFilter.Include> includes = chunk.getSkippableExceptionClasses().getIncludeList();
-            for (final ExceptionClassFilter.Include include : includes) {
-                _skipIncludeExceptions.add(include.getClazz().trim());
-            }
-        }
-
-        if (chunk.getSkippableExceptionClasses() != null && chunk.getSkippableExceptionClasses().getExcludeList() != null) {
-            final List<ExceptionClassFilter.Exclude> excludes = chunk.getSkippableExceptionClasses().getExcludeList();
-            for (final ExceptionClassFilter.Exclude exclude : excludes) {
-                _skipExcludeExceptions.add(exclude.getClazz().trim());
-            }
-        }
+        _skippableExceptions = ExceptionClassifier.of(chunk.getSkippableExceptionClasses());
     }
 
     /**
@@ -100,7 +80,7 @@ public class SkipHandler {
     /**
      * Handle exception from a read failure.
      */
-    public void handleExceptionRead(Exception e) {
+    public synchronized void handleExceptionRead(Exception e) {
         if (isSkipLimitReached() || !isSkippable(e)) {
             throw new BatchContainerRuntimeException(e);
         }
@@ -118,7 +98,7 @@ public class SkipHandler {
     /**
      * Handle exception from a process failure.
      */
-    public void handleExceptionWithRecordProcess(final Exception e, final Object w) {
+    public synchronized void handleExceptionWithRecordProcess(final Exception e, final Object w) {
         if (isSkipLimitReached() || !isSkippable(e)) {
             throw new BatchContainerRuntimeException(e);
         }
@@ -136,7 +116,7 @@ public class SkipHandler {
     /**
      * Handle exception from a write failure.
      */
-    public void handleExceptionWithRecordListWrite(final Exception e, final List<Object> items) {
+    public synchronized void handleExceptionWithRecordListWrite(final Exception e, final List<Object> items) {
         if (isSkipLimitReached() || !isSkippable(e)) {
             throw new BatchContainerRuntimeException(e);
         }
@@ -157,25 +137,7 @@ public class SkipHandler {
      * the given Exception is skippable.
      */
     private boolean isSkippable(final Exception e) {
-        return containsSkippable(_skipIncludeExceptions, e) && !containsSkippable(_skipExcludeExceptions, e);
-    }
-
-    /**
-     * Check whether given exception is in skippable exception list
-     */
-    private boolean containsSkippable(final Set<String> skipList, final Exception e) {
-        final ClassLoader tccl = Thread.currentThread().getContextClassLoader();
-        for (final String exClassName : skipList) {
-            try {
-                if (tccl.loadClass(exClassName).isInstance(e)) {
-                    return true;
-                }
-            } catch (final ClassNotFoundException cnf) {
-                // no-op
-            }
-        }
-
-        return false;
+        return _skippableExceptions.matches(e);
     }
 
 
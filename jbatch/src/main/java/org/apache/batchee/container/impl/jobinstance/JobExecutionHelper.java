@@ -29,6 +29,7 @@ import org.apache.batchee.container.services.ServicesManager;
 import org.apache.batchee.container.status.JobStatus;
 import org.apache.batchee.jaxb.JSLJob;
 import org.apache.batchee.jaxb.JSLProperties;
+import org.apache.batchee.spi.BulkSubJobPersistence;
 import org.apache.batchee.spi.PersistenceManagerService;
 import org.apache.batchee.spi.SecurityService;
 
@@ -39,6 +40,9 @@ import javax.batch.operations.JobStartException;
 import javax.batch.operations.NoSuchJobExecutionException;
 import javax.batch.runtime.BatchStatus;
 import javax.batch.runtime.JobInstance;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Properties;
 
 public class JobExecutionHelper {
@@ -120,6 +124,62 @@ public class JobExecutionHelper {
         return executionHelper;
     }
 
+    public static List<RuntimeFlowInSplitExecution> startFlowsInSplit(final List<JSLJob> jobModels) throws JobStartException {
+        final List<String> names = new ArrayList<String>(jobModels.size());
+        final List<JobContextImpl> jobContexts = new ArrayList<JobContextImpl>(jobModels.size());
+        for (final JSLJob jobModel : jobModels) {
+            final ModelNavigator<JSLJob> jobNavigator = getResolvedJobNavigator(jobModel, null, true);
+            names.add(jobNavigator.getRootModelElement().getId());
+            jobContexts.add(getJobContext(jobNavigator));
+        }
+
+        final List<RuntimeJobExecution> executions = createSubJobExecutions(names, null);
+
+        final Timestamp now = new Timestamp(System.currentTimeMillis());
+        final List<RuntimeFlowInSplitExecution> flowExecutions = new ArrayList<RuntimeFlowInSplitExecution>(executions.size());
+        for (int i = 0; i < executions.size(); i++) {
+            final RuntimeJobExecution execution = executions.get(i);
+
+            final RuntimeFlowInSplitExecution flowExecution = new RuntimeFlowInSplitExecution(execution.getJobInstance(), execution.getExecutionId());
+            flowExecution.setBatchStatus(BatchStatus.STARTING.name());
+            flowExecution.setCreateTime(now);
+            flowExecution.setLastUpdateTime(now);
+            flowExecution.prepareForExecution(jobContexts.get(i));
+            flowExecutions.add(flowExecution);
+        }
+        return flowExecutions;
+    }
+
+    /**
+     * Creates the instances and executions of the partitions in a single call, the executions are not yet
+     * prepared since the partition jobs are generated only when they are executed (see preparePartition()).
+     */
+    public static List<RuntimeJobExecution> startPartitions(final List<String> names, final List<Properties> partitionProps) throws JobStartException {
+        return createSubJobExecutions(names, partitionProps);
+    }
+
+    private static List<RuntimeJobExecution> createSubJobExecutions(final List<String> names, final List<Properties> jobParameters) {
+        final String apptag = SECURITY_SERVICE.getLoggedUser();
+
+        final BulkSubJobPersistence bulk = ServicesManager.extension(PERSISTENCE_MANAGER_SERVICE, BulkSubJobPersistence.class);
+        if (bulk != null) {
+            return bulk.createSubJobExecutions(names, apptag, jobParameters, BatchStatus.STARTING);
+        }
+
+        final List<RuntimeJobExecution> executions = new ArrayList<RuntimeJobExecution>(names.size());
+        for (int i = 0; i < names.size(); i++) {
+            final JobInstance jobInstance = PERSISTENCE_MANAGER_SERVICE.createSubJobInstance(names.get(i), apptag);
+            executions.add(PERSISTENCE_MANAGER_SERVICE.createJobExecution(jobInstance, jobParameters == null ? null : jobParameters.get(i), BatchStatus.STARTING));
+            JOB_STATUS_MANAGER_SERVICE.updateJobStatus(createNewJobStatus(jobInstance));
+        }
+        return executions;
+    }
+
+    public static void preparePartition(final RuntimeJobExecution execution, final JSLJob jobModel, final Properties partitionProps) {
+        final ModelNavigator<JSLJob> jobNavigator = getResolvedJobNavigator(jobModel, partitionProps, true);
+        execution.prepareForExecution(getJobContext(jobNavigator));
+    }
+
     public static RuntimeJobExecution startPartition(JSLJob jobModel, Properties jobParameters) throws JobStartException {
         final ModelNavigator<JSLJob> jobNavigator = getResolvedJobNavigator(jobModel, jobParameters, true);
         final JobContextImpl jobContext = getJobContext(jobNavigator);
@@ -136,6 +196,19 @@ public class JobExecutionHelper {
         return executionHelper;
     }
 
+    /**
+     * Prepares a partition executed in the thread pool of its parent step without any persistence,
+     * the execution shares the instance and execution ids of the parent job.
+     */
+    public static RuntimeJobExecution startLightPartition(final RuntimeJobExecution parent, final JSLJob jobModel, final Properties partitionProps) {
+        final ModelNavigator<JSLJob> jobNavigator = getResolvedJobNavigator(jobModel, partitionProps, true);
+        final JobContextImpl jobContext = getJobContext(jobNavigator);
+
+        final RuntimeJobExecution executionHelper = new RuntimeJobExecution(parent.getJobInstance(), parent.getExecutionId());
+        executionHelper.prepareForExecution(jobContext);
+        return executionHelper;
+    }
+
     private static void validateJobInstanceNotCompleteOrAbandonded(final JobStatus jobStatus) throws JobRestartException, JobExecutionAlreadyCompleteException {
         if (jobStatus.getBatchStatus() == null) {
             throw new IllegalStateException("On restart, we didn't find an earlier batch status.");
@@ -16,25 +16,193 @@
  */
 package org.apache.batchee.container.jsl;
 
+import org.apache.batchee.jaxb.Analyzer;
 import org.apache.batchee.jaxb.Batchlet;
 import org.apache.batchee.jaxb.CheckpointAlgorithm;
 import org.apache.batchee.jaxb.Chunk;
+import org.apache.batchee.jaxb.Collector;
+import org.apache.batchee.jaxb.Decision;
+import org.apache.batchee.jaxb.End;
 import org.apache.batchee.jaxb.ExceptionClassFilter;
+import org.apache.batchee.jaxb.Fail;
+import org.apache.batchee.jaxb.Flow;
 import org.apache.batchee.jaxb.ItemProcessor;
 import org.apache.batchee.jaxb.ItemReader;
 import org.apache.batchee.jaxb.ItemWriter;
+import org.apache.batchee.jaxb.JSLJob;
 import org.apache.batchee.jaxb.JSLProperties;
 import org.apache.batchee.jaxb.Listener;
 import org.apache.batchee.jaxb.Listeners;
+import org.apache.batchee.jaxb.Next;
 import org.apache.batchee.jaxb.ObjectFactory;
+import org.apache.batchee.jaxb.Partition;
+import org.apache.batchee.jaxb.PartitionMapper;
+import org.apache.batchee.jaxb.PartitionPlan;
+import org.apache.batchee.jaxb.PartitionReducer;
 import org.apache.batchee.jaxb.Property;
+import org.apache.batchee.jaxb.Split;
+import org.apache.batchee.jaxb.Step;
+import org.apache.batchee.jaxb.Stop;
 
 import java.util.Enumeration;
+import java.util.List;
 import java.util.Properties;
 
 public class CloneUtility {
     private static final ObjectFactory JSL_FACTORY = new ObjectFactory();
 
+    /**
+     * Deep copy of a job model, used to not mutate a cached model when resolving properties.
+     */
+    public static JSLJob cloneJob(final JSLJob job) {
+        final JSLJob newJob = JSL_FACTORY.createJSLJob();
+        newJob.setId(job.getId());
+        newJob.setVersion(job.getVersion());
+        newJob.setRestartable(job.getRestartable());
+        newJob.setProperties(cloneJSLProperties(job.getProperties()));
+        newJob.setListeners(cloneListeners(job.getListeners()));
+        cloneExecutionElements(job.getExecutionElements(), newJob.getExecutionElements());
+        return newJob;
+    }
+
+    private static void cloneExecutionElements(final List<ExecutionElement> elements, final List<ExecutionElement> target) {
+        for (final ExecutionElement element : elements) {
+            if (Step.class.isInstance(element)) {
+                target.add(cloneStep(Step.class.cast(element)));
+            } else if (Flow.class.isInstance(element)) {
+                target.add(cloneFlow(Flow.class.cast(element)));
+            } else if (Split.class.isInstance(element)) {
+                target.add(cloneSplit(Split.class.cast(element)));
+            } else if (Decision.class.isInstance(element)) {
+                target.add(cloneDecision(Decision.class.cast(element)));
+            } else {
+                throw new IllegalArgumentException("Unsupported execution element: " + element);
+            }
+        }
+    }
+
+    private static Step cloneStep(final Step step) {
+        final Step newStep = JSL_FACTORY.createStep();
+        newStep.setId(step.getId());
+        newStep.setStartLimit(step.getStartLimit());
+        newStep.setAllowStartIfComplete(step.getAllowStartIfComplete());
+        newStep.setNextFromAttribute(step.getNextFromAttribute());
+        newStep.setProperties(cloneJSLProperties(step.getProperties()));
+        newStep.setListeners(cloneListeners(step.getListeners()));
+        if (step.getBatchlet() != null) {
+            newStep.setBatchlet(cloneBatchlet(step.getBatchlet()));
+        }
+        if (step.getChunk() != null) {
+            newStep.setChunk(cloneChunk(step.getChunk()));
+        }
+        newStep.setPartition(clonePartition(step.getPartition()));
+        cloneTransitionElements(step.getTransitionElements(), newStep.getTransitionElements());
+        return newStep;
+    }
+
+    private static Flow cloneFlow(final Flow flow) {
+        final Flow newFlow = JSL_FACTORY.createFlow();
+        newFlow.setId(flow.getId());
+        newFlow.setNextFromAttribute(flow.getNextFromAttribute());
+        cloneExecutionElements(flow.getExecutionElements(), newFlow.getExecutionElements());
+        cloneTransitionElements(flow.getTransitionElements(), newFlow.getTransitionElements());
+        return newFlow;
+    }
+
+    private static Split cloneSplit(final Split split) {
+        final Split newSplit = JSL_FACTORY.createSplit();
+        newSplit.setId(split.getId());
+        newSplit.setNextFromAttribute(split.getNextFromAttribute());
+        for (final Flow flow : split.getFlows()) {
+            newSplit.getFlows().add(cloneFlow(flow));
+        }
+        return newSplit;
+    }
+
+    private static Decision cloneDecision(final Decision decision) {
+        final Decision newDecision = JSL_FACTORY.createDecision();
+        newDecision.setId(decision.getId());
+        newDecision.setRef(decision.getRef());
+        newDecision.setProperties(cloneJSLProperties(decision.getProperties()));
+        cloneTransitionElements(decision.getTransitionElements(), newDecision.getTransitionElements());
+        return newDecision;
+    }
+
+    private static void cloneTransitionElements(final List<TransitionElement> elements, final List<TransitionElement> target) {
+        for (final TransitionElement element : elements) {
+            if (Next.class.isInstance(element)) {
+                final Next next = Next.class.cast(element);
+                final Next newNext = JSL_FACTORY.createNext();
+                newNext.setOn(next.getOn());
+                newNext.setTo(next.getTo());
+                target.add(newNext);
+            } else if (Stop.class.isInstance(element)) {
+                final Stop stop = Stop.class.cast(element);
+                final Stop newStop = JSL_FACTORY.createStop();
+                newStop.setOn(stop.getOn());
+                newStop.setExitStatus(stop.getExitStatus());
+                newStop.setRestart(stop.getRestart());
+                target.add(newStop);
+            } else if (End.class.isInstance(element)) {
+                final End end = End.class.cast(element);
+                final End newEnd = JSL_FACTORY.createEnd();
+                newEnd.setOn(end.getOn());
+                newEnd.setExitStatus(end.getExitStatus());
+                target.add(newEnd);
+            } else if (Fail.class.isInstance(element)) {
+                final Fail fail = Fail.class.cast(element);
+                final Fail newFail = JSL_FACTORY.createFail();
+                newFail.setOn(fail.getOn());
+                newFail.setExitStatus(fail.getExitStatus());
+                target.add(newFail);
+            } else {
+                throw new IllegalArgumentException("Unsupported transition element: " + element);
+            }
+        }
+    }
+
+    private static Partition clonePartition(final Partition partition) {
+        if (partition == null) {
+            return null;
+        }
+
+        final Partition newPartition = JSL_FACTORY.createPartition();
+        if (partition.getMapper() != null) {
+            final PartitionMapper newMapper = JSL_FACTORY.createPartitionMapper();
+            newMapper.setRef(partition.getMapper().getRef());
+            newMapper.setProperties(cloneJSLProperties(partition.getMapper().getProperties()));
+            newPartition.setMapper(newMapper);
+        }
+        if (partition.getPlan() != null) {
+            final PartitionPlan newPlan = JSL_FACTORY.createPartitionPlan();
+            newPlan.setPartitions(partition.getPlan().getPartitions());
+            newPlan.setThreads(partition.getPlan().getThreads());
+            for (final JSLProperties properties : partition.getPlan().getProperties()) {
+                newPlan.getProperties().add(cloneJSLProperties(properties));
+            }
+            newPartition.setPlan(newPlan);
+        }
+        if (partition.getCollector() != null) {
+            final Collector newCollector = JSL_FACTORY.createCollector();
+            newCollector.setRef(partition.getCollector().getRef());
+            newCollector.setProperties(cloneJSLProperties(partition.getCollector().getProperties()));
+            newPartition.setCollector(newCollector);
+        }
+        if (partition.getAnalyzer() != null) {
+            final Analyzer newAnalyzer = JSL_FACTORY.createAnalyzer();
+            newAnalyzer.setRef(partition.getAnalyzer().getRef());
+            newAnalyzer.setProperties(cloneJSLProperties(partition.getAnalyzer().getProperties()));
+            newPartition.setAnalyzer(newAnalyzer);
+        }
+        if (partition.getReducer() != null) {
+            final PartitionReducer newReducer = JSL_FACTORY.createPartitionReducer();
+            newReducer.setRef(partition.getReducer().getRef());
+            newReducer.setProperties(cloneJSLProperties(partition.getReducer().getProperties()));
+            newPartition.setReducer(newReducer);
+        }
+        return newPartition;
+    }
+
     public static Batchlet cloneBatchlet(final Batchlet batchlet) {
         final Batchlet newBatchlet = JSL_FACTORY.createBatchlet();
         newBatchlet.setRef(batchlet.getRef());
@@ -16,6 +16,7 @@
 */
 package org.apache.batchee.container.jsl;
 
+import org.apache.batchee.container.services.ServicesManager;
 import org.apache.batchee.jaxb.JSLJob;
 
 import javax.batch.operations.BatchRuntimeException;
@@ -26,8 +27,14 @@ import javax.xml.transform.stream.StreamSource;
 import java.io.StringReader;
 import java.security.AccessController;
 import java.security.PrivilegedAction;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
 
 public class JobModelResolver {
+    // parsed models by classloader then by content, cached models are never exposed since they are cloned on resolution
+    private static final Map<ClassLoader, Map<String, JSLJob>> MODELS = new WeakHashMap<ClassLoader, Map<String, JSLJob>>();
+
     private static JAXBContext JOB_CONTEXT;
     static {
         try {
@@ -55,6 +62,42 @@ public class JobModelResolver {
     }
 
     public JSLJob resolveModel(final String jobXML) {
+        final int cacheSize = Integer.parseInt(ServicesManager.value("org.apache.batchee.jsl.cache.size", "64"));
+        if (cacheSize <= 0) {
+            return doUnmarshal(jobXML);
+        }
+
+        final ClassLoader loader = Thread.currentThread().getContextClassLoader();
+        JSLJob model;
+        synchronized (MODELS) {
+            Map<String, JSLJob> models = MODELS.get(loader);
+            if (models == null) {
+                models = new LinkedHashMap<String, JSLJob>(16, .75f, true) {
+                    @Override
+                    protected boolean removeEldestEntry(final Map.Entry<String, JSLJob> eldest) {
+                        return size() > cacheSize;
+                    }
+                };
+                MODELS.put(loader, models);
+            }
+            model = models.get(jobXML);
+        }
+
+        if (model == null) {
+            model = doUnmarshal(jobXML);
+            synchronized (MODELS) {
+                final Map<String, JSLJob> models = MODELS.get(loader);
+                if (models != null) {
+                    models.put(jobXML, model);
+                }
+            }
+        }
+
+        // property resolution mutates the model so never return the cached instance
+        return CloneUtility.cloneJob(model);
+    }
+
+    private JSLJob doUnmarshal(final String jobXML) {
         if (System.getSecurityManager() == null) {
             return unmarshalJobXML(jobXML);
         }
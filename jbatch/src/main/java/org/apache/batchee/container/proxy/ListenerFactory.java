@@ -24,6 +24,7 @@ import org.apache.batchee.jaxb.Listener;
 import org.apache.batchee.jaxb.Listeners;
 import org.apache.batchee.jaxb.Property;
 import org.apache.batchee.jaxb.Step;
+import org.apache.batchee.spi.StepThreadListener;
 
 import javax.batch.api.chunk.listener.ChunkListener;
 import javax.batch.api.chunk.listener.ItemProcessListener;
@@ -293,6 +294,18 @@ public class ListenerFactory {
         return retVal;
     }
 
+    public List<StepThreadListener> getStepThreadListeners(final Step step, final InjectionReferences injectionRefs, final RuntimeJobExecution execution) {
+        final List<ListenerInfo> stepListenerInfo = getStepListenerInfo(step, injectionRefs, execution);
+        final List<StepThreadListener> retVal = new ArrayList<StepThreadListener>();
+        for (final ListenerInfo li : stepListenerInfo) {
+            if (li.isStepThreadListener()) {
+                retVal.add((StepThreadListener) li.getArtifact());
+            }
+        }
+
+        return retVal;
+    }
+
     private static class ListenerInfo {
         private Object listenerArtifact = null;
         private Class listenerArtifactClass = null;
@@ -314,6 +327,10 @@ public class ListenerFactory {
             return StepListener.class.isAssignableFrom(listenerArtifactClass);
         }
 
+        boolean isStepThreadListener() {
+            return StepThreadListener.class.isAssignableFrom(listenerArtifactClass);
+        }
+
         boolean isChunkListener() {
             return ChunkListener.class.isAssignableFrom(listenerArtifactClass);
         }
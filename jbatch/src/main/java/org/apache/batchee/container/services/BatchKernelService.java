@@ -62,6 +62,9 @@ public interface BatchKernelService extends BatchService {
     BatchFlowInSplitWorkUnit buildNewFlowInSplitWorkUnit(
         FlowInSplitBuilderConfig config);
 
+    List<BatchFlowInSplitWorkUnit> buildNewFlowInSplitWorkUnits(
+        List<FlowInSplitBuilderConfig> configs);
+
     BatchFlowInSplitWorkUnit buildOnRestartFlowInSplitWorkUnit(
         FlowInSplitBuilderConfig config);
 
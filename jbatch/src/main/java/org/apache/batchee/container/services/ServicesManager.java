@@ -38,15 +38,19 @@ import org.apache.batchee.spi.PersistenceManagerService;
 import org.apache.batchee.spi.SecurityService;
 import org.apache.batchee.spi.TransactionManagementService;
 
+import java.io.Closeable;
 import java.io.IOException;
 import java.io.InputStream;
 import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Map;
 import java.util.Properties;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
 import java.util.logging.Logger;
 
 public class ServicesManager implements BatchContainerConstants {
@@ -82,10 +86,47 @@ public class ServicesManager implements BatchContainerConstants {
         servicesManagerLocator = locator;
     }
 
+    /**
+     * By default services are proxies resolving the ServicesManager through the ServicesManagerLocator for each call.
+     * When org.apache.batchee.services.direct is true the service instance itself is returned,
+     * which avoids reflection on each call but binds the caller to the current container (don't use it when
+     * several ServicesManager are used through a custom locator).
+     *
+     * @param api the service type.
+     * @param <T> the service type.
+     * @return the service (or its proxy).
+     */
     public static <T extends BatchService> T service(final Class<T> api) {
+        final ServicesManager manager = servicesManagerLocator.find();
+        if (manager.directServices) {
+            return manager.getService(api);
+        }
         return api.cast(Proxy.newProxyInstance(ServicesManager.class.getClassLoader(), new Class<?>[]{ api }, new ServiceHandler<T>(api)));
     }
 
+    /**
+     * Optional features of a service are exposed through additional interfaces (see BulkCheckpointPersistence for instance).
+     * Proxies returned by service() only implement the service API so this method resolves the actual instance.
+     *
+     * @param service the service (or its proxy).
+     * @param extension the optional interface.
+     * @param <T> the optional interface type.
+     * @return the service as an extension or null if the current implementation doesn't support it.
+     */
+    public static <T> T extension(final BatchService service, final Class<T> extension) {
+        Object instance = service;
+        if (Proxy.isProxyClass(service.getClass())) {
+            final InvocationHandler handler = Proxy.getInvocationHandler(service);
+            if (ServiceHandler.class.isInstance(handler)) {
+                instance = ServiceHandler.class.cast(handler).resolve();
+            }
+        }
+        if (extension.isInstance(instance)) {
+            return extension.cast(instance);
+        }
+        return null;
+    }
+
     public static String value(final String key, final String defaultValue) {
         return servicesManagerLocator.find().batchRuntimeConfig.getProperty(key, defaultValue);
     }
@@ -98,6 +139,8 @@ public class ServicesManager implements BatchContainerConstants {
 
     private Properties batchRuntimeConfig;
     private boolean logServices;
+    private boolean directServices;
+    private volatile int generation = 0;
 
     // Registry of all current services
     private final ConcurrentHashMap<String, BatchService> serviceRegistry = new ConcurrentHashMap<String, BatchService>();
@@ -142,6 +185,7 @@ public class ServicesManager implements BatchContainerConstants {
                     batchRuntimeConfig.putAll(System.getProperties());
 
                     logServices = Boolean.parseBoolean(batchRuntimeConfig.getProperty("batchee.service-manager.log", "false"));
+                    directServices = Boolean.parseBoolean(batchRuntimeConfig.getProperty("org.apache.batchee.services.direct", "false"));
 
                     isInited = Boolean.TRUE;
                 }
@@ -149,6 +193,30 @@ public class ServicesManager implements BatchContainerConstants {
         }
     }
 
+    /**
+     * Forgets loaded services, they will be created and initialized again on next usage.
+     * Forgotten services implementing java.io.Closeable are closed (pools, registered MBeans...).
+     * Note: instances already returned by service() in direct mode are not impacted.
+     */
+    public void reload() {
+        final Collection<BatchService> services;
+        synchronized (serviceRegistry) {
+            services = new ArrayList<BatchService>(serviceRegistry.values());
+            serviceRegistry.clear();
+            generation++;
+        }
+
+        for (final BatchService service : services) {
+            if (Closeable.class.isInstance(service)) {
+                try {
+                    Closeable.class.cast(service).close();
+                } catch (final IOException e) {
+                    LOGGER.log(Level.WARNING, "Can't close " + service, e);
+                }
+            }
+        }
+    }
+
     private <T extends BatchService> T getService(final Class<T> clazz) throws BatchContainerServiceException {
         T service = clazz.cast(serviceRegistry.get(clazz.getName()));
         if (service == null) {
@@ -206,6 +274,7 @@ public class ServicesManager implements BatchContainerConstants {
     // just an handler getting the right service instance using the ServicesManagerLocator
     private static class ServiceHandler<T extends BatchService> implements InvocationHandler {
         private final Class<T> service;
+        private volatile Resolution<T> resolution = null; // last resolution, avoids a registry lookup for each call
 
         public ServiceHandler(final Class<T> api) {
             this.service = api;
@@ -213,13 +282,36 @@ public class ServicesManager implements BatchContainerConstants {
 
         @Override
         public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
-            final T instance = servicesManagerLocator.find().getService(service);
             try {
-                return method.invoke(instance, args);
+                return method.invoke(resolve(), args);
             } catch (final InvocationTargetException ite) {
                 throw ite.getCause();
             }
         }
+
+        private T resolve() {
+            final ServicesManager manager = servicesManagerLocator.find();
+
+            Resolution<T> current = resolution;
+            if (current == null || current.manager != manager || current.generation != manager.generation) {
+                final int generation = manager.generation; // read before the lookup to not cache a reloaded instance as valid
+                current = new Resolution<T>(manager, generation, manager.getService(service));
+                resolution = current;
+            }
+            return current.instance;
+        }
+    }
+
+    private static class Resolution<T> {
+        private final ServicesManager manager;
+        private final int generation;
+        private final T instance;
+
+        private Resolution(final ServicesManager manager, final int generation, final T instance) {
+            this.manager = manager;
+            this.generation = generation;
+            this.instance = instance;
+        }
     }
 }
 
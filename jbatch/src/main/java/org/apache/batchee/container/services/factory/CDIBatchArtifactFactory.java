@@ -63,7 +63,7 @@ public class CDIBatchArtifactFactory extends DefaultBatchArtifactFactory impleme
 
     @Override
     public void init(final Properties batchConfig) throws BatchContainerServiceException {
-        // no-op
+        super.init(batchConfig);
     }
 
     protected BeanManager getBeanManager() {
@@ -28,6 +28,7 @@ import javax.xml.stream.XMLStreamConstants;
 import javax.xml.stream.XMLStreamReader;
 import java.io.IOException;
 import java.io.InputStream;
+import java.lang.ref.WeakReference;
 import java.net.URL;
 import java.util.ArrayList;
 import java.util.Collection;
@@ -37,25 +38,31 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 public class DefaultBatchArtifactFactory implements BatchArtifactFactory, XMLStreamConstants {
     private final static String BATCH_XML = "META-INF/batch.xml";
     private final static String BATCHEE_XML = "META-INF/batchee.xml"; // used for out extensions to get short names, spec doesn't impose to read multiple batch.xml so using it as a workaround
     private final static QName BATCH_ROOT_ELEM = new QName("http://xmlns.jcp.org/xml/ns/javaee", "batch-artifacts");
 
+    // weak keys to not prevent redeployments, values only reference classes weakly for the same reason
+    private final Map<ClassLoader, ArtifactMap> artifactMaps = new WeakHashMap<ClassLoader, ArtifactMap>();
+    private XMLInputFactory xmlInputFactory = null;
+    private boolean cache = true;
+    private int maxClasses = 1000;
+
     // Uses TCCL
     @Override
     public Instance load(final String batchId) {
         final ClassLoader tccl = Thread.currentThread().getContextClassLoader();
-        final ArtifactMap artifactMap = createArtifactsMap(tccl);
+        final ArtifactMap artifactMap = findArtifactsMap(tccl);
 
-        Object loadedArtifact = artifactMap.getArtifactById(batchId);
+        Object loadedArtifact = artifactMap.getArtifactById(tccl, batchId);
         if (loadedArtifact == null) {
             try {
-                final Class<?> artifactClass = tccl.loadClass(batchId);
-                if (artifactClass != null) {
-                    loadedArtifact = artifactClass.newInstance();
-                }
+                loadedArtifact = artifactMap.loadClass(tccl, batchId, batchId).newInstance();
             } catch (final ClassNotFoundException e) {
                 throw new BatchContainerRuntimeException("Tried but failed to load artifact with id: " + batchId, e);
             } catch (final InstantiationException e) {
@@ -72,8 +79,41 @@ public class DefaultBatchArtifactFactory implements BatchArtifactFactory, XMLStr
         return new Instance(loadedArtifact, null);
     }
 
+    /**
+     * Forgets the artifacts of a classloader, useful when an application is redeployed
+     * without its classloader being garbage collected.
+     *
+     * @param loader the classloader to evict.
+     */
+    public void invalidate(final ClassLoader loader) {
+        synchronized (artifactMaps) {
+            artifactMaps.remove(loader);
+        }
+    }
+
+    public void invalidateAll() {
+        synchronized (artifactMaps) {
+            artifactMaps.clear();
+        }
+    }
+
+    private ArtifactMap findArtifactsMap(final ClassLoader tccl) {
+        if (!cache) {
+            return createArtifactsMap(tccl);
+        }
+
+        synchronized (artifactMaps) { // parsing is done once per loader so simply lock
+            ArtifactMap map = artifactMaps.get(tccl);
+            if (map == null) {
+                map = createArtifactsMap(tccl);
+                artifactMaps.put(tccl, map);
+            }
+            return map;
+        }
+    }
+
     private ArtifactMap createArtifactsMap(final ClassLoader tccl) {
-        final ArtifactMap artifactMap = new ArtifactMap();
+        final ArtifactMap artifactMap = new ArtifactMap(maxClasses);
         initArtifactMapFromClassLoader(artifactMap, tccl, BATCH_XML);
         initArtifactMapFromClassLoader(artifactMap, tccl, BATCHEE_XML);
         return artifactMap;
@@ -114,9 +154,14 @@ public class DefaultBatchArtifactFactory implements BatchArtifactFactory, XMLStr
     }
 
     protected void populateArtifactMapFromStream(final ArtifactMap tempMap, final InputStream is) {
-        final XMLInputFactory xmlInputFactory = XMLInputFactory.newInstance();
         try {
-            final XMLStreamReader xmlStreamReader = xmlInputFactory.createXMLStreamReader(is);
+            final XMLStreamReader xmlStreamReader;
+            synchronized (this) { // factories are not guaranteed to be thread safe, created readers are
+                if (xmlInputFactory == null) {
+                    xmlInputFactory = XMLInputFactory.newInstance();
+                }
+                xmlStreamReader = xmlInputFactory.createXMLStreamReader(is);
+            }
 
             boolean processedRoot = false;
 
@@ -183,50 +228,70 @@ public class DefaultBatchArtifactFactory implements BatchArtifactFactory, XMLStr
         }
     }
 
-    private class ArtifactMap {
-        private Map<String, Class<?>> idToArtifactClassMap = new HashMap<String, Class<?>>();
+    private static class ArtifactMap {
+        private final Map<String, String> idToArtifactClassNameMap = new HashMap<String, String>();
 
         // Maps to a list of types not a single type since there's no reason a single artifact couldn't be annotated
         // with >1 batch artifact annotation type.
-        private Map<String, List<String>> idToArtifactTypeListMap = new HashMap<String, List<String>>();
+        private final Map<String, List<String>> idToArtifactTypeListMap = new HashMap<String, List<String>>();
+
+        // resolved classes by id (or class name for artifacts not in batch.xml), avoids to go through the loader each time
+        // bounded since ids come from job xmls and not only from batch.xml
+        private final ConcurrentMap<String, WeakReference<Class<?>>> classes = new ConcurrentHashMap<String, WeakReference<Class<?>>>();
+        private final int maxClasses;
+
+        private ArtifactMap(final int maxClasses) {
+            this.maxClasses = maxClasses;
+        }
 
         /*
          * Init already synchronized, so no need to synch further
          */
         private void addEntry(final String batchTypeName, final String id, final String className) {
-            try {
-                final ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
-                if (!idToArtifactClassMap.containsKey(id)) {
-                    Class<?> artifactClass = contextClassLoader.loadClass(className);
-
-                    idToArtifactClassMap.put(id, artifactClass);
-                    List<String> typeList = new ArrayList<String>();
-                    typeList.add(batchTypeName);
-                    idToArtifactTypeListMap.put(id, typeList);
-                } else {
-                    final Class<?> artifactClass = contextClassLoader.loadClass(className);
-
-                    // Already contains entry for this 'id', let's make sure it's the same Class
-                    // which thus must implement >1 batch artifact "type" (i.e. contains >1 batch artifact annotation).
-                    if (!idToArtifactClassMap.get(id).equals(artifactClass)) {
-                        throw new IllegalArgumentException("Already loaded a different class for id = " + id);
-                    }
-                    List<String> typeList = idToArtifactTypeListMap.get(id);
-                    typeList.add(batchTypeName);
+            final String existing = idToArtifactClassNameMap.get(id);
+            if (existing == null) {
+                idToArtifactClassNameMap.put(id, className);
+                List<String> typeList = new ArrayList<String>();
+                typeList.add(batchTypeName);
+                idToArtifactTypeListMap.put(id, typeList);
+            } else {
+                // Already contains entry for this 'id', let's make sure it's the same Class
+                // which thus must implement >1 batch artifact "type" (i.e. contains >1 batch artifact annotation).
+                if (!existing.equals(className)) {
+                    throw new IllegalArgumentException("Already loaded a different class for id = " + id);
+                }
+                List<String> typeList = idToArtifactTypeListMap.get(id);
+                typeList.add(batchTypeName);
+            }
+        }
+
+        private Class<?> loadClass(final ClassLoader loader, final String key, final String className) throws ClassNotFoundException {
+            final WeakReference<Class<?>> ref = classes.get(key);
+            if (ref != null) {
+                final Class<?> clazz = ref.get();
+                if (clazz != null) {
+                    return clazz;
                 }
-            } catch (final Exception e) {
-                throw new RuntimeException(e);
+                classes.remove(key, ref);
+            }
+
+            final Class<?> clazz = loader.loadClass(className);
+            if (classes.size() < maxClasses) {
+                classes.put(key, new WeakReference<Class<?>>(clazz));
             }
+            return clazz;
         }
 
-        private Object getArtifactById(final String id) {
+        private Object getArtifactById(final ClassLoader loader, final String id) {
             Object artifactInstance = null;
 
             try {
-                final Class<?> clazz = idToArtifactClassMap.get(id);
-                if (clazz != null) {
-                    artifactInstance = (idToArtifactClassMap.get(id)).newInstance();
+                final String className = idToArtifactClassNameMap.get(id);
+                if (className != null) {
+                    artifactInstance = loadClass(loader, id, className).newInstance();
                 }
+            } catch (final ClassNotFoundException e) {
+                throw new BatchContainerRuntimeException("Tried but failed to load artifact with id: " + id, e);
             } catch (final IllegalAccessException e) {
                 throw new BatchContainerRuntimeException("Tried but failed to load artifact with id: " + id, e);
             } catch (final InstantiationException e) {
@@ -240,7 +305,7 @@ public class DefaultBatchArtifactFactory implements BatchArtifactFactory, XMLStr
 
     @Override
     public void init(final Properties batchConfig) throws BatchContainerServiceException {
-        // no-op
-
+        cache = !"false".equalsIgnoreCase(batchConfig.getProperty("org.apache.batchee.artifacts.cache", "true"));
+        maxClasses = Integer.parseInt(batchConfig.getProperty("org.apache.batchee.artifacts.cache.max-classes", "1000"));
     }
 }
@@ -151,22 +151,27 @@ public class DefaultBatchKernel implements BatchKernelService {
     public List<BatchPartitionWorkUnit> buildNewParallelPartitions(final PartitionsBuilderConfig config)
         throws JobRestartException, JobStartException {
 
-        final List<JSLJob> jobModels = config.getJobModels();
-        final Properties[] partitionPropertiesArray = config.getPartitionProperties();
-        final List<BatchPartitionWorkUnit> batchWorkUnits = new ArrayList<BatchPartitionWorkUnit>(jobModels.size());
+        final int partitions = config.getPartitions();
+        final List<String> names = new ArrayList<String>(partitions);
+        final List<Properties> partitionProperties = new ArrayList<Properties>(partitions);
+        for (int instance = 0; instance < partitions; instance++) {
+            names.add(config.getJobName(instance));
+            partitionProperties.add(config.getPartitionProperties(instance));
+        }
 
-        int instance = 0;
-        for (final JSLJob parallelJob : jobModels) {
-            final Properties partitionProps = (partitionPropertiesArray == null) ? null : partitionPropertiesArray[instance];
-            final RuntimeJobExecution jobExecution = JobExecutionHelper.startPartition(parallelJob, partitionProps);
+        // all instances/executions at once, partition jobs are generated and resolved when they are executed
+        final List<RuntimeJobExecution> jobExecutions = JobExecutionHelper.startPartitions(names, partitionProperties);
+
+        final List<BatchPartitionWorkUnit> batchWorkUnits = new ArrayList<BatchPartitionWorkUnit>(partitions);
+        for (int instance = 0; instance < partitions; instance++) {
+            final RuntimeJobExecution jobExecution = jobExecutions.get(instance);
             jobExecution.setPartitionInstance(instance);
 
-            final BatchPartitionWorkUnit batchWork = new BatchPartitionWorkUnit(this, jobExecution, config);
+            final BatchPartitionWorkUnit batchWork = new BatchPartitionWorkUnit(this, jobExecution, config, instance);
 
             registerCurrentInstanceAndExecution(jobExecution, batchWork.getController());
 
             batchWorkUnits.add(batchWork);
-            instance++;
         }
 
         return batchWorkUnits;
@@ -226,6 +231,26 @@ public class DefaultBatchKernel implements BatchKernelService {
         return batchWork;
     }
 
+    @Override
+    public List<BatchFlowInSplitWorkUnit> buildNewFlowInSplitWorkUnits(final List<FlowInSplitBuilderConfig> configs) {
+        final List<JSLJob> parallelJobs = new ArrayList<JSLJob>(configs.size());
+        for (final FlowInSplitBuilderConfig config : configs) {
+            parallelJobs.add(config.getJobModel());
+        }
+
+        final List<RuntimeFlowInSplitExecution> executions = JobExecutionHelper.startFlowsInSplit(parallelJobs);
+
+        final List<BatchFlowInSplitWorkUnit> batchWorkUnits = new ArrayList<BatchFlowInSplitWorkUnit>(configs.size());
+        for (int i = 0; i < configs.size(); i++) {
+            final RuntimeFlowInSplitExecution execution = executions.get(i);
+            final BatchFlowInSplitWorkUnit batchWork = new BatchFlowInSplitWorkUnit(this, execution, configs.get(i));
+
+            registerCurrentInstanceAndExecution(execution, batchWork.getController());
+            batchWorkUnits.add(batchWork);
+        }
+        return batchWorkUnits;
+    }
+
     private long getMostRecentExecutionId(final JSLJob jobModel) {
 
         //There can only be one instance associated with a subjob's id since it is generated from an unique
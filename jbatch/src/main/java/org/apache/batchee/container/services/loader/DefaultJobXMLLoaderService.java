@@ -20,6 +20,7 @@ import org.apache.batchee.container.exception.BatchContainerRuntimeException;
 import org.apache.batchee.container.exception.BatchContainerServiceException;
 import org.apache.batchee.spi.JobXMLLoaderService;
 
+import java.io.ByteArrayOutputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
@@ -28,6 +29,8 @@ import java.util.Properties;
 public class DefaultJobXMLLoaderService implements JobXMLLoaderService {
     private static final String PREFIX = "META-INF/batch-jobs/";
 
+    private String encoding = "UTF-8";
+
     @Override
     public String loadJSL(final String id) {
         final String jobXML = loadJobFromBatchJobs(id);
@@ -39,7 +42,7 @@ public class DefaultJobXMLLoaderService implements JobXMLLoaderService {
     }
 
 
-    private static String loadJobFromBatchJobs(final String id) {
+    private String loadJobFromBatchJobs(final String id) {
         final ClassLoader tccl = Thread.currentThread().getContextClassLoader();
         final String relativePath = PREFIX + id + ".xml";
         final InputStream stream = tccl.getResourceAsStream(relativePath);
@@ -52,24 +55,30 @@ public class DefaultJobXMLLoaderService implements JobXMLLoaderService {
     }
 
 
-    private static String readJobXML(final InputStream stream) {
-        final StringBuilder out = new StringBuilder();
+    private String readJobXML(final InputStream stream) {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
         try {
             final byte[] b = new byte[4096];
             for (int i; (i = stream.read(b)) != -1; ) {
-                out.append(new String(b, 0, i));
+                out.write(b, 0, i);
             }
+            return out.toString(encoding); // decode once to not split multi-bytes characters
         } catch (final FileNotFoundException e) {
             throw new BatchContainerServiceException(e);
         } catch (final IOException e) {
             throw new BatchContainerServiceException(e);
+        } finally {
+            try {
+                stream.close();
+            } catch (final IOException e) {
+                // no-op
+            }
         }
-        return out.toString();
     }
 
 
     @Override
     public void init(final Properties batchConfig) throws BatchContainerServiceException {
-        // no-op
+        encoding = batchConfig.getProperty("org.apache.batchee.jsl.encoding", encoding);
     }
 }
@@ -20,7 +20,6 @@ import org.apache.batchee.container.exception.BatchContainerServiceException;
 import org.apache.batchee.container.exception.PersistenceException;
 import org.apache.batchee.container.impl.JobExecutionImpl;
 import org.apache.batchee.container.impl.JobInstanceImpl;
-import org.apache.batchee.container.impl.MetricImpl;
 import org.apache.batchee.container.impl.StepContextImpl;
 import org.apache.batchee.container.impl.StepExecutionImpl;
 import org.apache.batchee.container.impl.controller.chunk.CheckpointData;
@@ -29,12 +28,17 @@ import org.apache.batchee.container.impl.controller.chunk.PersistentDataWrapper;
 import org.apache.batchee.container.impl.jobinstance.RuntimeFlowInSplitExecution;
 import org.apache.batchee.container.impl.jobinstance.RuntimeJobExecution;
 import org.apache.batchee.container.services.InternalJobExecution;
+import org.apache.batchee.container.services.persistence.jdbc.ConnectionPool;
+import org.apache.batchee.container.services.persistence.jdbc.ConnectionPoolMBean;
 import org.apache.batchee.container.services.persistence.jdbc.Dictionary;
 import org.apache.batchee.container.services.persistence.jdbc.database.Database;
 import org.apache.batchee.container.services.persistence.jdbc.database.DerbyDatabase;
 import org.apache.batchee.container.status.JobStatus;
 import org.apache.batchee.container.status.StepStatus;
 import org.apache.batchee.container.util.TCCLObjectInputStream;
+import org.apache.batchee.spi.BulkCheckpointPersistence;
+import org.apache.batchee.spi.BulkSubJobPersistence;
+import org.apache.batchee.spi.CheckpointRemoval;
 import org.apache.batchee.spi.PersistenceManagerService;
 
 import javax.batch.operations.NoSuchJobExecutionException;
@@ -42,16 +46,18 @@ import javax.batch.runtime.BatchStatus;
 import javax.batch.runtime.JobInstance;
 import javax.batch.runtime.Metric;
 import javax.batch.runtime.StepExecution;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
 import javax.naming.Context;
 import javax.naming.InitialContext;
 import javax.naming.NamingException;
 import javax.sql.DataSource;
 import java.io.ByteArrayInputStream;
+import java.io.Closeable;
 import java.io.IOException;
 import java.io.ObjectInputStream;
-import java.io.PrintWriter;
 import java.io.Serializable;
-import java.io.StringWriter;
+import java.lang.management.ManagementFactory;
 import java.nio.charset.Charset;
 import java.sql.Connection;
 import java.sql.DatabaseMetaData;
@@ -62,6 +68,8 @@ import java.sql.SQLException;
 import java.sql.Statement;
 import java.sql.Timestamp;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -72,7 +80,7 @@ import java.util.Set;
 import static org.apache.batchee.container.util.Serializations.deserialize;
 import static org.apache.batchee.container.util.Serializations.serialize;
 
-public class JDBCPersistenceManager implements PersistenceManagerService {
+public class JDBCPersistenceManager implements PersistenceManagerService, BulkCheckpointPersistence, BulkSubJobPersistence, CheckpointRemoval, Closeable {
     private static final Charset UTF_8 = Charset.forName("UTF-8");
 
     static interface Defaults {
@@ -81,11 +89,18 @@ public class JDBCPersistenceManager implements PersistenceManagerService {
         final String JDBC_USER = "app";
         final String JDBC_PASSWORD = "app";
         final String SCHEMA = "BATCHEE";
+        final String POOL_MAX_ACTIVE = "20";
+        final String POOL_MAX_IDLE = "8";
+        final String POOL_MAX_WAIT = "30000";
+        final String POOL_STATEMENT_CACHE_SIZE = "50";
     }
 
     private Dictionary dictionary;
+    private volatile Boolean batchGeneratedKeys = null; // unknown until the first bulk sub job creation
 
     protected DataSource dataSource = null;
+    protected ConnectionPool pool = null;
+    protected ObjectName poolName = null;
     protected String jndiName = null;
 
     protected String driver = "";
@@ -121,6 +136,12 @@ public class JDBCPersistenceManager implements PersistenceManagerService {
             url = batchConfig.getProperty("persistence.database.url", Defaults.JDBC_URL);
             user = batchConfig.getProperty("persistence.database.user", Defaults.JDBC_USER);
             pwd = batchConfig.getProperty("persistence.database.password", Defaults.JDBC_PASSWORD);
+
+            try {
+                Class.forName(driver);
+            } catch (final ClassNotFoundException e) {
+                throw new BatchContainerServiceException(e);
+            }
         }
 
         try {
@@ -130,6 +151,18 @@ public class JDBCPersistenceManager implements PersistenceManagerService {
                 if (hasSchema && !isSchemaValid()) {
                     createSchema();
                 }
+            }
+        } catch (final SQLException e) {
+            throw new BatchContainerServiceException(e);
+        }
+
+        // created once the schema exists since pooled connections set it only once
+        if (dataSource == null && "true".equalsIgnoreCase(batchConfig.getProperty("persistence.database.pool.active", "true"))) {
+            initPool(batchConfig);
+        }
+
+        try {
+            if ("create".equalsIgnoreCase(batchConfig.getProperty("persistence.database.ddl", "create"))) {
                 checkAllTables();
             }
         } catch (final SQLException e) {
@@ -137,6 +170,55 @@ public class JDBCPersistenceManager implements PersistenceManagerService {
         }
     }
 
+    private void initPool(final Properties batchConfig) {
+        pool = new ConnectionPool(url, user, pwd, schema,
+            Integer.parseInt(batchConfig.getProperty("persistence.database.pool.max-active", Defaults.POOL_MAX_ACTIVE)),
+            Integer.parseInt(batchConfig.getProperty("persistence.database.pool.max-idle", Defaults.POOL_MAX_IDLE)),
+            Long.parseLong(batchConfig.getProperty("persistence.database.pool.max-wait", Defaults.POOL_MAX_WAIT)),
+            Integer.parseInt(batchConfig.getProperty("persistence.database.pool.statement-cache-size", Defaults.POOL_STATEMENT_CACHE_SIZE)));
+
+        if (Boolean.parseBoolean(batchConfig.getProperty("org.apache.batchee.jmx", "true"))) {
+            try {
+                final MBeanServer platformMBeanServer = ManagementFactory.getPlatformMBeanServer();
+                final String app = batchConfig.getProperty("org.apache.batchee.jmx.application", "");
+                final ObjectName name;
+                if (app.isEmpty()) {
+                    name = new ObjectName(ConnectionPoolMBean.DEFAULT_OBJECT_NAME);
+                } else {
+                    name = new ObjectName(ConnectionPoolMBean.DEFAULT_OBJECT_NAME + ",application=" + app);
+                }
+
+                if (platformMBeanServer.isRegistered(name)) {
+                    platformMBeanServer.unregisterMBean(name);
+                }
+                platformMBeanServer.registerMBean(pool, name);
+                poolName = name;
+            } catch (final Exception e) {
+                throw new BatchContainerServiceException(e);
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (poolName != null) {
+            try {
+                final MBeanServer platformMBeanServer = ManagementFactory.getPlatformMBeanServer();
+                if (platformMBeanServer.isRegistered(poolName)) {
+                    platformMBeanServer.unregisterMBean(poolName);
+                }
+            } catch (final Exception e) {
+                throw new IOException(e);
+            } finally {
+                poolName = null;
+            }
+        }
+        if (pool != null) {
+            pool.close(); // borrowed connections are destroyed when released
+            pool = null;
+        }
+    }
+
     private void initDictionary(final Properties batchConfig) throws BatchContainerServiceException, SQLException {
         final String type = batchConfig.getProperty("persistence.database.db-dictionary", guessDictionary());
         if (type == null) {
@@ -223,15 +305,14 @@ public class JDBCPersistenceManager implements PersistenceManagerService {
     }
 
     protected Connection getConnection() throws SQLException {
+        if (pool != null) { // schema already set on pooled connections
+            return pool.getConnection();
+        }
+
         final Connection connection;
         if (dataSource != null) {
             connection = dataSource.getConnection();
         } else {
-            try {
-                Class.forName(driver);
-            } catch (ClassNotFoundException e) {
-                throw new PersistenceException(e);
-            }
             connection = DriverManager.getConnection(url, user, pwd);
         }
         setSchemaOnConnection(connection);
@@ -253,39 +334,165 @@ public class JDBCPersistenceManager implements PersistenceManagerService {
         cleanupConnection(conn, rs, ps);
     }
 
-    public void createCheckpointData(final CheckpointDataKey key, final CheckpointData value) {
+    @Override
+    public CheckpointData getCheckpointData(final CheckpointDataKey key) {
+        return queryCheckpointData(key);
+    }
+
+    @Override
+    public void removeCheckpointData(final Collection<CheckpointDataKey> keys) {
+        if (keys.isEmpty()) {
+            return;
+        }
+
         Connection conn = null;
         PreparedStatement statement = null;
+        boolean autoCommit = false;
         try {
             conn = getConnection();
-            statement = conn.prepareStatement(dictionary.getInsertCheckpoint());
+            autoCommit = conn.getAutoCommit();
+            if (autoCommit) {
+                conn.setAutoCommit(false);
+            }
 
-            statement.setBytes(1, value.getRestartToken());
-            statement.setString(2, key.getStepName());
-            statement.setString(3, key.getType().name());
-            statement.setLong(4, key.getJobInstanceId());
-            statement.executeUpdate();
-            if (!conn.getAutoCommit()) {
-                conn.commit();
+            statement = conn.prepareStatement(dictionary.getDeleteCheckpointByKey());
+            for (final CheckpointDataKey key : keys) {
+                statement.setLong(1, key.getJobInstanceId());
+                statement.setString(2, key.getType().name());
+                statement.setString(3, key.getStepName());
+                statement.addBatch();
             }
+            statement.executeBatch();
+
+            conn.commit();
         } catch (final SQLException e) {
+            rollbackQuietly(conn);
             throw new PersistenceException(e);
         } finally {
+            if (autoCommit) {
+                try {
+                    conn.setAutoCommit(true);
+                } catch (final SQLException e) {
+                    // no-op
+                }
+            }
             cleanupConnection(conn, null, statement);
         }
     }
 
     @Override
-    public CheckpointData getCheckpointData(final CheckpointDataKey key) {
-        return queryCheckpointData(key);
+    public void setCheckpointData(final CheckpointDataKey key, final CheckpointData value) {
+        setCheckpointData(Collections.singletonMap(key, value));
     }
 
+    /**
+     * update all checkpoints in a single batch then insert the ones which didn't exist,
+     * everything being done in a single transaction.
+     *
+     * @param checkpoints the checkpoints to store
+     */
     @Override
-    public void setCheckpointData(final CheckpointDataKey key, final CheckpointData value) {
-        if (queryCheckpointData(key) != null) {
-            updateCheckpointData(key, value);
-        } else {
-            createCheckpointData(key, value);
+    public void setCheckpointData(final Map<CheckpointDataKey, CheckpointData> checkpoints) {
+        if (checkpoints.isEmpty()) {
+            return;
+        }
+
+        final List<Map.Entry<CheckpointDataKey, CheckpointData>> entries = new ArrayList<Map.Entry<CheckpointDataKey, CheckpointData>>(checkpoints.entrySet());
+
+        Connection conn = null;
+        PreparedStatement update = null;
+        PreparedStatement insert = null;
+        boolean autoCommit = false;
+        try {
+            conn = getConnection();
+            autoCommit = conn.getAutoCommit();
+            if (autoCommit) {
+                conn.setAutoCommit(false);
+            }
+
+            update = conn.prepareStatement(dictionary.getUpdateCheckpoint());
+            for (final Map.Entry<CheckpointDataKey, CheckpointData> entry : entries) {
+                bindCheckpointUpdate(update, entry);
+                update.addBatch();
+            }
+            int[] updated = update.executeBatch();
+            if (hasUnknownCount(updated)) { // some drivers only return Statement.SUCCESS_NO_INFO for batches, redo it row by row
+                updated = new int[entries.size()];
+                for (int i = 0; i < updated.length; i++) {
+                    bindCheckpointUpdate(update, entries.get(i));
+                    updated[i] = update.executeUpdate();
+                }
+            }
+
+            for (int i = 0; i < updated.length; i++) {
+                if (updated[i] != 0) { // already exists
+                    continue;
+                }
+
+                if (insert == null) {
+                    insert = conn.prepareStatement(dictionary.getInsertCheckpoint());
+                }
+
+                final Map.Entry<CheckpointDataKey, CheckpointData> entry = entries.get(i);
+                final CheckpointDataKey key = entry.getKey();
+                insert.setBytes(1, entry.getValue().getRestartToken());
+                insert.setString(2, key.getStepName());
+                insert.setString(3, key.getType().name());
+                insert.setLong(4, key.getJobInstanceId());
+                insert.addBatch();
+            }
+            if (insert != null) {
+                insert.executeBatch();
+            }
+
+            conn.commit();
+        } catch (final SQLException e) {
+            rollbackQuietly(conn);
+            throw new PersistenceException(e);
+        } finally {
+            if (insert != null) {
+                try {
+                    insert.close();
+                } catch (final SQLException e) {
+                    // no-op
+                }
+            }
+            if (autoCommit) {
+                try {
+                    conn.setAutoCommit(true);
+                } catch (final SQLException e) {
+                    // no-op
+                }
+            }
+            cleanupConnection(conn, null, update);
+        }
+    }
+
+    private static void bindCheckpointUpdate(final PreparedStatement update, final Map.Entry<CheckpointDataKey, CheckpointData> entry) throws SQLException {
+        final CheckpointDataKey key = entry.getKey();
+        update.setBytes(1, entry.getValue().getRestartToken());
+        update.setLong(2, key.getJobInstanceId());
+        update.setString(3, key.getType().name());
+        update.setString(4, key.getStepName());
+    }
+
+    private static boolean hasUnknownCount(final int[] counts) {
+        for (final int count : counts) {
+            if (count < 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void rollbackQuietly(final Connection conn) {
+        if (conn == null) {
+            return;
+        }
+        try {
+            conn.rollback();
+        } catch (final SQLException e) {
+            // no-op
         }
     }
 
@@ -302,14 +509,6 @@ public class JDBCPersistenceManager implements PersistenceManagerService {
                 throw new PersistenceException(e);
             }
         } else {
-            try {
-                Class.forName(driver);
-            } catch (final ClassNotFoundException e) {
-                final StringWriter sw = new StringWriter();
-                final PrintWriter pw = new PrintWriter(sw);
-                e.printStackTrace(pw);
-                throw new PersistenceException(e);
-            }
             try {
                 connection = DriverManager.getConnection(url, user, pwd);
             } catch (final SQLException e) {
@@ -362,36 +561,6 @@ public class JDBCPersistenceManager implements PersistenceManagerService {
         }
     }
 
-    /**
-     * update data in DB table
-     *
-     * @param value - serializable object to store
-     * @param key   - the IPersistenceDataKey object
-     *              <p/>
-     *              Ex. update tablename set obj = ? where id = ?
-     */
-    private void updateCheckpointData(final CheckpointDataKey key, final CheckpointData value) {
-        Connection conn = null;
-        PreparedStatement statement = null;
-        try {
-            conn = getConnection();
-            statement = conn.prepareStatement(dictionary.getUpdateCheckpoint());
-            statement.setBytes(1, value.getRestartToken());
-            statement.setLong(2, key.getJobInstanceId());
-            statement.setString(3, key.getType().name());
-            statement.setString(4, key.getStepName());
-            statement.executeUpdate();
-            if (!conn.getAutoCommit()) {
-                conn.commit();
-            }
-        } catch (final SQLException e) {
-            throw new PersistenceException(e);
-        } finally {
-            cleanupConnection(conn, null, statement);
-        }
-    }
-
-
     /**
      * closes connection, result set and statement
      *
@@ -1191,6 +1360,184 @@ public class JDBCPersistenceManager implements PersistenceManagerService {
         }
     }
 
+    /**
+     * creates instances and executions in a single transaction, each kind of insert being sent as a single batch
+     * when the driver returns the generated keys of a batch (detected on the first call, otherwise rows are inserted
+     * one by one reusing the same statements). Job status updates are always sent as a single batch.
+     */
+    @Override
+    public List<RuntimeJobExecution> createSubJobExecutions(final List<String> names, final String apptag, final List<Properties> jobParameters, final BatchStatus batchStatus) {
+        if (names.isEmpty()) {
+            return new ArrayList<RuntimeJobExecution>(0);
+        }
+
+        if (!Boolean.FALSE.equals(batchGeneratedKeys)) {
+            final List<RuntimeJobExecution> executions = createSubJobExecutions(names, apptag, jobParameters, batchStatus, true);
+            if (executions != null) {
+                batchGeneratedKeys = true;
+                return executions;
+            }
+            batchGeneratedKeys = false;
+        }
+        return createSubJobExecutions(names, apptag, jobParameters, batchStatus, false);
+    }
+
+    // returns null (and rolls back) if batch is true and the driver doesn't return all the generated keys of the batch
+    private List<RuntimeJobExecution> createSubJobExecutions(final List<String> names, final String apptag, final List<Properties> jobParameters,
+                                                             final BatchStatus batchStatus, final boolean batch) {
+        final int size = names.size();
+        final Timestamp now = new Timestamp(System.currentTimeMillis());
+
+        Connection conn = null;
+        PreparedStatement instanceStatement = null;
+        PreparedStatement executionStatement = null;
+        PreparedStatement statusStatement = null;
+        boolean autoCommit = false;
+        try {
+            conn = getConnection();
+            autoCommit = conn.getAutoCommit();
+            if (autoCommit) {
+                conn.setAutoCommit(false);
+            }
+
+            instanceStatement = conn.prepareStatement(dictionary.getCreateJobInstance(), Statement.RETURN_GENERATED_KEYS);
+            long[] instanceIds = new long[size];
+            for (int i = 0; i < size; i++) {
+                instanceStatement.setString(1, names.get(i));
+                instanceStatement.setString(2, apptag);
+                if (batch) {
+                    instanceStatement.addBatch();
+                } else {
+                    instanceStatement.executeUpdate();
+                    instanceIds[i] = generatedKey(instanceStatement);
+                }
+            }
+            if (batch) {
+                instanceStatement.executeBatch();
+                instanceIds = generatedKeys(instanceStatement, size);
+                if (instanceIds == null) {
+                    rollbackQuietly(conn);
+                    return null;
+                }
+            }
+
+            executionStatement = conn.prepareStatement(dictionary.getCreateJobExecution(), Statement.RETURN_GENERATED_KEYS);
+            long[] executionIds = new long[size];
+            for (int i = 0; i < size; i++) {
+                executionStatement.setLong(1, instanceIds[i]);
+                executionStatement.setTimestamp(2, now);
+                executionStatement.setTimestamp(3, now);
+                executionStatement.setString(4, batchStatus.name());
+                executionStatement.setObject(5, serialize(jobParameters == null ? null : jobParameters.get(i)));
+                if (batch) {
+                    executionStatement.addBatch();
+                } else {
+                    executionStatement.executeUpdate();
+                    executionIds[i] = generatedKey(executionStatement);
+                }
+            }
+            if (batch) {
+                executionStatement.executeBatch();
+                executionIds = generatedKeys(executionStatement, size);
+                if (executionIds == null) {
+                    rollbackQuietly(conn);
+                    return null;
+                }
+            }
+
+            // same as updateJobStatus() with a new JobStatus
+            statusStatement = conn.prepareStatement(dictionary.getUpdateJobInstanceStatus());
+            for (int i = 0; i < size; i++) {
+                statusStatement.setString(1, null);
+                statusStatement.setString(2, null);
+                statusStatement.setLong(3, 0);
+                statusStatement.setString(4, null);
+                statusStatement.setString(5, null);
+                statusStatement.setString(6, names.get(i));
+                statusStatement.setLong(7, instanceIds[i]);
+                statusStatement.addBatch();
+            }
+            statusStatement.executeBatch();
+
+            conn.commit();
+
+            final List<RuntimeJobExecution> executions = new ArrayList<RuntimeJobExecution>(size);
+            for (int i = 0; i < size; i++) {
+                final JobInstanceImpl jobInstance = new JobInstanceImpl(instanceIds[i]);
+                jobInstance.setJobName(names.get(i));
+
+                final RuntimeJobExecution jobExecution = new RuntimeJobExecution(jobInstance, executionIds[i]);
+                jobExecution.setBatchStatus(batchStatus.name());
+                jobExecution.setCreateTime(now);
+                jobExecution.setLastUpdateTime(now);
+                executions.add(jobExecution);
+            }
+            return executions;
+        } catch (final SQLException e) {
+            rollbackQuietly(conn);
+            throw new PersistenceException(e);
+        } catch (final IOException e) {
+            rollbackQuietly(conn);
+            throw new PersistenceException(e);
+        } finally {
+            for (final PreparedStatement statement : new PreparedStatement[]{ executionStatement, statusStatement }) {
+                if (statement != null) {
+                    try {
+                        statement.close();
+                    } catch (final SQLException e) {
+                        // no-op
+                    }
+                }
+            }
+            if (autoCommit) {
+                try {
+                    conn.setAutoCommit(true);
+                } catch (final SQLException e) {
+                    // no-op
+                }
+            }
+            cleanupConnection(conn, null, instanceStatement);
+        }
+    }
+
+    // keys of a batch or null if the driver doesn't return one key per row (some only return the last one)
+    private static long[] generatedKeys(final PreparedStatement statement, final int size) {
+        try {
+            final ResultSet rs = statement.getGeneratedKeys();
+            if (rs == null) {
+                return null;
+            }
+
+            try {
+                final long[] keys = new long[size];
+                int i = 0;
+                while (rs.next()) {
+                    if (i == size) {
+                        return null;
+                    }
+                    keys[i++] = rs.getLong(1);
+                }
+                return i == size ? keys : null;
+            } finally {
+                rs.close();
+            }
+        } catch (final SQLException e) {
+            return null;
+        }
+    }
+
+    private static long generatedKey(final PreparedStatement statement) throws SQLException {
+        final ResultSet rs = statement.getGeneratedKeys();
+        try {
+            if (rs.next()) {
+                return rs.getLong(1);
+            }
+            return -1;
+        } finally {
+            rs.close();
+        }
+    }
+
     @Override
     public RuntimeFlowInSplitExecution createFlowInSplitExecution(final JobInstance jobInstance, final BatchStatus batchStatus) {
         final Timestamp now = new Timestamp(System.currentTimeMillis());
@@ -1208,37 +1555,16 @@ public class JDBCPersistenceManager implements PersistenceManagerService {
         final String exitStatus = stepContext.getExitStatus();
         final String stepName = stepContext.getStepName();
 
-        long readCount = 0;
-        long writeCount = 0;
-        long commitCount = 0;
-        long rollbackCount = 0;
-        long readSkipCount = 0;
-        long processSkipCount = 0;
-        long filterCount = 0;
-        long writeSkipCount = 0;
         Timestamp startTime = stepContext.getStartTimeTS();
         Timestamp endTime = stepContext.getEndTimeTS();
-
-        final Metric[] metrics = stepContext.getMetrics();
-        for (final Metric metric : metrics) {
-            if (metric.getType().equals(MetricImpl.MetricType.READ_COUNT)) {
-                readCount = metric.getValue();
-            } else if (metric.getType().equals(MetricImpl.MetricType.WRITE_COUNT)) {
-                writeCount = metric.getValue();
-            } else if (metric.getType().equals(MetricImpl.MetricType.PROCESS_SKIP_COUNT)) {
-                processSkipCount = metric.getValue();
-            } else if (metric.getType().equals(MetricImpl.MetricType.COMMIT_COUNT)) {
-                commitCount = metric.getValue();
-            } else if (metric.getType().equals(MetricImpl.MetricType.ROLLBACK_COUNT)) {
-                rollbackCount = metric.getValue();
-            } else if (metric.getType().equals(MetricImpl.MetricType.READ_SKIP_COUNT)) {
-                readSkipCount = metric.getValue();
-            } else if (metric.getType().equals(MetricImpl.MetricType.FILTER_COUNT)) {
-                filterCount = metric.getValue();
-            } else if (metric.getType().equals(MetricImpl.MetricType.WRITE_SKIP_COUNT)) {
-                writeSkipCount = metric.getValue();
-            }
-        }
+        final long readCount = stepContext.getMetricValue(Metric.MetricType.READ_COUNT);
+        final long writeCount = stepContext.getMetricValue(Metric.MetricType.WRITE_COUNT);
+        final long processSkipCount = stepContext.getMetricValue(Metric.MetricType.PROCESS_SKIP_COUNT);
+        final long commitCount = stepContext.getMetricValue(Metric.MetricType.COMMIT_COUNT);
+        final long rollbackCount = stepContext.getMetricValue(Metric.MetricType.ROLLBACK_COUNT);
+        final long readSkipCount = stepContext.getMetricValue(Metric.MetricType.READ_SKIP_COUNT);
+        final long filterCount = stepContext.getMetricValue(Metric.MetricType.FILTER_COUNT);
+        final long writeSkipCount = stepContext.getMetricValue(Metric.MetricType.WRITE_SKIP_COUNT);
         final Serializable persistentData = stepContext.getPersistentUserData();
 
         return createStepExecution(rootJobExecId, batchStatus, exitStatus, stepName, readCount,
@@ -1304,35 +1630,14 @@ public class JDBCPersistenceManager implements PersistenceManagerService {
         final Timestamp startTime = stepContext.getStartTimeTS();
         final Timestamp endTime = stepContext.getEndTimeTS();
 
-        long readCount = 0;
-        long writeCount = 0;
-        long commitCount = 0;
-        long rollbackCount = 0;
-        long readSkipCount = 0;
-        long processSkipCount = 0;
-        long filterCount = 0;
-        long writeSkipCount = 0;
-
-        final Metric[] metrics = stepContext.getMetrics();
-        for (final Metric metric : metrics) {
-            if (metric.getType().equals(MetricImpl.MetricType.READ_COUNT)) {
-                readCount = metric.getValue();
-            } else if (metric.getType().equals(MetricImpl.MetricType.WRITE_COUNT)) {
-                writeCount = metric.getValue();
-            } else if (metric.getType().equals(MetricImpl.MetricType.PROCESS_SKIP_COUNT)) {
-                processSkipCount = metric.getValue();
-            } else if (metric.getType().equals(MetricImpl.MetricType.COMMIT_COUNT)) {
-                commitCount = metric.getValue();
-            } else if (metric.getType().equals(MetricImpl.MetricType.ROLLBACK_COUNT)) {
-                rollbackCount = metric.getValue();
-            } else if (metric.getType().equals(MetricImpl.MetricType.READ_SKIP_COUNT)) {
-                readSkipCount = metric.getValue();
-            } else if (metric.getType().equals(MetricImpl.MetricType.FILTER_COUNT)) {
-                filterCount = metric.getValue();
-            } else if (metric.getType().equals(MetricImpl.MetricType.WRITE_SKIP_COUNT)) {
-                writeSkipCount = metric.getValue();
-            }
-        }
+        final long readCount = stepContext.getMetricValue(Metric.MetricType.READ_COUNT);
+        final long writeCount = stepContext.getMetricValue(Metric.MetricType.WRITE_COUNT);
+        final long processSkipCount = stepContext.getMetricValue(Metric.MetricType.PROCESS_SKIP_COUNT);
+        final long commitCount = stepContext.getMetricValue(Metric.MetricType.COMMIT_COUNT);
+        final long rollbackCount = stepContext.getMetricValue(Metric.MetricType.ROLLBACK_COUNT);
+        final long readSkipCount = stepContext.getMetricValue(Metric.MetricType.READ_SKIP_COUNT);
+        final long filterCount = stepContext.getMetricValue(Metric.MetricType.FILTER_COUNT);
+        final long writeSkipCount = stepContext.getMetricValue(Metric.MetricType.WRITE_SKIP_COUNT);
         final Serializable persistentData = stepContext.getPersistentUserData();
 
         updateStepExecution(stepExecutionId, rootJobExecId, batchStatus, exitStatus, stepName, readCount,
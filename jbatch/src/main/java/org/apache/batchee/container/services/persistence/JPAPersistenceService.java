@@ -39,6 +39,9 @@ import org.apache.batchee.container.services.persistence.jpa.provider.DefaultEnt
 import org.apache.batchee.container.services.persistence.jpa.provider.DefaultTransactionProvider;
 import org.apache.batchee.container.status.JobStatus;
 import org.apache.batchee.container.status.StepStatus;
+import org.apache.batchee.spi.BulkCheckpointPersistence;
+import org.apache.batchee.spi.BulkSubJobPersistence;
+import org.apache.batchee.spi.CheckpointRemoval;
 import org.apache.batchee.spi.PersistenceManagerService;
 
 import javax.batch.operations.NoSuchJobExecutionException;
@@ -52,6 +55,7 @@ import javax.persistence.TypedQuery;
 import java.io.IOException;
 import java.sql.Timestamp;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -63,7 +67,7 @@ import java.util.Set;
 import static org.apache.batchee.container.util.Serializations.deserialize;
 import static org.apache.batchee.container.util.Serializations.serialize;
 
-public class JPAPersistenceService implements PersistenceManagerService {
+public class JPAPersistenceService implements PersistenceManagerService, BulkCheckpointPersistence, BulkSubJobPersistence, CheckpointRemoval {
     private static final String[] DELETE_QUERIES = {
         StepExecutionEntity.Queries.DELETE_BY_INSTANCE_ID, CheckpointEntity.Queries.DELETE_BY_INSTANCE_ID,
         JobExecutionEntity.Queries.DELETE_BY_INSTANCE_ID, JobInstanceEntity.Queries.DELETE_BY_INSTANCE_ID
@@ -218,14 +222,14 @@ public class JPAPersistenceService implements PersistenceManagerService {
             try {
                 final StepExecutionEntity entity = em.find(StepExecutionEntity.class, stepContext.getStepExecutionId());
                 setStepData(em, jobExecId, stepContext,
-                    stepContext.metricsAsMap().get(Metric.MetricType.READ_COUNT.name()).getValue(),
-                    stepContext.metricsAsMap().get(Metric.MetricType.WRITE_COUNT.name()).getValue(),
-                    stepContext.metricsAsMap().get(Metric.MetricType.COMMIT_COUNT.name()).getValue(),
-                    stepContext.metricsAsMap().get(Metric.MetricType.ROLLBACK_COUNT.name()).getValue(),
-                    stepContext.metricsAsMap().get(Metric.MetricType.READ_SKIP_COUNT.name()).getValue(),
-                    stepContext.metricsAsMap().get(Metric.MetricType.PROCESS_SKIP_COUNT.name()).getValue(),
-                    stepContext.metricsAsMap().get(Metric.MetricType.FILTER_COUNT.name()).getValue(),
-                    stepContext.metricsAsMap().get(Metric.MetricType.WRITE_SKIP_COUNT.name()).getValue(),
+                    stepContext.getMetricValue(Metric.MetricType.READ_COUNT),
+                    stepContext.getMetricValue(Metric.MetricType.WRITE_COUNT),
+                    stepContext.getMetricValue(Metric.MetricType.COMMIT_COUNT),
+                    stepContext.getMetricValue(Metric.MetricType.ROLLBACK_COUNT),
+                    stepContext.getMetricValue(Metric.MetricType.READ_SKIP_COUNT),
+                    stepContext.getMetricValue(Metric.MetricType.PROCESS_SKIP_COUNT),
+                    stepContext.getMetricValue(Metric.MetricType.FILTER_COUNT),
+                    stepContext.getMetricValue(Metric.MetricType.WRITE_SKIP_COUNT),
                     entity);
                 txProvider.commit(tx);
             } catch (final Exception e) {
@@ -243,14 +247,14 @@ public class JPAPersistenceService implements PersistenceManagerService {
         final EntityManager em = emProvider.newEntityManager();
         try {
             setStepData(em, jobExecId, stepContext,
-                stepContext.metricsAsMap().get(Metric.MetricType.READ_COUNT.name()).getValue(),
-                stepContext.metricsAsMap().get(Metric.MetricType.WRITE_COUNT.name()).getValue(),
-                stepContext.metricsAsMap().get(Metric.MetricType.COMMIT_COUNT.name()).getValue(),
-                stepContext.metricsAsMap().get(Metric.MetricType.ROLLBACK_COUNT.name()).getValue(),
-                stepContext.metricsAsMap().get(Metric.MetricType.READ_SKIP_COUNT.name()).getValue(),
-                stepContext.metricsAsMap().get(Metric.MetricType.PROCESS_SKIP_COUNT.name()).getValue(),
-                stepContext.metricsAsMap().get(Metric.MetricType.FILTER_COUNT.name()).getValue(),
-                stepContext.metricsAsMap().get(Metric.MetricType.WRITE_SKIP_COUNT.name()).getValue(),
+                stepContext.getMetricValue(Metric.MetricType.READ_COUNT),
+                stepContext.getMetricValue(Metric.MetricType.WRITE_COUNT),
+                stepContext.getMetricValue(Metric.MetricType.COMMIT_COUNT),
+                stepContext.getMetricValue(Metric.MetricType.ROLLBACK_COUNT),
+                stepContext.getMetricValue(Metric.MetricType.READ_SKIP_COUNT),
+                stepContext.getMetricValue(Metric.MetricType.PROCESS_SKIP_COUNT),
+                stepContext.getMetricValue(Metric.MetricType.FILTER_COUNT),
+                stepContext.getMetricValue(Metric.MetricType.WRITE_SKIP_COUNT),
                 entity);
 
             final Object tx = txProvider.start(em);
@@ -580,6 +584,54 @@ public class JPAPersistenceService implements PersistenceManagerService {
         return createJobInstance(name, apptag, null);
     }
 
+    @Override
+    public List<RuntimeJobExecution> createSubJobExecutions(final List<String> names, final String apptag, final List<Properties> jobParameters, final BatchStatus batchStatus) {
+        final EntityManager em = emProvider.newEntityManager();
+        try {
+            final Timestamp now = new Timestamp(System.currentTimeMillis());
+            final List<JobExecutionEntity> entities = new ArrayList<JobExecutionEntity>(names.size());
+
+            final Object tx = txProvider.start(em);
+            try {
+                for (int i = 0; i < names.size(); i++) {
+                    final JobInstanceEntity instance = new JobInstanceEntity(); // new status is the default state
+                    instance.setTag(apptag);
+                    instance.setName(names.get(i));
+                    em.persist(instance);
+
+                    final JobExecutionEntity execution = new JobExecutionEntity();
+                    execution.setJobProperties(jobParameters == null ? null : jobParameters.get(i));
+                    execution.setCreateTime(now);
+                    execution.setUpdateTime(now);
+                    execution.setBatchStatus(batchStatus);
+                    execution.setInstance(instance);
+                    em.persist(execution);
+
+                    entities.add(execution);
+                }
+                txProvider.commit(tx);
+            } catch (final Exception e) {
+                txProvider.rollback(tx, e);
+                throw new BatchContainerRuntimeException(e);
+            }
+
+            final List<RuntimeJobExecution> executions = new ArrayList<RuntimeJobExecution>(entities.size());
+            for (final JobExecutionEntity execution : entities) {
+                final JobInstanceImpl jobInstance = new JobInstanceImpl(execution.getInstance().getJobInstanceId());
+                jobInstance.setJobName(execution.getInstance().getName());
+
+                final RuntimeJobExecution jobExecution = new RuntimeJobExecution(jobInstance, execution.getExecutionId());
+                jobExecution.setBatchStatus(batchStatus.name());
+                jobExecution.setCreateTime(now);
+                jobExecution.setLastUpdateTime(now);
+                executions.add(jobExecution);
+            }
+            return executions;
+        } finally {
+            emProvider.release(em);
+        }
+    }
+
     @Override
     public List<Long> jobOperatorGetJobInstanceIds(final String jobName, final int start, final int count) {
         return jobOperatorGetJobInstanceIds(jobName, null, start, count);
@@ -768,33 +820,64 @@ public class JPAPersistenceService implements PersistenceManagerService {
 
     @Override
     public void setCheckpointData(final CheckpointDataKey key, final CheckpointData value) {
+        setCheckpointData(Collections.singletonMap(key, value));
+    }
+
+    @Override
+    public void setCheckpointData(final Map<CheckpointDataKey, CheckpointData> checkpointData) {
         final EntityManager em = emProvider.newEntityManager();
         try {
             final Object tx = txProvider.start(em);
             try {
-                final List<CheckpointEntity> checkpoints = em.createNamedQuery(CheckpointEntity.Queries.FIND, CheckpointEntity.class)
-                    .setParameter("jobInstanceId", key.getJobInstanceId())
-                    .setParameter("stepName", key.getStepName())
-                    .setParameter("type", key.getType())
-                    .getResultList();
+                for (final Map.Entry<CheckpointDataKey, CheckpointData> entry : checkpointData.entrySet()) {
+                    final CheckpointDataKey key = entry.getKey();
+                    final List<CheckpointEntity> checkpoints = em.createNamedQuery(CheckpointEntity.Queries.FIND, CheckpointEntity.class)
+                        .setParameter("jobInstanceId", key.getJobInstanceId())
+                        .setParameter("stepName", key.getStepName())
+                        .setParameter("type", key.getType())
+                        .getResultList();
+
+                    final CheckpointEntity checkpoint;
+                    final boolean isNew = checkpoints == null || checkpoints.isEmpty();
+                    if (isNew) {
+                        checkpoint = new CheckpointEntity();
+                        checkpoint.setInstance(em.find(JobInstanceEntity.class, key.getJobInstanceId()));
+                        checkpoint.setStepName(key.getStepName());
+                        checkpoint.setType(key.getType());
+                    } else {
+                        checkpoint = checkpoints.iterator().next();
+                    }
 
-                final CheckpointEntity checkpoint;
-                final boolean isNew = checkpoints == null || checkpoints.isEmpty();
-                if (isNew) {
-                    checkpoint = new CheckpointEntity();
-                    checkpoint.setInstance(em.find(JobInstanceEntity.class, key.getJobInstanceId()));
-                    checkpoint.setStepName(key.getStepName());
-                    checkpoint.setType(key.getType());
-                } else {
-                    checkpoint = checkpoints.iterator().next();
-                }
+                    checkpoint.setData(entry.getValue().getRestartToken());
 
-                checkpoint.setData(value.getRestartToken());
+                    if (isNew) {
+                        em.persist(checkpoint);
+                    } else {
+                        em.merge(checkpoint);
+                    }
+                }
+                txProvider.commit(tx);
+            } catch (final Exception e) {
+                txProvider.rollback(tx, e);
+                throw new BatchContainerRuntimeException(e);
+            }
+        } finally {
+            emProvider.release(em);
+        }
+    }
 
-                if (isNew) {
-                    em.persist(checkpoint);
-                } else {
-                    em.merge(checkpoint);
+    @Override
+    public void removeCheckpointData(final Collection<CheckpointDataKey> keys) {
+        final EntityManager em = emProvider.newEntityManager();
+        try {
+            final Object tx = txProvider.start(em);
+            try {
+                for (final CheckpointDataKey key : keys) {
+                    em.createNamedQuery(CheckpointEntity.Queries.DELETE)
+                        .setParameter("jobInstanceId", key.getJobInstanceId())
+                        .setParameter("stepName", key.getStepName())
+                        .setParameter("type", key.getType())
+                        .executeUpdate();
                 }
                 txProvider.commit(tx);
             } catch (final Exception e) {
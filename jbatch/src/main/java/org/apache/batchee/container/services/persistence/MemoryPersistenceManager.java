@@ -18,7 +18,6 @@ package org.apache.batchee.container.services.persistence;
 
 import org.apache.batchee.container.impl.JobExecutionImpl;
 import org.apache.batchee.container.impl.JobInstanceImpl;
-import org.apache.batchee.container.impl.MetricImpl;
 import org.apache.batchee.container.impl.StepContextImpl;
 import org.apache.batchee.container.impl.StepExecutionImpl;
 import org.apache.batchee.container.impl.controller.PartitionedStepBuilder;
@@ -29,6 +28,7 @@ import org.apache.batchee.container.impl.jobinstance.RuntimeJobExecution;
 import org.apache.batchee.container.services.InternalJobExecution;
 import org.apache.batchee.container.status.JobStatus;
 import org.apache.batchee.container.status.StepStatus;
+import org.apache.batchee.spi.CheckpointRemoval;
 import org.apache.batchee.spi.PersistenceManagerService;
 
 import javax.batch.operations.NoSuchJobExecutionException;
@@ -54,7 +54,7 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.atomic.AtomicLong;
 
-public class MemoryPersistenceManager implements PersistenceManagerService {
+public class MemoryPersistenceManager implements PersistenceManagerService, CheckpointRemoval {
     private static final Collection<BatchStatus> RUNNING_STATUSES = new CopyOnWriteArrayList<BatchStatus>() {{
         add(BatchStatus.STARTED);
         add(BatchStatus.STARTING);
@@ -356,37 +356,16 @@ public class MemoryPersistenceManager implements PersistenceManagerService {
         final String exitStatus = stepContext.getExitStatus();
         final String stepName = stepContext.getStepName();
 
-        long readCount = 0;
-        long writeCount = 0;
-        long commitCount = 0;
-        long rollbackCount = 0;
-        long readSkipCount = 0;
-        long processSkipCount = 0;
-        long filterCount = 0;
-        long writeSkipCount = 0;
         Timestamp startTime = stepContext.getStartTimeTS();
         Timestamp endTime = stepContext.getEndTimeTS();
-
-        final Metric[] metrics = stepContext.getMetrics();
-        for (final Metric metric : metrics) {
-            if (metric.getType().equals(MetricImpl.MetricType.READ_COUNT)) {
-                readCount = metric.getValue();
-            } else if (metric.getType().equals(MetricImpl.MetricType.WRITE_COUNT)) {
-                writeCount = metric.getValue();
-            } else if (metric.getType().equals(MetricImpl.MetricType.PROCESS_SKIP_COUNT)) {
-                processSkipCount = metric.getValue();
-            } else if (metric.getType().equals(MetricImpl.MetricType.COMMIT_COUNT)) {
-                commitCount = metric.getValue();
-            } else if (metric.getType().equals(MetricImpl.MetricType.ROLLBACK_COUNT)) {
-                rollbackCount = metric.getValue();
-            } else if (metric.getType().equals(MetricImpl.MetricType.READ_SKIP_COUNT)) {
-                readSkipCount = metric.getValue();
-            } else if (metric.getType().equals(MetricImpl.MetricType.FILTER_COUNT)) {
-                filterCount = metric.getValue();
-            } else if (metric.getType().equals(MetricImpl.MetricType.WRITE_SKIP_COUNT)) {
-                writeSkipCount = metric.getValue();
-            }
-        }
+        final long readCount = stepContext.getMetricValue(Metric.MetricType.READ_COUNT);
+        final long writeCount = stepContext.getMetricValue(Metric.MetricType.WRITE_COUNT);
+        final long processSkipCount = stepContext.getMetricValue(Metric.MetricType.PROCESS_SKIP_COUNT);
+        final long commitCount = stepContext.getMetricValue(Metric.MetricType.COMMIT_COUNT);
+        final long rollbackCount = stepContext.getMetricValue(Metric.MetricType.ROLLBACK_COUNT);
+        final long readSkipCount = stepContext.getMetricValue(Metric.MetricType.READ_SKIP_COUNT);
+        final long filterCount = stepContext.getMetricValue(Metric.MetricType.FILTER_COUNT);
+        final long writeSkipCount = stepContext.getMetricValue(Metric.MetricType.WRITE_SKIP_COUNT);
         final Serializable persistentData = stepContext.getPersistentUserData();
 
         return createStepExecution(rootJobExecId, batchStatus, exitStatus, stepName, readCount,
@@ -451,37 +430,16 @@ public class MemoryPersistenceManager implements PersistenceManagerService {
         final String exitStatus = stepContext.getExitStatus();
         final String stepName = stepContext.getStepName();
 
-        long readCount = 0;
-        long writeCount = 0;
-        long commitCount = 0;
-        long rollbackCount = 0;
-        long readSkipCount = 0;
-        long processSkipCount = 0;
-        long filterCount = 0;
-        long writeSkipCount = 0;
         Timestamp startTime = stepContext.getStartTimeTS();
         Timestamp endTime = stepContext.getEndTimeTS();
-
-        final Metric[] metrics = stepContext.getMetrics();
-        for (final Metric metric : metrics) {
-            if (metric.getType().equals(MetricImpl.MetricType.READ_COUNT)) {
-                readCount = metric.getValue();
-            } else if (metric.getType().equals(MetricImpl.MetricType.WRITE_COUNT)) {
-                writeCount = metric.getValue();
-            } else if (metric.getType().equals(MetricImpl.MetricType.PROCESS_SKIP_COUNT)) {
-                processSkipCount = metric.getValue();
-            } else if (metric.getType().equals(MetricImpl.MetricType.COMMIT_COUNT)) {
-                commitCount = metric.getValue();
-            } else if (metric.getType().equals(MetricImpl.MetricType.ROLLBACK_COUNT)) {
-                rollbackCount = metric.getValue();
-            } else if (metric.getType().equals(MetricImpl.MetricType.READ_SKIP_COUNT)) {
-                readSkipCount = metric.getValue();
-            } else if (metric.getType().equals(MetricImpl.MetricType.FILTER_COUNT)) {
-                filterCount = metric.getValue();
-            } else if (metric.getType().equals(MetricImpl.MetricType.WRITE_SKIP_COUNT)) {
-                writeSkipCount = metric.getValue();
-            }
-        }
+        final long readCount = stepContext.getMetricValue(Metric.MetricType.READ_COUNT);
+        final long writeCount = stepContext.getMetricValue(Metric.MetricType.WRITE_COUNT);
+        final long processSkipCount = stepContext.getMetricValue(Metric.MetricType.PROCESS_SKIP_COUNT);
+        final long commitCount = stepContext.getMetricValue(Metric.MetricType.COMMIT_COUNT);
+        final long rollbackCount = stepContext.getMetricValue(Metric.MetricType.ROLLBACK_COUNT);
+        final long readSkipCount = stepContext.getMetricValue(Metric.MetricType.READ_SKIP_COUNT);
+        final long filterCount = stepContext.getMetricValue(Metric.MetricType.FILTER_COUNT);
+        final long writeSkipCount = stepContext.getMetricValue(Metric.MetricType.WRITE_SKIP_COUNT);
         final Serializable persistentData = stepContext.getPersistentUserData();
 
         updateStepExecution(stepExecutionId, jobExecId, batchStatus, exitStatus, stepName, readCount,
@@ -581,6 +539,19 @@ public class MemoryPersistenceManager implements PersistenceManagerService {
         return data.checkpointData.get(key);
     }
 
+    @Override
+    public void removeCheckpointData(final Collection<CheckpointDataKey> keys) {
+        for (final CheckpointDataKey key : keys) {
+            data.checkpointData.remove(key);
+            final Structures.JobInstanceData jobInstanceData = data.jobInstanceData.get(key.getJobInstanceId());
+            if (jobInstanceData != null) {
+                synchronized (jobInstanceData.checkpoints) {
+                    jobInstanceData.checkpoints.remove(key);
+                }
+            }
+        }
+    }
+
     @Override
     public long getMostRecentExecutionId(final long jobInstanceId) {
         final Map<Date, Structures.ExecutionInstanceData> filter = new TreeMap<Date, Structures.ExecutionInstanceData>(ReverseDateComparator.INSTANCE);
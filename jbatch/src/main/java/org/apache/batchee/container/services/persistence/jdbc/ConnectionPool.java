@@ -0,0 +1,375 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.batchee.container.services.persistence.jdbc;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * A light connection pool used by the JDBC persistence when no datasource is provided.
+ * Each physical connection keeps a LRU cache of its prepared statements.
+ */
+public class ConnectionPool implements ConnectionPoolMBean {
+    private static final Logger LOGGER = Logger.getLogger(ConnectionPool.class.getName());
+
+    private static final Class<?>[] CONNECTION_API = new Class<?>[]{ Connection.class };
+    private static final Class<?>[] STATEMENT_API = new Class<?>[]{ PreparedStatement.class };
+
+    private final String url;
+    private final String user;
+    private final String password;
+    private final String schema;
+    private final int maxActive;
+    private final long maxWait;
+    private final int statementCacheSize;
+
+    private final BlockingQueue<PhysicalConnection> idle;
+    private final Semaphore permits;
+    private volatile boolean closed = false;
+
+    private final AtomicLong created = new AtomicLong();
+    private final AtomicLong destroyed = new AtomicLong();
+    private final AtomicLong borrowed = new AtomicLong();
+    private final AtomicLong waitTime = new AtomicLong();
+    private final AtomicLong statementHits = new AtomicLong();
+    private final AtomicLong statementMisses = new AtomicLong();
+
+    public ConnectionPool(final String url, final String user, final String password, final String schema,
+                          final int maxActive, final int maxIdle, final long maxWait, final int statementCacheSize) {
+        this.url = url;
+        this.user = user;
+        this.password = password;
+        this.schema = schema;
+        this.maxActive = maxActive;
+        this.maxWait = maxWait;
+        this.statementCacheSize = statementCacheSize;
+        this.idle = new LinkedBlockingQueue<PhysicalConnection>(Math.max(1, maxIdle));
+        this.permits = new Semaphore(maxActive, true);
+    }
+
+    public Connection getConnection() throws SQLException {
+        if (closed) {
+            throw new SQLException("Connection pool closed");
+        }
+
+        final long start = System.nanoTime();
+        try {
+            if (!permits.tryAcquire(maxWait, TimeUnit.MILLISECONDS)) {
+                throw new SQLException("No connection available after " + maxWait + "ms (max-active=" + maxActive + ")");
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException(e);
+        }
+        waitTime.addAndGet(System.nanoTime() - start);
+
+        try {
+            PhysicalConnection physical = idle.poll();
+            while (physical != null && physical.connection.isClosed()) {
+                destroy(physical);
+                physical = idle.poll();
+            }
+            if (physical == null) {
+                physical = newConnection();
+            }
+
+            borrowed.incrementAndGet();
+            return Connection.class.cast(Proxy.newProxyInstance(ConnectionPool.class.getClassLoader(), CONNECTION_API, new PooledConnectionHandler(physical)));
+        } catch (final SQLException e) {
+            permits.release();
+            throw e;
+        } catch (final RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    public void close() {
+        closed = true;
+
+        PhysicalConnection connection;
+        while ((connection = idle.poll()) != null) {
+            destroy(connection);
+        }
+    }
+
+    private PhysicalConnection newConnection() throws SQLException {
+        final Connection connection = DriverManager.getConnection(url, user, password);
+        if (schema != null) { // done once per physical connection
+            final PreparedStatement ps = connection.prepareStatement("set schema ?");
+            try {
+                ps.setString(1, schema);
+                ps.executeUpdate();
+            } finally {
+                ps.close();
+            }
+        }
+        created.incrementAndGet();
+        return new PhysicalConnection(connection);
+    }
+
+    private void release(final PhysicalConnection physical) {
+        try {
+            if (closed || physical.connection.isClosed() || !reset(physical) || !idle.offer(physical)) {
+                destroy(physical);
+            }
+        } catch (final SQLException e) {
+            destroy(physical);
+        } finally {
+            permits.release();
+        }
+    }
+
+    // next borrower must get the connection as it was created: no pending transaction, same autocommit/isolation
+    private boolean reset(final PhysicalConnection physical) {
+        final Connection connection = physical.connection;
+        try {
+            if (!connection.getAutoCommit()) {
+                connection.rollback();
+            }
+            if (connection.getAutoCommit() != physical.autoCommit) {
+                connection.setAutoCommit(physical.autoCommit);
+            }
+            if (connection.getTransactionIsolation() != physical.isolation) {
+                connection.setTransactionIsolation(physical.isolation);
+            }
+            return true;
+        } catch (final SQLException e) {
+            LOGGER.log(Level.FINE, "Can't reset " + connection + ", destroying it", e);
+            return false;
+        }
+    }
+
+    private void destroy(final PhysicalConnection physical) {
+        destroyed.incrementAndGet();
+        synchronized (physical.statements) {
+            for (final CachedStatement statement : physical.statements.values()) {
+                statement.closeQuietly();
+            }
+            physical.statements.clear();
+        }
+        try {
+            physical.connection.close();
+        } catch (final SQLException e) {
+            LOGGER.log(Level.FINE, e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public int getMaxActive() {
+        return maxActive;
+    }
+
+    @Override
+    public int getActive() {
+        return maxActive - permits.availablePermits();
+    }
+
+    @Override
+    public int getIdle() {
+        return idle.size();
+    }
+
+    @Override
+    public long getCreatedCount() {
+        return created.get();
+    }
+
+    @Override
+    public long getDestroyedCount() {
+        return destroyed.get();
+    }
+
+    @Override
+    public long getBorrowedCount() {
+        return borrowed.get();
+    }
+
+    @Override
+    public long getTotalWaitTimeMs() {
+        return TimeUnit.NANOSECONDS.toMillis(waitTime.get());
+    }
+
+    @Override
+    public long getStatementCacheHits() {
+        return statementHits.get();
+    }
+
+    @Override
+    public long getStatementCacheMisses() {
+        return statementMisses.get();
+    }
+
+    // statements are attached to the physical connection, not to the borrowed proxy
+    private class PhysicalConnection {
+        private final Connection connection;
+        private final Map<String, CachedStatement> statements;
+        private final boolean autoCommit;
+        private final int isolation;
+
+        public PhysicalConnection(final Connection connection) throws SQLException {
+            this.connection = connection;
+            this.autoCommit = connection.getAutoCommit();
+            this.isolation = connection.getTransactionIsolation();
+            this.statements = new LinkedHashMap<String, CachedStatement>(16, .75f, true) {
+                @Override
+                protected boolean removeEldestEntry(final Map.Entry<String, CachedStatement> eldest) {
+                    if (size() > statementCacheSize && !eldest.getValue().inUse) {
+                        eldest.getValue().closeQuietly();
+                        return true;
+                    }
+                    return false;
+                }
+            };
+        }
+    }
+
+    private class PooledConnectionHandler implements InvocationHandler {
+        private final PhysicalConnection physical;
+        private boolean released = false;
+
+        public PooledConnectionHandler(final PhysicalConnection physical) {
+            this.physical = physical;
+        }
+
+        @Override
+        public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
+            final String name = method.getName();
+            if ("close".equals(name)) {
+                if (!released) { // close() can be called multiple times
+                    released = true;
+                    release(physical);
+                }
+                return null;
+            }
+            if ("isClosed".equals(name)) {
+                return released || physical.connection.isClosed();
+            }
+            if (released) {
+                throw new SQLException("Connection already closed");
+            }
+            if ("toString".equals(name)) {
+                return "PooledConnection[" + physical.connection + "]";
+            }
+            if (statementCacheSize > 0 && "prepareStatement".equals(name) && args.length <= 2
+                    && (args.length == 1 || int.class.equals(method.getParameterTypes()[1]))) {
+                return prepareStatement(Connection.class.cast(proxy), args);
+            }
+
+            try {
+                return method.invoke(physical.connection, args);
+            } catch (final InvocationTargetException ite) {
+                throw ite.getCause();
+            }
+        }
+
+        private PreparedStatement prepareStatement(final Connection borrowed, final Object[] args) throws SQLException {
+            final String sql = String.class.cast(args[0]);
+            final int keys = args.length == 1 ? PreparedStatement.NO_GENERATED_KEYS : Integer.class.cast(args[1]);
+            final String key = keys + ":" + sql;
+
+            final Map<String, CachedStatement> statements = physical.statements;
+            synchronized (statements) {
+                final CachedStatement cached = statements.get(key);
+                if (cached != null && !cached.inUse && !cached.delegate.isClosed()) {
+                    statementHits.incrementAndGet();
+                    cached.inUse = true;
+                    cached.connection = borrowed;
+                    return cached.proxy;
+                }
+                statementMisses.incrementAndGet();
+
+                final CachedStatement statement = new CachedStatement(physical.connection.prepareStatement(sql, keys));
+                statement.connection = borrowed;
+                if (cached == null || !cached.inUse) { // else a nested usage of the same sql, don't replace the one in use
+                    if (cached != null) {
+                        statements.remove(key);
+                        cached.closeQuietly();
+                    }
+                    statements.put(key, statement);
+                    statement.inUse = true;
+                } else {
+                    statement.uncached = true;
+                }
+                return statement.proxy;
+            }
+        }
+    }
+
+    private static class CachedStatement implements InvocationHandler {
+        private final PreparedStatement delegate;
+        private final PreparedStatement proxy;
+        private volatile boolean inUse = false;
+        private volatile Connection connection; // the borrowed proxy, closing the physical connection would bypass the pool
+        private boolean uncached = false;
+
+        public CachedStatement(final PreparedStatement delegate) {
+            this.delegate = delegate;
+            this.proxy = PreparedStatement.class.cast(Proxy.newProxyInstance(ConnectionPool.class.getClassLoader(), STATEMENT_API, this));
+        }
+
+        @Override
+        public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
+            final String name = method.getName();
+            if ("close".equals(name)) {
+                if (uncached) {
+                    delegate.close();
+                } else if (inUse) {
+                    inUse = false;
+                    delegate.clearParameters();
+                    delegate.clearBatch();
+                }
+                return null;
+            }
+            if ("isClosed".equals(name)) { // cached statements stay open while idle
+                return delegate.isClosed();
+            }
+            if ("getConnection".equals(name)) {
+                return connection;
+            }
+
+            try {
+                return method.invoke(delegate, args);
+            } catch (final InvocationTargetException ite) {
+                throw ite.getCause();
+            }
+        }
+
+        private void closeQuietly() {
+            try {
+                delegate.close();
+            } catch (final SQLException e) {
+                // no-op
+            }
+        }
+    }
+}
@@ -35,6 +35,7 @@ public class Dictionary {
         String SELECT_CHECKPOINT = SELECT + "%s" + FROM + "%s" + WHERE + "%s = ? and %s = ? and %s = ?";
         String UPDATE_CHECKPOINT = UPDATE + "%s set %s = ?" + WHERE + "%s = ? and %s = ? and %s = ?";
         String DELETE_CHECKPOINT = DELETE + "%s" + WHERE + "%s = ?";
+        String DELETE_CHECKPOINT_BY_KEY = DELETE + "%s" + WHERE + "%s = ? and %s = ? and %s = ?";
 
         String[] JOB_INSTANCE_COLUMNS = { "jobInstanceId", "batchStatus", "exitStatus", "jobName", "jobXml", "latestExecution", "restartOn", "step", "tag" };
         String CREATE_JOB_INSTANCE = CREATE_TABLE + "%s(%s %s %s, %s %s, %s %s, %s %s, %s %s, %s %s, %s %s, %s %s, %s %s, PRIMARY KEY (%s))";
@@ -84,6 +85,7 @@ public class Dictionary {
     private final String selectCheckpoint;
     private final String updateCheckpoint;
     private final String deleteCheckpoint;
+    private final String deleteCheckpointByKey;
     private final String jobInstanceTable;
     private final String createJobInstanceTable;
     private final String countJobInstanceByName;
@@ -148,6 +150,7 @@ public class Dictionary {
             this.selectCheckpoint = String.format(SQL.SELECT_CHECKPOINT, checkpointColumns[1], checkpointTable, checkpointColumns[4], checkpointColumns[3], checkpointColumns[2]);
             this.updateCheckpoint = String.format(SQL.UPDATE_CHECKPOINT, checkpointTable, checkpointColumns[1], checkpointColumns[4], checkpointColumns[3], checkpointColumns[2]);
             this.deleteCheckpoint = String.format(SQL.DELETE_CHECKPOINT, checkpointTable, checkpointColumns[4]);
+            this.deleteCheckpointByKey = String.format(SQL.DELETE_CHECKPOINT_BY_KEY, checkpointTable, checkpointColumns[4], checkpointColumns[3], checkpointColumns[2]);
         }
 
         { // jobInstance
@@ -281,6 +284,10 @@ public class Dictionary {
         return deleteCheckpoint;
     }
 
+    public String getDeleteCheckpointByKey() {
+        return deleteCheckpointByKey;
+    }
+
     public String getJobInstanceTable() {
         return jobInstanceTable;
     }
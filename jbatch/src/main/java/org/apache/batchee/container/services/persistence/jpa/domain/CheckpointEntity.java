@@ -31,11 +31,13 @@ import javax.persistence.NamedQuery;
 @Entity
 @NamedQueries({
     @NamedQuery(name = CheckpointEntity.Queries.FIND, query = "select c from CheckpointEntity c where c.instance.jobInstanceId = :jobInstanceId and c.stepName = :stepName and c.type = :type"),
+    @NamedQuery(name = CheckpointEntity.Queries.DELETE, query = "delete from CheckpointEntity c where c.instance.jobInstanceId = :jobInstanceId and c.stepName = :stepName and c.type = :type"),
     @NamedQuery(name = CheckpointEntity.Queries.DELETE_BY_INSTANCE_ID, query = "delete from CheckpointEntity e where e.instance.jobInstanceId = :id")
 })
 public class CheckpointEntity {
     public static interface Queries {
         String FIND = "org.apache.batchee.container.services.persistence.jpa.domain.CheckpointEntity.find";
+        String DELETE = "org.apache.batchee.container.services.persistence.jpa.domain.CheckpointEntity.delete";
         String DELETE_BY_INSTANCE_ID = "org.apache.batchee.container.services.persistence.jpa.domain.CheckpointEntity.deleteByInstanceId";
     }
 
@@ -0,0 +1,45 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.batchee.container.util;
+
+import org.apache.batchee.container.impl.controller.LightPartitionThreadRootController;
+import org.apache.batchee.container.impl.jobinstance.RuntimeJobExecution;
+import org.apache.batchee.container.services.BatchKernelService;
+
+/**
+ * A partition executed without a generated sub job, it is not registered in the kernel
+ * since it shares the execution of its parent.
+ */
+public class BatchLightPartitionWorkUnit extends BatchPartitionWorkUnit {
+    private final int partition;
+
+    public BatchLightPartitionWorkUnit(final BatchKernelService batchKernelService, final RuntimeJobExecution jobExecution,
+                                       final PartitionsBuilderConfig config, final int partition,
+                                       final String checkpointName, final long parentStepExecutionId) {
+        super(batchKernelService, jobExecution, config, false,
+            new LightPartitionThreadRootController(jobExecution, config, checkpointName, parentStepExecutionId));
+        this.partition = partition;
+    }
+
+    public int getPartition() {
+        return partition;
+    }
+
+    public LightPartitionThreadRootController getLightController() {
+        return LightPartitionThreadRootController.class.cast(controller);
+    }
+}
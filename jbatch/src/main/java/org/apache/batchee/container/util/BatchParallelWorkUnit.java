@@ -16,6 +16,7 @@
  */
 package org.apache.batchee.container.util;
 
+import org.apache.batchee.container.ThreadRootController;
 import org.apache.batchee.container.impl.jobinstance.RuntimeJobExecution;
 import org.apache.batchee.container.services.BatchKernelService;
 
@@ -29,4 +30,9 @@ public abstract class BatchParallelWorkUnit extends BatchWorkUnit {
     public BatchParallelWorkUnit(final BatchKernelService batchKernel, final RuntimeJobExecution jobExecutionImpl, final boolean notifyCallbackWhenDone) {
         super(batchKernel, jobExecutionImpl, notifyCallbackWhenDone);
     }
+
+    protected BatchParallelWorkUnit(final BatchKernelService batchKernel, final RuntimeJobExecution jobExecutionImpl,
+                                    final boolean notifyCallbackWhenDone, final ThreadRootController controller) {
+        super(batchKernel, jobExecutionImpl, notifyCallbackWhenDone, controller);
+    }
 }
@@ -16,6 +16,8 @@
  */
 package org.apache.batchee.container.util;
 
+import org.apache.batchee.container.ThreadRootController;
+import org.apache.batchee.container.impl.controller.LazyPartitionThreadRootController;
 import org.apache.batchee.container.impl.controller.PartitionThreadRootController;
 import org.apache.batchee.container.impl.jobinstance.RuntimeJobExecution;
 import org.apache.batchee.container.services.BatchKernelService;
@@ -28,9 +30,22 @@ public class BatchPartitionWorkUnit extends BatchParallelWorkUnit {
     public BatchPartitionWorkUnit(BatchKernelService batchKernelService,
                                   RuntimeJobExecution jobExecution,
                                   PartitionsBuilderConfig config) {
-        super(batchKernelService, jobExecution, true);
+        this(batchKernelService, jobExecution, config, true, new PartitionThreadRootController(jobExecution, config));
+    }
+
+    /**
+     * The partition job is generated from the config when the work unit is executed.
+     */
+    public BatchPartitionWorkUnit(final BatchKernelService batchKernelService, final RuntimeJobExecution jobExecution,
+                                  final PartitionsBuilderConfig config, final int partition) {
+        this(batchKernelService, jobExecution, config, true, new LazyPartitionThreadRootController(jobExecution, config, partition));
+    }
+
+    protected BatchPartitionWorkUnit(final BatchKernelService batchKernelService, final RuntimeJobExecution jobExecution,
+                                     final PartitionsBuilderConfig config, final boolean notifyCallbackWhenDone,
+                                     final ThreadRootController controller) {
+        super(batchKernelService, jobExecution, notifyCallbackWhenDone, controller);
         this.completedThreadQueue = config.getCompletedQueue();
-        this.controller = new PartitionThreadRootController(jobExecution, config);
     }
 
     @Override
@@ -45,10 +45,15 @@ public class BatchWorkUnit implements Runnable {
 
     public BatchWorkUnit(final BatchKernelService batchKernel, final RuntimeJobExecution jobExecutionImpl,
                          final boolean notifyCallbackWhenDone) {
+        this(batchKernel, jobExecutionImpl, notifyCallbackWhenDone, new JobController(jobExecutionImpl));
+    }
+
+    protected BatchWorkUnit(final BatchKernelService batchKernel, final RuntimeJobExecution jobExecutionImpl,
+                            final boolean notifyCallbackWhenDone, final ThreadRootController controller) {
         this.setBatchKernel(batchKernel);
         this.setJobExecutionImpl(jobExecutionImpl);
         this.setNotifyCallbackWhenDone(notifyCallbackWhenDone);
-        this.controller = new JobController(jobExecutionImpl);
+        this.controller = controller;
     }
 
     public ThreadRootController getController() {
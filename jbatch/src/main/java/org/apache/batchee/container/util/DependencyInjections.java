@@ -25,21 +25,46 @@ import javax.batch.api.BatchProperty;
 import javax.batch.runtime.context.JobContext;
 import javax.batch.runtime.context.StepContext;
 import javax.inject.Inject;
+import java.lang.ref.SoftReference;
 import java.lang.reflect.Field;
 import java.security.AccessController;
 import java.security.PrivilegedAction;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.WeakHashMap;
 
 public class DependencyInjections {
+    // soft values since fields reference their class, this way the plan doesn't prevent a class to be unloaded
+    private static final Map<Class<?>, SoftReference<InjectionPlan>> PLANS = new WeakHashMap<Class<?>, SoftReference<InjectionPlan>>();
+
     public static void injectReferences(final Object artifact, final InjectionReferences injectionRefs) {
-        final Map<String, Field> propertyMap = findPropertyFields(artifact);
+        final InjectionPlan plan = findPlan(artifact.getClass());
         if (injectionRefs.getProps() != null) {
-            injectProperties(artifact, injectionRefs.getProps(), propertyMap);
+            injectProperties(artifact, injectionRefs.getProps(), plan.properties);
         }
-        injectBatchContextFields(artifact, injectionRefs.getJobContext(), injectionRefs.getStepContext());
+        injectBatchContextFields(artifact, plan, injectionRefs.getJobContext(), injectionRefs.getStepContext());
+    }
+
+    private static InjectionPlan findPlan(final Class<?> clazz) {
+        synchronized (PLANS) {
+            final SoftReference<InjectionPlan> ref = PLANS.get(clazz);
+            if (ref != null) {
+                final InjectionPlan plan = ref.get();
+                if (plan != null) {
+                    return plan;
+                }
+            }
+        }
+
+        final InjectionPlan plan = new InjectionPlan(findPropertyFields(clazz), findContextFields(clazz, JobContext.class), findContextFields(clazz, StepContext.class));
+        synchronized (PLANS) {
+            PLANS.put(clazz, new SoftReference<InjectionPlan>(plan));
+        }
+        return plan;
     }
 
 
@@ -55,9 +80,19 @@ public class DependencyInjections {
             return;
         }
 
+        final Map<String, String> values = new HashMap<String, String>(props.size());
+        for (final Property prop : props) {
+            if (!values.containsKey(prop.getName())) { // first one wins as in getPropertyValue()
+                values.put(prop.getName(), prop.getValue());
+            }
+        }
+
         // go through each field marked with @BatchProperty
         for (final Entry<String, Field> batchProperty : propertyFieldMap.entrySet()) {
-            String propValue = getPropertyValue(props, batchProperty.getKey());
+            String propValue = values.get(batchProperty.getKey());
+            if ("".equals(propValue)) {
+                propValue = null;
+            }
 
             // if a property is supplied in the job xml inject the given value
             // into
@@ -106,39 +141,64 @@ public class DependencyInjections {
 
     /**
      * @param artifact An instance of the batch artifact
-     * @return an ArrayList<Field> of fields annotated with @JobContext
+     * @param plan the injection plan of the artifact class
+     */
+    private static void injectBatchContextFields(final Object artifact, final InjectionPlan plan, final JobContext jobCtx, final StepContext stepCtx) {
+        injectContext(artifact, plan.jobContexts, jobCtx);
+        injectContext(artifact, plan.stepContexts, stepCtx);
+    }
+
+    private static void injectContext(final Object artifact, final List<Field> fields, final Object context) {
+        for (final Field field : fields) {
+            try {
+                if (field.get(artifact) == null) {
+                    field.set(artifact, context);
+                }
+            } catch (final IllegalArgumentException e) {
+                throw new BatchContainerRuntimeException(e);
+            } catch (final IllegalAccessException e) {
+                throw new BatchContainerRuntimeException(e);
+            }
+        }
+    }
+
+    /**
+     * @param clazz the artifact class
+     * @param type JobContext or StepContext
+     * @return the fields annotated with @Inject of the given context type
      */
-    private static void injectBatchContextFields(final Object artifact, final JobContext jobCtx, final StepContext stepCtx) {
+    private static List<Field> findContextFields(final Class<?> clazz, final Class<?> type) {
+        List<Field> fields = null;
         // Go through declared field annotations
-        for (final Field field : artifact.getClass().getDeclaredFields()) {
-            setAccessible(field);
-
-            final Inject injectAnnotation = field.getAnnotation(Inject.class);
-            if (injectAnnotation != null) {
-                try {
-                    // check the field for the context type
-                    if (JobContext.class.isAssignableFrom(field.getType()) && field.get(artifact) == null) {
-                        field.set(artifact, jobCtx);
-                    } else if (StepContext.class.isAssignableFrom(field.getType()) && field.get(artifact) == null) {
-                        field.set(artifact, stepCtx);
-                    }
-                } catch (final IllegalArgumentException e) {
-                    throw new BatchContainerRuntimeException(e);
-                } catch (final IllegalAccessException e) {
-                    throw new BatchContainerRuntimeException(e);
+        for (final Field field : clazz.getDeclaredFields()) {
+            if (field.getAnnotation(Inject.class) == null) {
+                continue;
+            }
+
+            // check the field for the context type, a JobContext field is never considered as a StepContext one
+            if (type.isAssignableFrom(field.getType())
+                    && (type == JobContext.class || !JobContext.class.isAssignableFrom(field.getType()))) {
+                setAccessible(field);
+                if (fields == null) {
+                    fields = new ArrayList<Field>();
                 }
+                fields.add(field);
             }
         }
+        if (fields == null) {
+            return Collections.emptyList();
+        }
+        return fields;
     }
 
     /**
-     * @param delegate An instance of the batch artifact
+     * @param clazz The class of the batch artifact
      * @return A map of Fields annotated with @BatchProperty.
      */
-    private static Map<String, Field> findPropertyFields(final Object delegate) {
+    private static Map<String, Field> findPropertyFields(final Class<?> clazz) {
         Map<String, Field> propertyMap = null;
 
-        Class<?> current = delegate.getClass();
+        Class<?> current = clazz;
         while (current.getName().contains("$$")) { // remove common proxies
             current = current.getSuperclass();
         }
@@ -188,4 +248,17 @@ public class DependencyInjections {
         }
     }
 
+    // what to inject for a class, computed once
+    private static class InjectionPlan {
+        private final Map<String, Field> properties;
+        private final List<Field> jobContexts;
+        private final List<Field> stepContexts;
+
+        private InjectionPlan(final Map<String, Field> properties, final List<Field> jobContexts, final List<Field> stepContexts) {
+            this.properties = properties;
+            this.jobContexts = jobContexts;
+            this.stepContexts = stepContexts;
+        }
+    }
+
 }
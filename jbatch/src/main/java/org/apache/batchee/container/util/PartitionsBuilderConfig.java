@@ -16,8 +16,11 @@
  */
 package org.apache.batchee.container.util;
 
+import org.apache.batchee.container.impl.controller.PartitionedStepBuilder;
 import org.apache.batchee.jaxb.JSLJob;
+import org.apache.batchee.jaxb.Step;
 
+import javax.batch.runtime.context.JobContext;
 import java.util.List;
 import java.util.Properties;
 import java.util.concurrent.BlockingQueue;
@@ -30,6 +33,12 @@ public class PartitionsBuilderConfig {
     private BlockingQueue<BatchPartitionWorkUnit> completedQueue;
     private long rootJobExecutionId;
 
+    // lazy mode, partition jobs are generated when they are executed
+    private Step step;
+    private JobContext jobContext;
+    private long parentJobInstanceId;
+    private int partitions;
+
     public PartitionsBuilderConfig(List<JSLJob> jobModels,
                                    Properties[] partitionProperties,
                                    BlockingQueue<PartitionDataWrapper> analyzerQueue,
@@ -42,6 +51,49 @@ public class PartitionsBuilderConfig {
         this.rootJobExecutionId = rootJobExecutionId;
     }
 
+    /**
+     * Partition sub jobs are only generated (cloned from the step) when they are executed.
+     */
+    public PartitionsBuilderConfig(final Step step, final JobContext jobContext, final long parentJobInstanceId, final int partitions,
+                                   final Properties[] partitionProperties,
+                                   final BlockingQueue<PartitionDataWrapper> analyzerQueue,
+                                   final BlockingQueue<BatchPartitionWorkUnit> completedQueue,
+                                   final long rootJobExecutionId) {
+        this.step = step;
+        this.jobContext = jobContext;
+        this.parentJobInstanceId = parentJobInstanceId;
+        this.partitions = partitions;
+        this.partitionProperties = partitionProperties;
+        this.analyzerQueue = analyzerQueue;
+        this.completedQueue = completedQueue;
+        this.rootJobExecutionId = rootJobExecutionId;
+    }
+
+    public int getPartitions() {
+        if (jobModels != null) {
+            return jobModels.size();
+        }
+        return partitions;
+    }
+
+    public String getJobName(final int partition) {
+        if (jobModels != null) {
+            return jobModels.get(partition).getId();
+        }
+        return PartitionedStepBuilder.generateSubJobId(parentJobInstanceId, step.getId(), partition);
+    }
+
+    public JSLJob getJobModel(final int partition) {
+        if (jobModels != null) {
+            return jobModels.get(partition);
+        }
+        return PartitionedStepBuilder.buildPartitionSubJob(parentJobInstanceId, jobContext, step, partition);
+    }
+
+    public Properties getPartitionProperties(final int partition) {
+        return partitionProperties == null ? null : partitionProperties[partition];
+    }
+
     public long getRootJobExecutionId() {
         return rootJobExecutionId;
     }
@@ -0,0 +1,37 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.batchee.spi;
+
+import org.apache.batchee.container.impl.controller.chunk.CheckpointData;
+import org.apache.batchee.container.impl.controller.chunk.CheckpointDataKey;
+
+import java.util.Map;
+
+/**
+ * Optional extension of a PersistenceManagerService storing several checkpoints at once.
+ * When the persistence doesn't implement it checkpoints are stored one by one
+ * with PersistenceManagerService#setCheckpointData(CheckpointDataKey, CheckpointData).
+ */
+public interface BulkCheckpointPersistence {
+    /**
+     * Stores several checkpoints at once (typically reader and writer ones of a chunk).
+     * Implementations should do it in a single transaction and as few round trips as possible.
+     *
+     * @param checkpoints the checkpoints to create or update
+     */
+    void setCheckpointData(Map<CheckpointDataKey, CheckpointData> checkpoints);
+}
@@ -0,0 +1,43 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.batchee.spi;
+
+import org.apache.batchee.container.impl.jobinstance.RuntimeJobExecution;
+
+import javax.batch.runtime.BatchStatus;
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * Optional extension of a PersistenceManagerService creating the sub jobs of a partitioned step or a split at once.
+ * When the persistence doesn't implement it each sub job is created with
+ * PersistenceManagerService#createSubJobInstance(String, String) and
+ * PersistenceManagerService#createJobExecution(JobInstance, Properties, BatchStatus).
+ */
+public interface BulkSubJobPersistence {
+    /**
+     * Creates the instances, executions and statuses of several sub jobs (partitions or flows of a split) at once.
+     * Implementations should do it in a single transaction and as few round trips as possible.
+     *
+     * @param names         the generated sub job names
+     * @param apptag        the application tag that owns these jobs
+     * @param jobParameters the parameters of each sub job, can be null
+     * @param batchStatus   the initial BatchStatus
+     * @return the executions in the order of the names
+     */
+    List<RuntimeJobExecution> createSubJobExecutions(List<String> names, String apptag, List<Properties> jobParameters, BatchStatus batchStatus);
+}
@@ -0,0 +1,35 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.batchee.spi;
+
+import org.apache.batchee.container.impl.controller.chunk.CheckpointDataKey;
+
+import java.util.Collection;
+
+/**
+ * Optional extension of a PersistenceManagerService removing checkpoints before the job instance is cleaned up.
+ * When the persistence doesn't implement it checkpoints are only removed by PersistenceManagerService#cleanUp(long).
+ */
+public interface CheckpointRemoval {
+    /**
+     * Removes checkpoints which are no more needed (light partitions of a completed step for instance).
+     * Missing checkpoints are ignored.
+     *
+     * @param keys the checkpoints to remove
+     */
+    void removeCheckpointData(Collection<CheckpointDataKey> keys);
+}
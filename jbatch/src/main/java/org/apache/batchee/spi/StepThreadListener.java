@@ -0,0 +1,31 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.batchee.spi;
+
+/**
+ * BatchEE specific step listener notified when a chunk step hands some work to one of its own threads
+ * (org.apache.batchee.chunk.processor.threads), it allows to make thread bound state of the step thread
+ * (CDI step and job scopes for instance) available there.
+ * <p/>
+ * Both methods are called on the other thread around each task, listeners are entered in their declaration order
+ * and exited in the reverse order. They are not called when the work runs on the step thread itself.
+ */
+public interface StepThreadListener {
+    void enterThread();
+
+    void exitThread();
+}
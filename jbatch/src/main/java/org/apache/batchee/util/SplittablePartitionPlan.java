@@ -0,0 +1,34 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.batchee.util;
+
+import javax.batch.api.partition.PartitionPlan;
+import java.util.Properties;
+
+/**
+ * A partition plan a PartitionMapper can return when its partitions are ranges which can be cut
+ * in smaller slices. With the work-stealing partition scheduler each partition is replaced by its slices
+ * so workers finishing early can take over a part of a skewed partition.
+ */
+public interface SplittablePartitionPlan extends PartitionPlan {
+    /**
+     * @param partition the index of the partition to split.
+     * @param slices    the wished number of slices.
+     * @return the properties of each slice, null to keep the partition as it is.
+     */
+    Properties[] split(int partition, int slices);
+}
@@ -0,0 +1,92 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.batchee.test;
+
+import org.apache.batchee.container.services.ServicesManager;
+import org.apache.batchee.spi.PersistenceManagerService;
+import org.apache.batchee.test.mock.ChunkEventRecorder;
+import org.apache.batchee.test.mock.NumberReader;
+import org.apache.batchee.test.mock.RecordingWriter;
+import org.apache.batchee.test.mock.StepThreadRecorder;
+import org.apache.batchee.test.mock.SubJobRecorder;
+import org.apache.batchee.test.mock.ThreadedProcessor;
+import org.apache.batchee.util.Batches;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeMethod;
+
+import javax.batch.operations.JobOperator;
+import javax.batch.runtime.BatchRuntime;
+import javax.batch.runtime.BatchStatus;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Properties;
+
+/**
+ * Runs jobs synchronously, resets the recording mocks before each test and deletes the jobs of the test class.
+ */
+public abstract class JobTest {
+    protected final JobOperator jobOperator = BatchRuntime.getJobOperator();
+    private final Collection<Long> instances = new ArrayList<Long>();
+
+    @BeforeMethod
+    public void resetMocks() {
+        NumberReader.STARTS.clear();
+        RecordingWriter.ITEMS.clear();
+        ThreadedProcessor.VALUES.clear();
+        ChunkEventRecorder.EVENTS.clear();
+        ChunkEventRecorder.THREADS.clear();
+        StepThreadRecorder.ENTERED.set(0);
+        StepThreadRecorder.EXITED.set(0);
+        SubJobRecorder.IDS.clear();
+    }
+
+    @AfterClass
+    public void deleteJobs() {
+        for (final Long id : instances) {
+            ServicesManager.service(PersistenceManagerService.class).cleanUp(id);
+        }
+        instances.clear();
+    }
+
+    // starts a job and waits for its end, returns the execution id
+    protected long start(final String name, final Properties parameters) {
+        final long id = jobOperator.start(name, parameters);
+        instances.add(jobOperator.getJobInstance(id).getInstanceId());
+        Batches.waitForEnd(jobOperator, id);
+        return id;
+    }
+
+    protected long restart(final long id) {
+        final long restartId = jobOperator.restart(id, new Properties());
+        Batches.waitForEnd(jobOperator, restartId);
+        return restartId;
+    }
+
+    protected long instanceId(final long id) {
+        return jobOperator.getJobInstance(id).getInstanceId();
+    }
+
+    protected BatchStatus status(final long id) {
+        return jobOperator.getJobExecution(id).getBatchStatus();
+    }
+
+    protected static Properties parameters(final String key, final String value) {
+        final Properties properties = new Properties();
+        properties.setProperty(key, value);
+        return properties;
+    }
+}
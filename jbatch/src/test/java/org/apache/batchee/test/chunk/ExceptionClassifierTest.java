@@ -0,0 +1,93 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.batchee.test.chunk;
+
+import org.apache.batchee.container.impl.controller.chunk.ExceptionClassifier;
+import org.apache.batchee.jaxb.ExceptionClassFilter;
+import org.testng.annotations.Test;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+public class ExceptionClassifierTest {
+    @Test
+    public void noFilter() {
+        final ExceptionClassifier classifier = ExceptionClassifier.of(null);
+        assertFalse(classifier.matches(new Exception()));
+        assertFalse(classifier.matches(new IllegalStateException()));
+    }
+
+    @Test
+    public void includeMatchesSubclasses() {
+        final ExceptionClassifier classifier = ExceptionClassifier.of(filter(new String[]{ IOException.class.getName() }, new String[0]));
+        assertTrue(classifier.matches(new IOException()));
+        assertTrue(classifier.matches(new FileNotFoundException()));
+        assertFalse(classifier.matches(new Exception()));
+        assertFalse(classifier.matches(new IllegalStateException()));
+    }
+
+    @Test
+    public void excludeWinsForSubclasses() {
+        final ExceptionClassifier classifier = ExceptionClassifier.of(filter(
+            new String[]{ Exception.class.getName() }, new String[]{ IllegalArgumentException.class.getName() }));
+        assertTrue(classifier.matches(new Exception()));
+        assertTrue(classifier.matches(new IllegalStateException()));
+        assertFalse(classifier.matches(new IllegalArgumentException()));
+        assertFalse(classifier.matches(new NumberFormatException())); // subclass of the excluded class
+    }
+
+    @Test
+    public void excludeWinsOverMoreSpecificInclude() {
+        final ExceptionClassifier classifier = ExceptionClassifier.of(filter(
+            new String[]{ NumberFormatException.class.getName() }, new String[]{ IllegalArgumentException.class.getName() }));
+        assertFalse(classifier.matches(new NumberFormatException()));
+        assertFalse(classifier.matches(new IllegalArgumentException()));
+    }
+
+    @Test
+    public void unknownClassesAreIgnored() {
+        final ExceptionClassifier classifier = ExceptionClassifier.of(filter(
+            new String[]{ "org.apache.batchee.Missing", RuntimeException.class.getName() }, new String[]{ "org.apache.batchee.MissingToo" }));
+        assertTrue(classifier.matches(new IllegalStateException()));
+        assertFalse(classifier.matches(new Exception()));
+    }
+
+    @Test
+    public void sameFilterSharesTheClassifier() {
+        final ExceptionClassifier classifier = ExceptionClassifier.of(filter(new String[]{ " " + IOException.class.getName() }, new String[0]));
+        assertSame(ExceptionClassifier.of(filter(new String[]{ IOException.class.getName() }, new String[0])), classifier);
+    }
+
+    private static ExceptionClassFilter filter(final String[] includes, final String[] excludes) {
+        final ExceptionClassFilter filter = new ExceptionClassFilter();
+        for (final String include : includes) {
+            final ExceptionClassFilter.Include i = new ExceptionClassFilter.Include();
+            i.setClazz(include);
+            filter.getIncludeList().add(i);
+        }
+        for (final String exclude : excludes) {
+            final ExceptionClassFilter.Exclude e = new ExceptionClassFilter.Exclude();
+            e.setClazz(exclude);
+            filter.getExcludeList().add(e);
+        }
+        return filter;
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.batchee.test.chunk;
+
+import org.apache.batchee.test.JobTest;
+import org.apache.batchee.test.mock.ChunkEventRecorder;
+import org.apache.batchee.test.mock.NumberReader;
+import org.apache.batchee.test.mock.RecordingWriter;
+import org.apache.batchee.test.mock.StepThreadRecorder;
+import org.testng.annotations.Test;
+
+import javax.batch.runtime.BatchStatus;
+import java.util.Arrays;
+import java.util.Properties;
+
+import static org.testng.Assert.assertEquals;
+
+public class PipelinedChunkTest extends JobTest {
+    @Test
+    public void complete() {
+        final long id = start("pipelined", new Properties());
+
+        assertEquals(status(id), BatchStatus.COMPLETED);
+        assertEquals(RecordingWriter.ITEMS, Arrays.<Object>asList(0, 1, 2, 3, 4, 5, 6, 7, 8, 9));
+
+        // listeners are called by the step thread in the serial order even if the reader was called ahead
+        assertEquals(ChunkEventRecorder.THREADS.size(), 1);
+        assertEquals(ChunkEventRecorder.EVENTS, Arrays.asList(
+            "beforeChunk", "read 0", "read 1", "read 2", "afterChunk",
+            "beforeChunk", "read 3", "read 4", "read 5", "afterChunk",
+            "beforeChunk", "read 6", "read 7", "read 8", "afterChunk",
+            "beforeChunk", "read 9", "read null", "afterChunk"));
+
+        // the three chunks after the first one were read by the pipeline thread
+        assertEquals(StepThreadRecorder.ENTERED.get(), 3);
+        assertEquals(StepThreadRecorder.EXITED.get(), 3);
+    }
+
+    @Test
+    public void restartFromTheLastCommittedChunk() {
+        final long id = start("pipelined", parameters("failOn", "7"));
+
+        assertEquals(status(id), BatchStatus.FAILED);
+        assertEquals(RecordingWriter.ITEMS, Arrays.<Object>asList(0, 1, 2, 3, 4, 5));
+        assertEquals(StepThreadRecorder.ENTERED.get(), StepThreadRecorder.EXITED.get());
+
+        // the checkpoint is the position before the items read ahead
+        final long restartId = restart(id);
+
+        assertEquals(status(restartId), BatchStatus.COMPLETED);
+        assertEquals(NumberReader.STARTS, Arrays.asList(0, 6));
+        assertEquals(RecordingWriter.ITEMS, Arrays.<Object>asList(0, 1, 2, 3, 4, 5, 6, 7, 8, 9));
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.batchee.test.chunk;
+
+import org.apache.batchee.test.JobTest;
+import org.apache.batchee.test.mock.ChunkEventRecorder;
+import org.apache.batchee.test.mock.RecordingWriter;
+import org.apache.batchee.test.mock.StepThreadRecorder;
+import org.apache.batchee.test.mock.ThreadedProcessor;
+import org.testng.annotations.Test;
+
+import javax.batch.runtime.BatchStatus;
+import javax.batch.runtime.Metric;
+import javax.batch.runtime.StepExecution;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Properties;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+public class ProcessorThreadsTest extends JobTest {
+    @Test
+    public void keepsReadOrder() {
+        final long id = start("processor-threads", new Properties());
+
+        assertEquals(status(id), BatchStatus.COMPLETED);
+        assertEquals(RecordingWriter.ITEMS, range(0, 20, -1));
+        assertPropagated(20);
+
+        // process listeners are called by the step thread in the read order
+        assertEquals(ChunkEventRecorder.THREADS.size(), 1);
+        assertEquals(processEvents("afterProcess "), range(0, 20, -1));
+        assertEquals(processEvents("beforeProcess "), range(0, 20, -1));
+    }
+
+    @Test
+    public void skipInProcessorThread() {
+        final long id = start("processor-threads", parameters("failOn", "7"));
+
+        assertEquals(status(id), BatchStatus.COMPLETED);
+        assertEquals(RecordingWriter.ITEMS, range(0, 20, 7));
+        assertEquals(metric(jobOperator.getStepExecutions(id).iterator().next(), Metric.MetricType.PROCESS_SKIP_COUNT), 1);
+        assertPropagated(20);
+        assertEquals(processEvents("afterProcess "), range(0, 20, 7));
+        assertTrue(ChunkEventRecorder.EVENTS.contains("onProcessError"));
+        assertEquals(ChunkEventRecorder.THREADS.size(), 1);
+    }
+
+    @Test
+    public void failureInProcessorThread() {
+        final long id = start("processor-threads", parameters("fatalOn", "7"));
+
+        assertEquals(status(id), BatchStatus.FAILED);
+        assertEquals(RecordingWriter.ITEMS, range(0, 5, -1)); // only the first chunk was committed
+        assertEquals(StepThreadRecorder.ENTERED.get(), StepThreadRecorder.EXITED.get());
+    }
+
+    // every item was processed in another thread seeing the value of the step thread
+    private static void assertPropagated(final int items) {
+        assertEquals(ThreadedProcessor.VALUES.size(), items);
+        assertEquals(new HashSet<String>(ThreadedProcessor.VALUES).size(), 1);
+        assertTrue(ThreadedProcessor.VALUES.get(0).startsWith("step-"));
+        assertEquals(StepThreadRecorder.ENTERED.get(), items);
+        assertEquals(StepThreadRecorder.EXITED.get(), items);
+        assertFalse(ThreadedProcessor.VALUES.contains("null"));
+    }
+
+    private static List<Object> processEvents(final String prefix) {
+        final List<Object> items = new ArrayList<Object>();
+        for (final String event : ChunkEventRecorder.EVENTS) {
+            if (event.startsWith(prefix)) {
+                items.add(Integer.valueOf(event.substring(prefix.length())));
+            }
+        }
+        return items;
+    }
+
+    private static long metric(final StepExecution execution, final Metric.MetricType type) {
+        for (final Metric metric : execution.getMetrics()) {
+            if (metric.getType() == type) {
+                return metric.getValue();
+            }
+        }
+        throw new IllegalArgumentException("no metric " + type);
+    }
+
+    private static List<Object> range(final int from, final int to, final int excluded) {
+        final List<Object> values = new ArrayList<Object>();
+        for (int i = from; i < to; i++) {
+            if (i != excluded) {
+                values.add(i);
+            }
+        }
+        return values;
+    }
+}
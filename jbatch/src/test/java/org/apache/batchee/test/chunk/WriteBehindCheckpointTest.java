@@ -0,0 +1,53 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.batchee.test.chunk;
+
+import org.apache.batchee.test.JobTest;
+import org.apache.batchee.test.mock.NumberReader;
+import org.apache.batchee.test.mock.RecordingWriter;
+import org.testng.annotations.Test;
+
+import javax.batch.runtime.BatchStatus;
+import java.util.Arrays;
+import java.util.Properties;
+
+import static org.testng.Assert.assertEquals;
+
+public class WriteBehindCheckpointTest extends JobTest {
+    @Test
+    public void complete() {
+        final long id = start("write-behind", new Properties());
+
+        assertEquals(status(id), BatchStatus.COMPLETED);
+        assertEquals(RecordingWriter.ITEMS, Arrays.<Object>asList(0, 1, 2, 3, 4, 5, 6, 7, 8, 9));
+    }
+
+    @Test
+    public void restartAfterCommittedChunks() {
+        final long id = start("write-behind", parameters("failOn", "5"));
+
+        assertEquals(status(id), BatchStatus.FAILED);
+        assertEquals(RecordingWriter.ITEMS, Arrays.<Object>asList(0, 1, 2, 3));
+
+        // checkpoints of the two committed chunks survived the failure
+        final long restartId = restart(id);
+
+        assertEquals(status(restartId), BatchStatus.COMPLETED);
+        assertEquals(NumberReader.STARTS, Arrays.asList(0, 4));
+        assertEquals(RecordingWriter.ITEMS, Arrays.<Object>asList(0, 1, 2, 3, 4, 5, 6, 7, 8, 9));
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.batchee.test.mock;
+
+import javax.batch.api.chunk.listener.ChunkListener;
+import javax.batch.api.chunk.listener.ItemProcessListener;
+import javax.batch.api.chunk.listener.ItemReadListener;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CopyOnWriteArraySet;
+
+// keeps chunk, read and process events and the threads calling them
+public class ChunkEventRecorder implements ChunkListener, ItemReadListener, ItemProcessListener {
+    public static final List<String> EVENTS = new CopyOnWriteArrayList<String>();
+    public static final Set<Thread> THREADS = new CopyOnWriteArraySet<Thread>();
+
+    @Override
+    public void beforeChunk() throws Exception {
+        record("beforeChunk");
+    }
+
+    @Override
+    public void onError(final Exception ex) throws Exception {
+        record("onError");
+    }
+
+    @Override
+    public void afterChunk() throws Exception {
+        record("afterChunk");
+    }
+
+    @Override
+    public void beforeRead() throws Exception {
+        THREADS.add(Thread.currentThread());
+    }
+
+    @Override
+    public void afterRead(final Object item) throws Exception {
+        record("read " + item);
+    }
+
+    @Override
+    public void onReadError(final Exception ex) throws Exception {
+        record("onReadError");
+    }
+
+    @Override
+    public void beforeProcess(final Object item) throws Exception {
+        record("beforeProcess " + item);
+    }
+
+    @Override
+    public void afterProcess(final Object item, final Object result) throws Exception {
+        record("afterProcess " + item);
+    }
+
+    @Override
+    public void onProcessError(final Object item, final Exception ex) throws Exception {
+        record("onProcessError");
+    }
+
+    private static void record(final String event) {
+        THREADS.add(Thread.currentThread());
+        EVENTS.add(event);
+    }
+}
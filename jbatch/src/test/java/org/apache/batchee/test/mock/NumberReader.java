@@ -0,0 +1,56 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.batchee.test.mock;
+
+import javax.batch.api.BatchProperty;
+import javax.batch.api.chunk.AbstractItemReader;
+import javax.inject.Inject;
+import java.io.Serializable;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+// reads 0, 1, ..., items - 1 and checkpoints the next value
+public class NumberReader extends AbstractItemReader {
+    public static final List<Integer> STARTS = new CopyOnWriteArrayList<Integer>();
+
+    @Inject
+    @BatchProperty
+    private String items;
+
+    private int current;
+    private int max;
+
+    @Override
+    public void open(final Serializable checkpoint) throws Exception {
+        max = items == null ? 10 : Integer.parseInt(items);
+        current = checkpoint == null ? 0 : Integer.class.cast(checkpoint);
+        STARTS.add(current);
+    }
+
+    @Override
+    public Object readItem() throws Exception {
+        if (current < max) {
+            return current++;
+        }
+        return null;
+    }
+
+    @Override
+    public Serializable checkpointInfo() throws Exception {
+        return current;
+    }
+}
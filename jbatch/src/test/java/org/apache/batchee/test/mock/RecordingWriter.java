@@ -0,0 +1,40 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.batchee.test.mock;
+
+import javax.batch.api.BatchProperty;
+import javax.batch.api.chunk.AbstractItemWriter;
+import javax.inject.Inject;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+// keeps written items, fails the chunk containing failOn if set
+public class RecordingWriter extends AbstractItemWriter {
+    public static final List<Object> ITEMS = new CopyOnWriteArrayList<Object>();
+
+    @Inject
+    @BatchProperty
+    private String failOn;
+
+    @Override
+    public void writeItems(final List<Object> items) throws Exception {
+        if (failOn != null && !failOn.isEmpty() && items.contains(Integer.valueOf(failOn))) {
+            throw new IllegalStateException("failing on " + failOn);
+        }
+        ITEMS.addAll(items);
+    }
+}
@@ -0,0 +1,54 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.batchee.test.mock;
+
+import org.apache.batchee.spi.StepThreadListener;
+
+import javax.batch.api.listener.StepListener;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// binds a value to the step thread and propagates it to the other threads of the step
+public class StepThreadRecorder implements StepListener, StepThreadListener {
+    public static final ThreadLocal<String> VALUE = new ThreadLocal<String>();
+    public static final AtomicInteger ENTERED = new AtomicInteger();
+    public static final AtomicInteger EXITED = new AtomicInteger();
+
+    private volatile String value;
+
+    @Override
+    public void beforeStep() throws Exception {
+        value = "step-" + System.identityHashCode(this);
+        VALUE.set(value);
+    }
+
+    @Override
+    public void afterStep() throws Exception {
+        VALUE.remove();
+    }
+
+    @Override
+    public void enterThread() {
+        ENTERED.incrementAndGet();
+        VALUE.set(value);
+    }
+
+    @Override
+    public void exitThread() {
+        VALUE.remove();
+        EXITED.incrementAndGet();
+    }
+}
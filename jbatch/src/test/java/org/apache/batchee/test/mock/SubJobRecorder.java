@@ -0,0 +1,42 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.batchee.test.mock;
+
+import javax.batch.api.AbstractBatchlet;
+import javax.batch.api.BatchProperty;
+import javax.batch.runtime.context.JobContext;
+import javax.inject.Inject;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// records the instance and execution ids of the sub job running each partition
+public class SubJobRecorder extends AbstractBatchlet {
+    public static final Map<String, long[]> IDS = new ConcurrentHashMap<String, long[]>();
+
+    @Inject
+    private JobContext jobContext;
+
+    @Inject
+    @BatchProperty
+    private String partition;
+
+    @Override
+    public String process() throws Exception {
+        IDS.put(partition, new long[] { jobContext.getInstanceId(), jobContext.getExecutionId() });
+        return "recorded";
+    }
+}
@@ -0,0 +1,56 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.batchee.test.mock;
+
+import javax.batch.api.BatchProperty;
+import javax.batch.api.chunk.ItemProcessor;
+import javax.inject.Inject;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+// slower for the first items of each wave so they complete out of order, keeps the value StepThreadRecorder bound
+// to the processing thread, skippable failure on failOn, fatal one on fatalOn
+public class ThreadedProcessor implements ItemProcessor {
+    public static final List<String> VALUES = new CopyOnWriteArrayList<String>();
+
+    @Inject
+    @BatchProperty
+    private String failOn;
+
+    @Inject
+    @BatchProperty
+    private String fatalOn;
+
+    @Override
+    public Object processItem(final Object item) throws Exception {
+        final int value = Integer.class.cast(item);
+        Thread.sleep(5 * (4 - value % 4));
+        VALUES.add(String.valueOf(StepThreadRecorder.VALUE.get()));
+
+        if (matches(failOn, value)) {
+            throw new IllegalArgumentException("skipping " + value);
+        }
+        if (matches(fatalOn, value)) {
+            throw new IllegalStateException("failing on " + value);
+        }
+        return item;
+    }
+
+    private static boolean matches(final String config, final int value) {
+        return config != null && !config.isEmpty() && Integer.parseInt(config) == value;
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.batchee.test.partition;
+
+import org.apache.batchee.container.impl.controller.chunk.CheckpointDataKey;
+import org.apache.batchee.container.impl.controller.chunk.CheckpointType;
+import org.apache.batchee.container.services.ServicesManager;
+import org.apache.batchee.spi.PersistenceManagerService;
+import org.apache.batchee.test.JobTest;
+import org.apache.batchee.test.mock.NumberReader;
+import org.apache.batchee.test.mock.RecordingWriter;
+import org.testng.annotations.Test;
+
+import javax.batch.runtime.BatchStatus;
+import java.util.Arrays;
+import java.util.Properties;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+
+public class LightPartitionsTest extends JobTest {
+    private static final String STEP = "light-partitions-step";
+
+    @Test
+    public void checkpointsRemovedOnCompletion() {
+        final long id = start("light-partitions", new Properties());
+        final long instanceId = instanceId(id);
+
+        assertEquals(status(id), BatchStatus.COMPLETED);
+        assertEquals(RecordingWriter.ITEMS.size(), 12);
+
+        final long generation = jobOperator.getStepExecutions(id).iterator().next().getStepExecutionId();
+        assertNull(checkpoint(instanceId, STEP + ":partitions"));
+        for (int partition = 0; partition < 2; partition++) {
+            assertNull(checkpoint(instanceId, STEP + ":" + generation + ":" + partition));
+        }
+    }
+
+    @Test
+    public void checkpointsKeptUntilRestartCompletes() {
+        final long id = start("light-partitions", parameters("failOn", "4"));
+        final long instanceId = instanceId(id);
+
+        assertEquals(status(id), BatchStatus.FAILED);
+        assertNotNull(checkpoint(instanceId, STEP + ":partitions"));
+
+        final long restartId = restart(id);
+
+        assertEquals(status(restartId), BatchStatus.COMPLETED);
+        assertEquals(NumberReader.STARTS, Arrays.asList(0, 0, 4, 4));
+        assertNull(checkpoint(instanceId, STEP + ":partitions"));
+    }
+
+    private static Object checkpoint(final long instanceId, final String name) {
+        return ServicesManager.service(PersistenceManagerService.class).getCheckpointData(new CheckpointDataKey(instanceId, name, CheckpointType.READER));
+    }
+}
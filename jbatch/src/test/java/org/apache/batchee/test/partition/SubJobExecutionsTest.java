@@ -0,0 +1,218 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.batchee.test.partition;
+
+import org.apache.batchee.container.impl.jobinstance.RuntimeJobExecution;
+import org.apache.batchee.container.services.InternalJobExecution;
+import org.apache.batchee.container.services.ServicesManager;
+import org.apache.batchee.container.services.persistence.JDBCPersistenceManager;
+import org.apache.batchee.spi.PersistenceManagerService;
+import org.apache.batchee.test.JobTest;
+import org.apache.batchee.test.mock.SubJobRecorder;
+import org.testng.annotations.Test;
+
+import javax.batch.runtime.BatchStatus;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
+
+public class SubJobExecutionsTest extends JobTest {
+    // bulk creation with the jdbc and jpa persistences, one sub job at a time with the in-memory one
+    @Test
+    public void partitionsRunInTheirOwnSubJob() {
+        final long id = start("sub-jobs", new Properties());
+
+        assertEquals(status(id), BatchStatus.COMPLETED);
+        assertEquals(SubJobRecorder.IDS.size(), 3);
+
+        final PersistenceManagerService persistence = ServicesManager.service(PersistenceManagerService.class);
+        final Set<Long> instanceIds = new HashSet<Long>();
+        final Set<Long> executionIds = new HashSet<Long>();
+        for (final long[] ids : SubJobRecorder.IDS.values()) {
+            instanceIds.add(ids[0]);
+            executionIds.add(ids[1]);
+            assertEquals(persistence.jobOperatorGetJobExecution(ids[1]).getInstanceId(), ids[0]);
+            assertEquals(persistence.getMostRecentExecutionId(ids[0]), ids[1]);
+        }
+        assertEquals(instanceIds.size(), 3);
+        assertEquals(executionIds.size(), 3);
+    }
+
+    @Test
+    public void batchedGeneratedKeys() {
+        final SubJobManager manager = new SubJobManager("sub-jobs-all-keys", true);
+        assertSubJobs(manager, "all-keys-1");
+        assertEquals(manager.batches.get(), 2); // instances and executions
+        assertSubJobs(manager, "all-keys-2");
+        assertEquals(manager.batches.get(), 4);
+    }
+
+    @Test
+    public void rowByRowWhenTheDriverReturnsOnlyTheLastKey() {
+        final SubJobManager manager = new SubJobManager("sub-jobs-last-key", false);
+        assertSubJobs(manager, "last-key-1"); // instance batch rolled back then inserted row by row
+        assertEquals(manager.batches.get(), 1);
+        assertSubJobs(manager, "last-key-2"); // no more batch attempt
+        assertEquals(manager.batches.get(), 1);
+    }
+
+    private static void assertSubJobs(final SubJobManager manager, final String prefix) {
+        final List<String> names = Arrays.asList(prefix + ":0", prefix + ":1", prefix + ":2");
+        final List<Properties> parameters = new ArrayList<Properties>();
+        for (int i = 0; i < names.size(); i++) {
+            final Properties properties = new Properties();
+            properties.setProperty("partition", Integer.toString(i));
+            parameters.add(properties);
+        }
+
+        final List<RuntimeJobExecution> executions = manager.createSubJobExecutions(names, "test", parameters, BatchStatus.STARTING);
+        assertEquals(executions.size(), names.size());
+
+        final Set<Long> instanceIds = new HashSet<Long>();
+        final Set<Long> executionIds = new HashSet<Long>();
+        final Iterator<RuntimeJobExecution> iterator = executions.iterator();
+        for (int i = 0; i < names.size(); i++) {
+            final RuntimeJobExecution execution = iterator.next();
+            final long instanceId = execution.getInstanceId();
+            instanceIds.add(instanceId);
+            executionIds.add(execution.getExecutionId());
+
+            assertEquals(manager.jobOperatorGetJobInstanceCount(names.get(i)), 1); // nothing left by a rolled back batch
+            assertEquals(manager.getMostRecentExecutionId(instanceId), execution.getExecutionId());
+
+            final InternalJobExecution stored = manager.jobOperatorGetJobExecution(execution.getExecutionId());
+            assertEquals(stored.getInstanceId(), instanceId);
+            assertEquals(stored.getBatchStatus(), BatchStatus.STARTING);
+            assertEquals(stored.getJobParameters().getProperty("partition"), Integer.toString(i));
+
+            assertNotNull(manager.getJobStatus(instanceId));
+            assertEquals(manager.getJobStatus(instanceId).getJobInstance().getJobName(), names.get(i));
+        }
+        assertEquals(instanceIds.size(), names.size());
+        assertEquals(executionIds.size(), names.size());
+    }
+
+    // own derby database, batches of inserts returning their keys are emulated since derby only returns the last one
+    private static class SubJobManager extends JDBCPersistenceManager {
+        private final boolean allKeys;
+        private final AtomicInteger batches = new AtomicInteger();
+
+        private SubJobManager(final String database, final boolean allKeys) {
+            this.allKeys = allKeys;
+
+            final Properties properties = new Properties();
+            properties.setProperty("persistence.database.url", "jdbc:derby:memory:" + database + ";create=true");
+            properties.setProperty("persistence.database.pool.active", "false");
+            init(properties);
+        }
+
+        @Override
+        protected Connection getConnection() throws SQLException {
+            final Connection connection = super.getConnection();
+            return Connection.class.cast(Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{ Connection.class }, new InvocationHandler() {
+                @Override
+                public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
+                    final Object result = forward(connection, method, args);
+                    if ("prepareStatement".equals(method.getName()) && args.length == 2 && Integer.valueOf(Statement.RETURN_GENERATED_KEYS).equals(args[1])) {
+                        return batchKeys(PreparedStatement.class.cast(result));
+                    }
+                    return result;
+                }
+            }));
+        }
+
+        // each batched row is inserted when added so the keys of the whole batch are known
+        private PreparedStatement batchKeys(final PreparedStatement statement) {
+            final List<Long> keys = new ArrayList<Long>();
+            return PreparedStatement.class.cast(Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{ PreparedStatement.class }, new InvocationHandler() {
+                @Override
+                public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
+                    final String name = method.getName();
+                    if ("addBatch".equals(name) && args == null) {
+                        statement.executeUpdate();
+                        final ResultSet rs = statement.getGeneratedKeys();
+                        try {
+                            rs.next();
+                            keys.add(rs.getLong(1));
+                        } finally {
+                            rs.close();
+                        }
+                        return null;
+                    }
+                    if ("executeBatch".equals(name)) {
+                        batches.incrementAndGet();
+                        final int[] counts = new int[keys.size()];
+                        Arrays.fill(counts, 1);
+                        return counts;
+                    }
+                    if ("getGeneratedKeys".equals(name) && !keys.isEmpty()) {
+                        return keys(allKeys ? keys : keys.subList(keys.size() - 1, keys.size()));
+                    }
+                    return forward(statement, method, args);
+                }
+            }));
+        }
+
+        private ResultSet keys(final List<Long> keys) {
+            final Iterator<Long> iterator = new ArrayList<Long>(keys).iterator();
+            return ResultSet.class.cast(Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{ ResultSet.class }, new InvocationHandler() {
+                private Long current;
+
+                @Override
+                public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
+                    final String name = method.getName();
+                    if ("next".equals(name)) {
+                        current = iterator.hasNext() ? iterator.next() : null;
+                        return current != null;
+                    }
+                    if ("getLong".equals(name)) {
+                        return current;
+                    }
+                    if ("close".equals(name)) {
+                        return null;
+                    }
+                    throw new UnsupportedOperationException(name);
+                }
+            }));
+        }
+
+        private static Object forward(final Object delegate, final Method method, final Object[] args) throws Throwable {
+            try {
+                return method.invoke(delegate, args);
+            } catch (final InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
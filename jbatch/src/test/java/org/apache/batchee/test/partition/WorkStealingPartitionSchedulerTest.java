@@ -0,0 +1,124 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.batchee.test.partition;
+
+import org.apache.batchee.container.impl.controller.WorkStealingPartitionScheduler;
+import org.apache.batchee.container.util.BatchWorkUnit;
+import org.apache.batchee.spi.BatchThreadPoolService;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+public class WorkStealingPartitionSchedulerTest {
+    @Test
+    public void unevenPartitions() throws Exception {
+        // worker 0 owns [0, 1], worker 1 owns [2, 3]: 0 can only end once 1 ran so 1 has to be stolen by worker 1
+        final CountDownLatch stolen = new CountDownLatch(1);
+        final CountDownLatch done = new CountDownLatch(4);
+        final Collection<Integer> ran = new CopyOnWriteArrayList<Integer>();
+        final Collection<Boolean> waited = new CopyOnWriteArrayList<Boolean>();
+
+        final List<BatchWorkUnit> units = new ArrayList<BatchWorkUnit>();
+        for (int i = 0; i < 4; i++) {
+            final int partition = i;
+            units.add(new Unit() {
+                @Override
+                public void run() {
+                    try {
+                        if (partition == 0) {
+                            waited.add(stolen.await(1, TimeUnit.MINUTES));
+                        } else if (partition == 1) {
+                            stolen.countDown();
+                        }
+                        ran.add(partition);
+                    } catch (final InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    } finally {
+                        done.countDown();
+                    }
+                }
+            });
+        }
+
+        final ThreadPool pool = new ThreadPool();
+        new WorkStealingPartitionScheduler(pool, units, 2).start();
+
+        assertTrue(done.await(2, TimeUnit.MINUTES));
+        assertEquals(pool.tasks, 2);
+        assertEquals(waited.size(), 1);
+        assertTrue(waited.iterator().next());
+        assertEquals(ran.size(), 4);
+        for (int i = 0; i < 4; i++) {
+            assertTrue(ran.contains(i));
+        }
+    }
+
+    @Test
+    public void moreWorkersThanPartitions() throws Exception {
+        final CountDownLatch done = new CountDownLatch(3);
+        final List<BatchWorkUnit> units = new ArrayList<BatchWorkUnit>();
+        for (int i = 0; i < 3; i++) {
+            units.add(new Unit() {
+                @Override
+                public void run() {
+                    done.countDown();
+                }
+            });
+        }
+
+        final ThreadPool pool = new ThreadPool();
+        new WorkStealingPartitionScheduler(pool, units, 10).start();
+
+        assertTrue(done.await(1, TimeUnit.MINUTES));
+        assertEquals(pool.tasks, 3);
+    }
+
+    private abstract static class Unit extends BatchWorkUnit {
+        private Unit() {
+            super(null, null, false, null);
+        }
+    }
+
+    private static class ThreadPool implements BatchThreadPoolService {
+        private int tasks = 0;
+
+        @Override
+        public void executeTask(final Runnable work, final Object config) {
+            tasks++;
+            new Thread(work).start();
+        }
+
+        @Override
+        public void shutdown() {
+            // no-op
+        }
+
+        @Override
+        public void init(final Properties batchConfig) {
+            // no-op
+        }
+    }
+}
@@ -0,0 +1,207 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.batchee.test.persistence;
+
+import org.apache.batchee.container.services.persistence.JDBCPersistenceManager;
+import org.apache.batchee.container.services.persistence.jdbc.ConnectionPool;
+import org.apache.batchee.container.services.persistence.jdbc.ConnectionPoolMBean;
+import org.testng.annotations.Test;
+
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Properties;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+public class ConnectionPoolTest {
+    @Test
+    public void borrowAndRelease() throws SQLException {
+        final ConnectionPool pool = pool("pool-borrow", 2, 5);
+        try {
+            final Connection first = pool.getConnection();
+            final Connection second = pool.getConnection();
+            assertEquals(pool.getActive(), 2);
+            try { // max-active reached
+                pool.getConnection();
+                fail();
+            } catch (final SQLException e) {
+                // ok
+            }
+
+            first.close();
+            first.close(); // no double release
+            assertTrue(first.isClosed());
+            assertEquals(pool.getActive(), 1);
+            assertEquals(pool.getIdle(), 1);
+
+            final Connection third = pool.getConnection(); // reuses the released one
+            assertEquals(pool.getCreatedCount(), 2);
+            assertEquals(pool.getBorrowedCount(), 3);
+
+            third.close();
+            second.close();
+            assertEquals(pool.getActive(), 0);
+            assertEquals(pool.getIdle(), 2);
+        } finally {
+            pool.close();
+        }
+    }
+
+    @Test
+    public void statementCache() throws SQLException {
+        final ConnectionPool pool = pool("pool-statements", 1, 5);
+        try {
+            final Connection connection = pool.getConnection();
+            final PreparedStatement statement = connection.prepareStatement("values 1");
+            assertSame(statement.getConnection(), connection); // not the physical connection
+            statement.close();
+            assertFalse(statement.isClosed()); // cached, still open
+            connection.close();
+
+            final Connection next = pool.getConnection();
+            final PreparedStatement cached = next.prepareStatement("values 1");
+            assertSame(cached, statement);
+            assertSame(cached.getConnection(), next);
+
+            // a nested usage of the same query gets its own statement
+            final PreparedStatement nested = next.prepareStatement("values 1");
+            assertFalse(nested == cached);
+            nested.close();
+            assertTrue(nested.isClosed());
+
+            final ResultSet rs = cached.executeQuery();
+            assertTrue(rs.next());
+            assertEquals(rs.getInt(1), 1);
+            rs.close();
+            cached.close();
+            cached.getConnection().close(); // released to the pool, not physically closed
+            assertEquals(pool.getIdle(), 1);
+            assertEquals(pool.getDestroyedCount(), 0);
+
+            assertEquals(pool.getStatementCacheHits(), 1);
+            assertEquals(pool.getStatementCacheMisses(), 2);
+        } finally {
+            pool.close();
+        }
+    }
+
+    @Test
+    public void resetOnRelease() throws SQLException {
+        final ConnectionPool pool = pool("pool-reset", 1, 5);
+        try {
+            final Connection init = pool.getConnection();
+            final Statement ddl = init.createStatement();
+            ddl.executeUpdate("create table POOL_RESET(id int)");
+            ddl.close();
+            final int isolation = init.getTransactionIsolation();
+            init.close();
+
+            final Connection dirty = pool.getConnection();
+            dirty.setAutoCommit(false);
+            dirty.setTransactionIsolation(Connection.TRANSACTION_SERIALIZABLE);
+            final Statement insert = dirty.createStatement();
+            insert.executeUpdate("insert into POOL_RESET values(1)");
+            insert.close();
+            dirty.close(); // not committed
+
+            final Connection clean = pool.getConnection();
+            assertTrue(clean.getAutoCommit());
+            assertEquals(clean.getTransactionIsolation(), isolation);
+            final Statement count = clean.createStatement();
+            final ResultSet rs = count.executeQuery("select count(*) from POOL_RESET");
+            assertTrue(rs.next());
+            assertEquals(rs.getInt(1), 0); // rolled back
+            rs.close();
+            count.close();
+            clean.close();
+
+            assertEquals(pool.getCreatedCount(), 1);
+        } finally {
+            pool.close();
+        }
+    }
+
+    @Test
+    public void close() throws SQLException {
+        final ConnectionPool pool = pool("pool-close", 2, 5);
+        final Connection idle = pool.getConnection();
+        final Connection borrowed = pool.getConnection();
+        idle.close();
+
+        pool.close();
+        assertEquals(pool.getIdle(), 0);
+        assertEquals(pool.getDestroyedCount(), 1);
+        try {
+            pool.getConnection();
+            fail();
+        } catch (final SQLException e) {
+            // ok
+        }
+
+        borrowed.close(); // destroyed once released
+        assertEquals(pool.getDestroyedCount(), 2);
+        assertEquals(pool.getActive(), 0);
+    }
+
+    @Test
+    public void reload() throws Exception {
+        final PooledManager manager = new PooledManager();
+        final ConnectionPool pool = manager.pool();
+        assertNotNull(pool);
+
+        final ObjectName name = new ObjectName(ConnectionPoolMBean.DEFAULT_OBJECT_NAME + ",application=pool-reload");
+        assertTrue(ManagementFactory.getPlatformMBeanServer().isRegistered(name));
+
+        manager.close(); // what ServicesManager.reload() does
+        assertNull(manager.pool());
+        assertFalse(ManagementFactory.getPlatformMBeanServer().isRegistered(name));
+        try {
+            pool.getConnection();
+            fail();
+        } catch (final SQLException e) {
+            // ok
+        }
+    }
+
+    private static ConnectionPool pool(final String database, final int maxActive, final int statements) {
+        return new ConnectionPool("jdbc:derby:memory:" + database + ";create=true", "app", "app", null, maxActive, maxActive, 100, statements);
+    }
+
+    private static class PooledManager extends JDBCPersistenceManager {
+        private PooledManager() {
+            final Properties properties = new Properties();
+            properties.setProperty("persistence.database.url", "jdbc:derby:memory:pool-reload;create=true");
+            properties.setProperty("org.apache.batchee.jmx.application", "pool-reload"); // don't replace the MBean of the tests runtime
+            init(properties);
+        }
+
+        private ConnectionPool pool() {
+            return pool;
+        }
+    }
+}
@@ -0,0 +1,154 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.batchee.test.persistence;
+
+import org.apache.batchee.container.impl.controller.chunk.CheckpointData;
+import org.apache.batchee.container.impl.controller.chunk.CheckpointDataKey;
+import org.apache.batchee.container.impl.controller.chunk.CheckpointType;
+import org.apache.batchee.container.services.persistence.JDBCPersistenceManager;
+import org.testng.annotations.Test;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Properties;
+
+import static org.testng.Assert.assertEquals;
+
+public class JDBCCheckpointDataTest {
+    @Test
+    public void insertThenUpdate() {
+        final CheckpointManager manager = new CheckpointManager("checkpoint-counts", false);
+        assertInsertThenUpdate(manager, 1);
+    }
+
+    @Test
+    public void insertThenUpdateWithoutBatchCounts() { // older Oracle drivers
+        final CheckpointManager manager = new CheckpointManager("checkpoint-no-info", true);
+        assertInsertThenUpdate(manager, 2);
+    }
+
+    private static void assertInsertThenUpdate(final CheckpointManager manager, final long instance) {
+        final CheckpointDataKey reader = new CheckpointDataKey(instance, "step", CheckpointType.READER);
+        final CheckpointDataKey writer = new CheckpointDataKey(instance, "step", CheckpointType.WRITER);
+
+        manager.setCheckpointData(checkpoints(instance, reader, 1, writer, 2)); // insert
+        assertEquals(manager.getCheckpointData(reader).getRestartToken(), new byte[] { 1 });
+        assertEquals(manager.getCheckpointData(writer).getRestartToken(), new byte[] { 2 });
+        assertEquals(manager.rows(instance), 2);
+
+        manager.setCheckpointData(checkpoints(instance, reader, 3, writer, 4)); // update
+        assertEquals(manager.getCheckpointData(reader).getRestartToken(), new byte[] { 3 });
+        assertEquals(manager.getCheckpointData(writer).getRestartToken(), new byte[] { 4 });
+        assertEquals(manager.rows(instance), 2);
+    }
+
+    private static Map<CheckpointDataKey, CheckpointData> checkpoints(final long instance,
+                                                                      final CheckpointDataKey reader, final int readerValue,
+                                                                      final CheckpointDataKey writer, final int writerValue) {
+        final Map<CheckpointDataKey, CheckpointData> checkpoints = new LinkedHashMap<CheckpointDataKey, CheckpointData>();
+        checkpoints.put(reader, data(instance, CheckpointType.READER, readerValue));
+        checkpoints.put(writer, data(instance, CheckpointType.WRITER, writerValue));
+        return checkpoints;
+    }
+
+    private static CheckpointData data(final long instance, final CheckpointType type, final int value) {
+        final CheckpointData data = new CheckpointData(instance, "step", type);
+        data.setRestartToken(new byte[] { (byte) value });
+        return data;
+    }
+
+    // own derby database, optionally hiding batch update counts as some drivers do
+    private static class CheckpointManager extends JDBCPersistenceManager {
+        private final boolean noBatchInfo;
+
+        private CheckpointManager(final String database, final boolean noBatchInfo) {
+            this.noBatchInfo = noBatchInfo;
+
+            final Properties properties = new Properties();
+            properties.setProperty("persistence.database.url", "jdbc:derby:memory:" + database + ";create=true");
+            properties.setProperty("persistence.database.pool.active", "false");
+            init(properties);
+        }
+
+        private int rows(final long instance) {
+            try {
+                final Connection connection = super.getConnection();
+                try {
+                    final Statement statement = connection.createStatement();
+                    final ResultSet rs = statement.executeQuery("select count(*) from checkpointentity where INSTANCE_JOBINSTANCEID = " + instance);
+                    rs.next();
+                    return rs.getInt(1);
+                } finally {
+                    connection.close();
+                }
+            } catch (final SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        @Override
+        protected Connection getConnection() throws SQLException {
+            final Connection connection = super.getConnection();
+            if (!noBatchInfo) {
+                return connection;
+            }
+            return Connection.class.cast(Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{ Connection.class }, new InvocationHandler() {
+                @Override
+                public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
+                    final Object result = forward(connection, method, args);
+                    if (PreparedStatement.class.isInstance(result)) {
+                        return noBatchInfo(PreparedStatement.class.cast(result));
+                    }
+                    return result;
+                }
+            }));
+        }
+
+        private static PreparedStatement noBatchInfo(final PreparedStatement statement) {
+            return PreparedStatement.class.cast(Proxy.newProxyInstance(CheckpointManager.class.getClassLoader(), new Class<?>[]{ PreparedStatement.class }, new InvocationHandler() {
+                @Override
+                public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
+                    final Object result = forward(statement, method, args);
+                    if ("executeBatch".equals(method.getName())) {
+                        final int[] counts = new int[int[].class.cast(result).length];
+                        Arrays.fill(counts, Statement.SUCCESS_NO_INFO);
+                        return counts;
+                    }
+                    return result;
+                }
+            }));
+        }
+
+        private static Object forward(final Object delegate, final Method method, final Object[] args) throws Throwable {
+            try {
+                return method.invoke(delegate, args);
+            } catch (final InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}